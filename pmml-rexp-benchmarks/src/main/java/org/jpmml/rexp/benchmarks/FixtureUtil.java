@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-R
+ *
+ * JPMML-R is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-R is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-R.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.rexp.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.jpmml.rexp.RExp;
+import org.jpmml.rexp.RExpParser;
+
+public class FixtureUtil {
+
+	private FixtureUtil(){
+	}
+
+	/**
+	 * <p>
+	 * Loads the raw (typically, compressed) bytes of an RDS fixture into memory,
+	 * so that benchmarks do not measure file system access.
+	 * </p>
+	 */
+	static
+	public byte[] load(String name) throws IOException {
+
+		try(InputStream is = FixtureUtil.class.getResourceAsStream("/rds/" + name + ".rds")){
+
+			if(is == null){
+				throw new IllegalArgumentException("RDS fixture " + name + " not found");
+			}
+
+			return is.readAllBytes();
+		}
+	}
+
+	static
+	public RExp parse(byte[] bytes) throws IOException {
+
+		try(RExpParser parser = new RExpParser(new ByteArrayInputStream(bytes))){
+			return parser.parse();
+		}
+	}
+}
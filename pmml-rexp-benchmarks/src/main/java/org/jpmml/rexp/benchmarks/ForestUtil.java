@@ -0,0 +1,219 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-R
+ *
+ * JPMML-R is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-R is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-R.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.rexp.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.jpmml.rexp.RDoubleVector;
+import org.jpmml.rexp.RExp;
+import org.jpmml.rexp.RGenericVector;
+import org.jpmml.rexp.RIntegerVector;
+import org.jpmml.rexp.RNumberVector;
+import org.jpmml.rexp.RPair;
+import org.jpmml.rexp.RString;
+import org.jpmml.rexp.RStringVector;
+
+/**
+ * <p>
+ * Scales up forest model objects by repeating their trees.
+ * </p>
+ *
+ * <p>
+ * The predictions of a scaled-up forest are identical to the original one,
+ * but its conversion does proportionally more work.
+ * </p>
+ */
+public class ForestUtil {
+
+	private ForestUtil(){
+	}
+
+	/**
+	 * @param randomForest An R <code>randomForest</code> object.
+	 */
+	static
+	public RGenericVector scaleRandomForest(RGenericVector randomForest, int factor){
+		RGenericVector forest = randomForest.getGenericElement("forest");
+		RNumberVector<?> ntree = forest.getNumericElement("ntree");
+
+		int treeCount = ntree.getInt(0);
+
+		List<RExp> forestValues = new ArrayList<>();
+
+		RStringVector names = forest.names();
+
+		for(int i = 0; i < forest.size(); i++){
+			String name = names.getValue(i);
+			RExp value = forest.getValue(i);
+
+			if(("ntree").equals(name)){
+				value = scaleScalar((RNumberVector<?>)value, factor);
+			} else
+
+			if(("ndbigtree").equals(name) || isTreeMatrix(value, treeCount)){
+				value = repeat((RNumberVector<?>)value, factor);
+			}
+
+			forestValues.add(value);
+		}
+
+		return replaceElement(randomForest, "forest", new RGenericVector(forestValues, forest.getAttributes()));
+	}
+
+	/**
+	 * @param ranger An R <code>ranger</code> object.
+	 */
+	static
+	public RGenericVector scaleRanger(RGenericVector ranger, int factor){
+		RGenericVector forest = ranger.getGenericElement("forest");
+
+		List<RExp> forestValues = new ArrayList<>();
+
+		RStringVector names = forest.names();
+
+		for(int i = 0; i < forest.size(); i++){
+			String name = names.getValue(i);
+			RExp value = forest.getValue(i);
+
+			if(("num.trees").equals(name)){
+				value = scaleScalar((RNumberVector<?>)value, factor);
+			} else
+
+			if(ForestUtil.RANGER_TREE_ELEMENTS.contains(name)){
+				value = repeat((RGenericVector)value, factor);
+			}
+
+			forestValues.add(value);
+		}
+
+		RGenericVector result = replaceElement(ranger, "forest", new RGenericVector(forestValues, forest.getAttributes()));
+
+		return replaceElement(result, "num.trees", scaleScalar(ranger.getNumericElement("num.trees"), factor));
+	}
+
+	static
+	private boolean isTreeMatrix(RExp value, int treeCount){
+
+		if(!(value instanceof RNumberVector) || !value.hasAttribute("dim")){
+			return false;
+		}
+
+		RIntegerVector dim = value.dim();
+
+		return dim.getInt(dim.size() - 1) == treeCount;
+	}
+
+	static
+	private RGenericVector replaceElement(RGenericVector vector, String name, RExp value){
+		RStringVector names = vector.names();
+
+		List<RExp> values = new ArrayList<>(vector.getValues());
+		values.set(names.indexOf(name), value);
+
+		return new RGenericVector(values, vector.getAttributes());
+	}
+
+	static
+	private RNumberVector<?> scaleScalar(RNumberVector<?> vector, int factor){
+
+		if(vector instanceof RIntegerVector){
+			return new RIntegerVector(vector.getInt(0) * factor, null);
+		}
+
+		return new RDoubleVector(vector.getDouble(0) * factor, null);
+	}
+
+	static
+	private RGenericVector repeat(RGenericVector vector, int factor){
+		List<RExp> values = vector.getValues();
+
+		List<RExp> result = new ArrayList<>(values.size() * factor);
+
+		for(int i = 0; i < factor; i++){
+			result.addAll(values);
+		}
+
+		return new RGenericVector(result, vector.getAttributes());
+	}
+
+	static
+	private RNumberVector<?> repeat(RNumberVector<?> vector, int factor){
+		int size = vector.size();
+
+		RNumberVector<?> result;
+
+		if(vector instanceof RIntegerVector){
+			int[] values = new int[size * factor];
+
+			for(int i = 0; i < values.length; i++){
+				values[i] = vector.getInt(i % size);
+			}
+
+			result = new RIntegerVector(values, null);
+		} else
+
+		if(vector instanceof RDoubleVector){
+			double[] values = new double[size * factor];
+
+			for(int i = 0; i < values.length; i++){
+				values[i] = vector.getDouble(i % size);
+			}
+
+			result = new RDoubleVector(values, null);
+		} else
+
+		{
+			throw new IllegalArgumentException();
+		}
+
+		RPair attributes = vector.getAttributes();
+
+		while(attributes != null){
+			String name = ((RString)attributes.getTag()).getValue();
+			RExp value = attributes.getValue();
+
+			// Fortran-ordered arrays grow along the last dimension
+			if(("dim").equals(name)){
+				RIntegerVector dim = (RIntegerVector)value;
+
+				int[] dimValues = new int[dim.size()];
+
+				for(int i = 0; i < dimValues.length; i++){
+					dimValues[i] = dim.getInt(i);
+				}
+
+				dimValues[dimValues.length - 1] *= factor;
+
+				value = new RIntegerVector(dimValues, null);
+			}
+
+			result.addAttribute(name, value);
+
+			attributes = attributes.getNext();
+		}
+
+		return result;
+	}
+
+	private static final Set<String> RANGER_TREE_ELEMENTS = new HashSet<>(Arrays.asList("child.nodeIDs", "split.varIDs", "split.values", "terminal.class.counts"));
+}
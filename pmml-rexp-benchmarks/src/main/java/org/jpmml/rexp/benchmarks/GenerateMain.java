@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-R
+ *
+ * JPMML-R is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-R is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-R.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.rexp.benchmarks;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import com.beust.jcommander.DefaultUsageFormatter;
+import com.beust.jcommander.IUsageFormatter;
+import com.beust.jcommander.JCommander;
+import com.beust.jcommander.Parameter;
+import com.beust.jcommander.ParameterException;
+import org.jpmml.rexp.RExpWriter;
+import org.jpmml.rexp.RGenericVector;
+import org.jpmml.rexp.testing.SyntheticModelGenerator;
+
+/**
+ * <p>
+ * Writes a synthetic model object into an RDS file.
+ * </p>
+ */
+public class GenerateMain {
+
+	@Parameter (
+		names = "--algorithm",
+		description = "Model type. One of \"gbm\", \"iForest\", \"randomForest\", \"ranger\" or \"rpart\"",
+		required = true,
+		order = 1
+	)
+	private String algorithm = null;
+
+	@Parameter (
+		names = "--rds-output",
+		description = "RDS output file",
+		required = true,
+		order = 2
+	)
+	private File output = null;
+
+	@Parameter (
+		names = "--trees",
+		description = "Number of trees",
+		order = 3
+	)
+	private int trees = 10;
+
+	@Parameter (
+		names = "--depth",
+		description = "Depth of trees",
+		order = 4
+	)
+	private int depth = 5;
+
+	@Parameter (
+		names = "--features",
+		description = "Number of features",
+		order = 5
+	)
+	private int features = 10;
+
+	@Parameter (
+		names = "--cardinality",
+		description = "Number of levels of factor features. Use 0 for no factor features",
+		order = 6
+	)
+	private int cardinality = 0;
+
+	@Parameter (
+		names = "--classes",
+		description = "Number of target categories. Use 0 for regression",
+		order = 7
+	)
+	private int classes = 2;
+
+	@Parameter (
+		names = "--seed",
+		description = "Random seed",
+		order = 8
+	)
+	private long seed = 42L;
+
+	@Parameter (
+		names = "--version",
+		description = "Serialization format version",
+		order = 9
+	)
+	private int version = 3;
+
+	@Parameter (
+		names = "--compress",
+		description = "Compress the RDS file using GZip",
+		order = 10
+	)
+	private boolean compress = false;
+
+	@Parameter (
+		names = "--help",
+		description = "Show the list of configuration options and exit",
+		help = true,
+		order = Integer.MAX_VALUE
+	)
+	private boolean help = false;
+
+
+	static
+	public void main(String... args) throws Exception {
+		GenerateMain main = new GenerateMain();
+
+		JCommander commander = new JCommander(main);
+		commander.setProgramName(GenerateMain.class.getName());
+
+		IUsageFormatter usageFormatter = new DefaultUsageFormatter(commander);
+
+		try {
+			commander.parse(args);
+		} catch(ParameterException pe){
+			StringBuilder sb = new StringBuilder();
+
+			sb.append(pe.toString());
+			sb.append("\n");
+
+			usageFormatter.usage(sb);
+
+			System.err.println(sb.toString());
+
+			System.exit(-1);
+		}
+
+		if(main.help){
+			StringBuilder sb = new StringBuilder();
+
+			usageFormatter.usage(sb);
+
+			System.out.println(sb.toString());
+
+			System.exit(0);
+		}
+
+		main.run();
+	}
+
+	public void run() throws Exception {
+		SyntheticModelGenerator generator = new SyntheticModelGenerator();
+		generator.setTrees(this.trees);
+		generator.setDepth(this.depth);
+		generator.setFeatures(this.features);
+		generator.setCardinality(this.cardinality);
+		generator.setClasses(this.classes);
+		generator.setSeed(this.seed);
+
+		RGenericVector model = generator.generate(this.algorithm);
+
+		OutputStream os = new BufferedOutputStream(new FileOutputStream(this.output), 64 * 1024);
+
+		if(this.compress){
+			os = new GZIPOutputStream(os, 64 * 1024);
+		}
+
+		try(RExpWriter writer = new RExpWriter(os)){
+			writer.setVersion(this.version);
+
+			writer.write(model);
+		}
+
+		System.out.println("Wrote " + this.output.length() + " bytes to " + this.output.getAbsolutePath());
+	}
+}
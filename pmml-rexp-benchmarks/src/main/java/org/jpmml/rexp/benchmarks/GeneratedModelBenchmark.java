@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-R
+ *
+ * JPMML-R is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-R is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-R.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.rexp.benchmarks;
+
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.dmg.pmml.PMML;
+import org.jpmml.rexp.Converter;
+import org.jpmml.rexp.ConverterFactory;
+import org.jpmml.rexp.RExp;
+import org.jpmml.rexp.RExpWriter;
+import org.jpmml.rexp.RGenericVector;
+import org.jpmml.rexp.testing.SyntheticModelGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * <p>
+ * Measures the parsing and conversion of synthetic model objects.
+ * </p>
+ *
+ * @see SyntheticModelGenerator
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GeneratedModelBenchmark {
+
+	@Param({"gbm", "iForest", "randomForest", "ranger", "rpart"})
+	private String algorithm = null;
+
+	@Param({"100"})
+	private int trees = 1;
+
+	@Param({"8"})
+	private int depth = 1;
+
+	@Param({"20"})
+	private int features = 1;
+
+	@Param({"10"})
+	private int cardinality = 0;
+
+	private ConverterFactory converterFactory = null;
+
+	private byte[] bytes = null;
+
+	private RGenericVector rexp = null;
+
+
+	@Setup
+	public void setUp() throws Exception {
+		this.converterFactory = ConverterFactory.newInstance();
+
+		SyntheticModelGenerator generator = new SyntheticModelGenerator();
+		generator.setTrees(this.trees);
+		generator.setDepth(this.depth);
+		generator.setFeatures(this.features);
+		generator.setCardinality(this.cardinality);
+
+		this.rexp = generator.generate(this.algorithm);
+
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+
+		try(RExpWriter writer = new RExpWriter(os)){
+			writer.write(this.rexp);
+		}
+
+		this.bytes = os.toByteArray();
+	}
+
+	@Benchmark
+	public RExp parse() throws Exception {
+		return FixtureUtil.parse(this.bytes);
+	}
+
+	@Benchmark
+	public PMML convert(){
+		Converter<RExp> converter = this.converterFactory.newConverter(this.rexp);
+
+		return converter.encodePMML();
+	}
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-R
+ *
+ * JPMML-R is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-R is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-R.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.rexp.benchmarks;
+
+import java.util.List;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.ProfilerConfig;
+
+/**
+ * <p>
+ * Runs benchmarks the same way as the standard JMH launcher,
+ * except that the GC profiler (ie. <code>-prof gc</code>) is always enabled.
+ * </p>
+ */
+public class Main {
+
+	private Main(){
+	}
+
+	static
+	public void main(String... args) throws Exception {
+		CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+
+		if(commandLineOptions.shouldHelp() || commandLineOptions.shouldList() || commandLineOptions.shouldListWithParams() || commandLineOptions.shouldListProfilers() || commandLineOptions.shouldListResultFormats()){
+			org.openjdk.jmh.Main.main(args);
+
+			return;
+		}
+
+		OptionsBuilder optionsBuilder = new OptionsBuilder();
+		optionsBuilder.parent(commandLineOptions);
+
+		List<ProfilerConfig> profilers = commandLineOptions.getProfilers();
+
+		boolean hasGCProfiler = profilers.stream()
+			.anyMatch(profiler -> ("gc").equals(profiler.getKlass()) || (GCProfiler.class.getName()).equals(profiler.getKlass()));
+
+		if(!hasGCProfiler){
+			optionsBuilder.addProfiler(GCProfiler.class);
+		}
+
+		Options options = optionsBuilder.build();
+
+		Runner runner = new Runner(options);
+
+		runner.run();
+	}
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-R
+ *
+ * JPMML-R is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-R is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-R.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.rexp.benchmarks;
+
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.dmg.pmml.PMML;
+import org.jpmml.model.JAXBSerializer;
+import org.jpmml.model.metro.MetroJAXBSerializer;
+import org.jpmml.rexp.Converter;
+import org.jpmml.rexp.ConverterFactory;
+import org.jpmml.rexp.RExp;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * <p>
+ * Measures the marshalling of PMML class model objects to PMML markup.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MarshalBenchmark {
+
+	@Param({"RandomForestAudit", "RangerAudit", "GBMAutoNA", "RPartAudit", "BaggingAudit", "XGBoostAuditNA", "LightGBMAuto"})
+	private String fixture = null;
+
+	private JAXBSerializer serializer = null;
+
+	private PMML pmml = null;
+
+
+	@Setup
+	public void setUp() throws Exception {
+		this.serializer = new MetroJAXBSerializer();
+
+		ConverterFactory converterFactory = ConverterFactory.newInstance();
+
+		Converter<RExp> converter = converterFactory.newConverter(FixtureUtil.parse(FixtureUtil.load(this.fixture)));
+
+		this.pmml = converter.encodePMML();
+	}
+
+	@Benchmark
+	public void marshal() throws Exception {
+
+		try(OutputStream os = OutputStream.nullOutputStream()){
+			this.serializer.serializePretty(this.pmml, os);
+		}
+	}
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-R
+ *
+ * JPMML-R is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-R is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-R.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.rexp.benchmarks;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.jpmml.rexp.RExp;
+import org.jpmml.rexp.RExpParser;
+import org.jpmml.rexp.RExpWriter;
+import org.jpmml.rexp.testing.SyntheticModelGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * <p>
+ * Compares the sequential and the parallel parsing modes on an uncompressed XDR file.
+ * </p>
+ *
+ * @see RExpParser#setParallelism(int)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParallelParseBenchmark {
+
+	@Param({"randomForest", "ranger"})
+	private String algorithm = null;
+
+	@Param({"500"})
+	private int trees = 1;
+
+	@Param({"12"})
+	private int depth = 1;
+
+	@Param({"1", "4"})
+	private int parallelism = 1;
+
+	private Path path = null;
+
+
+	@Setup
+	public void setUp() throws Exception {
+		SyntheticModelGenerator generator = new SyntheticModelGenerator();
+		generator.setTrees(this.trees);
+		generator.setDepth(this.depth);
+
+		RExp rexp = generator.generate(this.algorithm);
+
+		this.path = Files.createTempFile(this.algorithm, ".rds");
+
+		try(RExpWriter writer = new RExpWriter(Files.newOutputStream(this.path))){
+			writer.write(rexp);
+		}
+	}
+
+	@TearDown
+	public void tearDown() throws Exception {
+		Files.deleteIfExists(this.path);
+	}
+
+	@Benchmark
+	public RExp parse() throws Exception {
+
+		try(RExpParser parser = new RExpParser(this.path)){
+			parser.setParallelism(this.parallelism);
+
+			return parser.parse();
+		}
+	}
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-R
+ *
+ * JPMML-R is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-R is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-R.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.rexp.benchmarks;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.dmg.pmml.PMML;
+import org.jpmml.model.visitors.FieldRenamer;
+import org.jpmml.rexp.Converter;
+import org.jpmml.rexp.ConverterFactory;
+import org.jpmml.rexp.RExp;
+import org.jpmml.rexp.testing.SyntheticModelGenerator;
+import org.jpmml.rexp.visitors.MultiFieldRenamer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * <p>
+ * Measures the renaming of all input fields of a ranger model, as done for models that are wrapped into data pre-processing recipes.
+ * Every invocation renames fields back and forth, so that the PMML class model object stays the same between invocations.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RenameBenchmark {
+
+	@Param({"50", "200"})
+	private int features = 1;
+
+	@Param({"100"})
+	private int trees = 1;
+
+	@Param({"8"})
+	private int depth = 1;
+
+	private PMML pmml = null;
+
+	private Map<String, String> renamings = null;
+
+	private Map<String, String> inverseRenamings = null;
+
+
+	@Setup
+	public void setUp(){
+		SyntheticModelGenerator generator = new SyntheticModelGenerator();
+		generator.setTrees(this.trees);
+		generator.setDepth(this.depth);
+		generator.setFeatures(this.features);
+		generator.setCardinality(0);
+
+		ConverterFactory converterFactory = ConverterFactory.newInstance();
+
+		Converter<RExp> converter = converterFactory.newConverter(generator.generate("ranger"));
+
+		this.pmml = converter.encodePMML();
+
+		this.renamings = new LinkedHashMap<>();
+		this.inverseRenamings = new LinkedHashMap<>();
+
+		for(int i = 0; i < this.features; i++){
+			String name = "x" + (i + 1);
+			String renamedName = "recipe_" + name;
+
+			this.renamings.put(name, renamedName);
+			this.inverseRenamings.put(renamedName, name);
+		}
+	}
+
+	@Benchmark
+	public PMML renameSequentially(){
+		renameSequentially(this.renamings);
+		renameSequentially(this.inverseRenamings);
+
+		return this.pmml;
+	}
+
+	@Benchmark
+	public PMML renameInSinglePass(){
+		(new MultiFieldRenamer(this.renamings)).applyTo(this.pmml);
+		(new MultiFieldRenamer(this.inverseRenamings)).applyTo(this.pmml);
+
+		return this.pmml;
+	}
+
+	private void renameSequentially(Map<String, String> renamings){
+		Collection<Map.Entry<String, String>> entries = renamings.entrySet();
+
+		for(Map.Entry<String, String> entry : entries){
+			FieldRenamer renamer = new FieldRenamer(entry.getKey(), entry.getValue());
+
+			renamer.applyTo(this.pmml);
+		}
+	}
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-R
+ *
+ * JPMML-R is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-R is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-R.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.rexp.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.dmg.pmml.PMML;
+import org.jpmml.rexp.Converter;
+import org.jpmml.rexp.ConverterFactory;
+import org.jpmml.rexp.RExp;
+import org.jpmml.rexp.RGenericVector;
+import org.jpmml.rexp.TreeModelConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * <p>
+ * Measures the conversion of forests that have been scaled up by repeating their trees.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SyntheticForestBenchmark {
+
+	@Param({"RandomForestAudit", "RangerAudit"})
+	private String fixture = null;
+
+	@Param({"10", "50"})
+	private int scale = 1;
+
+	@Param({"1", "4"})
+	private int parallelism = 1;
+
+	private ConverterFactory converterFactory = null;
+
+	private RGenericVector rexp = null;
+
+
+	@Setup
+	public void setUp() throws Exception {
+		this.converterFactory = ConverterFactory.newInstance();
+
+		RGenericVector rexp = (RGenericVector)FixtureUtil.parse(FixtureUtil.load(this.fixture));
+
+		if(this.fixture.startsWith("RandomForest")){
+			rexp = ForestUtil.scaleRandomForest(rexp, this.scale);
+		} else
+
+		if(this.fixture.startsWith("Ranger")){
+			rexp = ForestUtil.scaleRanger(rexp, this.scale);
+		} else
+
+		{
+			throw new IllegalArgumentException(this.fixture);
+		}
+
+		this.rexp = rexp;
+	}
+
+	@Benchmark
+	public PMML convert(){
+		Converter<RExp> converter = this.converterFactory.newConverter(this.rexp);
+
+		TreeModelConverter<?> treeModelConverter = (TreeModelConverter<?>)converter;
+		treeModelConverter.setParallelism(this.parallelism);
+
+		return converter.encodePMML();
+	}
+}
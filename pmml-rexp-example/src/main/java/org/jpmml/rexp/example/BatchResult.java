@@ -0,0 +1,227 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-R
+ *
+ * JPMML-R is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-R is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-R.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.rexp.example;
+
+import java.nio.file.Path;
+
+/**
+ * <p>
+ * The outcome of converting one RDS file in batch mode.
+ * </p>
+ */
+public class BatchResult {
+
+	private Path input = null;
+
+	private Path output = null;
+
+	private String converter = null;
+
+	private String stage = null;
+
+	private long parseTime = -1L;
+
+	private long convertTime = -1L;
+
+	private long marshalTime = -1L;
+
+	private Throwable exception = null;
+
+
+	public BatchResult(Path input, Path output){
+		this.input = input;
+		this.output = output;
+	}
+
+	public boolean isSuccess(){
+		return (this.exception == null);
+	}
+
+	/**
+	 * @return The total time in milliseconds.
+	 */
+	public long getTotalTime(){
+		return Math.max(this.parseTime, 0L) + Math.max(this.convertTime, 0L) + Math.max(this.marshalTime, 0L);
+	}
+
+	/**
+	 * <p>
+	 * Formats this result as a single-line JSON object.
+	 * Times that were not measured (because of an earlier failure) are omitted.
+	 * </p>
+	 */
+	public String toJSON(){
+		StringBuilder sb = new StringBuilder(256);
+
+		sb.append('{');
+
+		appendString(sb, "input", String.valueOf(this.input));
+		sb.append(',');
+		appendString(sb, "output", String.valueOf(this.output));
+		sb.append(',');
+		appendString(sb, "status", isSuccess() ? "success" : "failure");
+
+		if(this.converter != null){
+			sb.append(',');
+			appendString(sb, "converter", this.converter);
+		} // End if
+
+		if(this.parseTime >= 0L){
+			sb.append(',');
+			appendNumber(sb, "parse_ms", this.parseTime);
+		} // End if
+
+		if(this.convertTime >= 0L){
+			sb.append(',');
+			appendNumber(sb, "convert_ms", this.convertTime);
+		} // End if
+
+		if(this.marshalTime >= 0L){
+			sb.append(',');
+			appendNumber(sb, "marshal_ms", this.marshalTime);
+		}
+
+		sb.append(',');
+		appendNumber(sb, "total_ms", getTotalTime());
+
+		if(this.exception != null){
+			sb.append(',');
+			appendString(sb, "stage", this.stage);
+			sb.append(',');
+			appendString(sb, "error", (this.exception.getClass()).getName());
+
+			String message = this.exception.getMessage();
+			if(message != null){
+				sb.append(',');
+				appendString(sb, "message", message);
+			}
+		}
+
+		sb.append('}');
+
+		return sb.toString();
+	}
+
+	public Path getInput(){
+		return this.input;
+	}
+
+	public Path getOutput(){
+		return this.output;
+	}
+
+	public String getConverter(){
+		return this.converter;
+	}
+
+	void setConverter(String converter){
+		this.converter = converter;
+	}
+
+	/**
+	 * @return The name of the failed stage. One of <code>"parse"</code>, <code>"convert"</code> or <code>"marshal"</code>.
+	 */
+	public String getStage(){
+		return this.stage;
+	}
+
+	public long getParseTime(){
+		return this.parseTime;
+	}
+
+	void setParseTime(long parseTime){
+		this.parseTime = parseTime;
+	}
+
+	public long getConvertTime(){
+		return this.convertTime;
+	}
+
+	void setConvertTime(long convertTime){
+		this.convertTime = convertTime;
+	}
+
+	public long getMarshalTime(){
+		return this.marshalTime;
+	}
+
+	void setMarshalTime(long marshalTime){
+		this.marshalTime = marshalTime;
+	}
+
+	public Throwable getException(){
+		return this.exception;
+	}
+
+	void setException(String stage, Throwable exception){
+		this.stage = stage;
+		this.exception = exception;
+	}
+
+	static
+	private void appendString(StringBuilder sb, String name, String value){
+		sb.append('"').append(name).append('"').append(':');
+
+		if(value == null){
+			sb.append("null");
+
+			return;
+		}
+
+		sb.append('"');
+
+		for(int i = 0; i < value.length(); i++){
+			char c = value.charAt(i);
+
+			switch(c){
+				case '"':
+					sb.append("\\\"");
+					break;
+				case '\\':
+					sb.append("\\\\");
+					break;
+				case '\n':
+					sb.append("\\n");
+					break;
+				case '\r':
+					sb.append("\\r");
+					break;
+				case '\t':
+					sb.append("\\t");
+					break;
+				default:
+					if(c < 0x20){
+						sb.append(String.format("\\u%04x", (int)c));
+					} else
+
+					{
+						sb.append(c);
+					}
+					break;
+			}
+		}
+
+		sb.append('"');
+	}
+
+	static
+	private void appendNumber(StringBuilder sb, String name, long value){
+		sb.append('"').append(name).append('"').append(':').append(value);
+	}
+}
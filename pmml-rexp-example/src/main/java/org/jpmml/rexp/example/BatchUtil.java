@@ -0,0 +1,281 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-R
+ *
+ * JPMML-R is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-R is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-R.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.rexp.example;
+
+import java.io.IOException;
+import java.nio.file.FileSystem;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class BatchUtil {
+
+	private BatchUtil(){
+	}
+
+	/**
+	 * <p>
+	 * Resolves a batch input specification to RDS input files.
+	 * </p>
+	 *
+	 * <ul>
+	 *   <li>A directory. Selects all <code>*.rds</code> files in it.</li>
+	 *   <li>A glob pattern (eg. <code>models/&#42;&#42;/&#42;.rds</code>). Selects all matching files.
+	 *   The <code>&#42;&#42;/</code> wildcard matches zero or more directories.</li>
+	 *   <li>A manifest file. Selects all files that are listed in it, one per line.
+	 *   Blank lines and lines that start with <code>#</code> are ignored.
+	 *   Relative paths are resolved against the directory of the manifest file.</li>
+	 * </ul>
+	 *
+	 * @return A map from RDS input files to PMML output files, relative to the output directory.
+	 */
+	static
+	public Map<Path, Path> resolveInputs(String spec) throws IOException {
+		Map<Path, Path> result;
+
+		if(isGlob(spec)){
+			result = resolveGlob(spec);
+		} else
+
+		{
+			Path path = Paths.get(spec);
+
+			if(Files.isDirectory(path)){
+				result = resolveDirectory(path);
+			} else
+
+			if(Files.isRegularFile(path)){
+				result = resolveManifest(path);
+			} else
+
+			{
+				throw new IllegalArgumentException("Batch input " + spec + " does not exist");
+			}
+		}
+
+		Map<Path, Path> outputs = new LinkedHashMap<>();
+
+		for(Map.Entry<Path, Path> entry : result.entrySet()){
+			Path input = entry.getKey();
+			Path output = entry.getValue();
+
+			Path prevInput = outputs.putIfAbsent(output, input);
+			if(prevInput != null){
+				throw new IllegalArgumentException("RDS input files " + prevInput + " and " + input + " map to the same PMML output file " + output);
+			}
+		}
+
+		return result;
+	}
+
+	static
+	private Map<Path, Path> resolveDirectory(Path dir) throws IOException {
+		List<Path> inputs;
+
+		try(Stream<Path> paths = Files.list(dir)){
+			inputs = paths
+				.filter(path -> Files.isRegularFile(path) && isRds(path))
+				.sorted()
+				.collect(Collectors.toList());
+		}
+
+		Map<Path, Path> result = new LinkedHashMap<>();
+
+		for(Path input : inputs){
+			result.put(input, toPMMLPath(input.getFileName()));
+		}
+
+		return result;
+	}
+
+	static
+	private Map<Path, Path> resolveGlob(String spec) throws IOException {
+		List<String> segments = new ArrayList<>();
+
+		// Split into the base directory part and the pattern part
+		String[] parts = spec.replace('\\', '/').split("/", -1);
+
+		int index = 0;
+
+		for(; index < parts.length - 1; index++){
+			String part = parts[index];
+
+			if(isGlob(part)){
+				break;
+			}
+
+			segments.add(part);
+		}
+
+		Path baseDir;
+
+		if(segments.isEmpty()){
+			baseDir = Paths.get(".");
+		} else
+
+		{
+			String base = String.join("/", segments);
+
+			baseDir = Paths.get(base.isEmpty() ? "/" : base);
+		}
+
+		String pattern = String.join("/", Arrays.asList(parts).subList(index, parts.length));
+
+		FileSystem fileSystem = baseDir.getFileSystem();
+
+		List<PathMatcher> pathMatchers = new ArrayList<>();
+
+		for(String expandedPattern : expandGlobstars(pattern)){
+			pathMatchers.add(fileSystem.getPathMatcher("glob:" + expandedPattern));
+		}
+
+		List<Path> inputs;
+
+		try(Stream<Path> paths = Files.walk(baseDir)){
+			inputs = paths
+				.filter(path -> Files.isRegularFile(path) && matches(pathMatchers, baseDir.relativize(path)))
+				.sorted()
+				.collect(Collectors.toList());
+		}
+
+		Map<Path, Path> result = new LinkedHashMap<>();
+
+		for(Path input : inputs){
+			result.put(input, toPMMLPath(baseDir.relativize(input)));
+		}
+
+		return result;
+	}
+
+	static
+	private Map<Path, Path> resolveManifest(Path manifest) throws IOException {
+		Path manifestDir = manifest.toAbsolutePath().getParent();
+
+		List<String> lines = Files.readAllLines(manifest);
+
+		Map<Path, Path> result = new LinkedHashMap<>();
+
+		for(String line : lines){
+			line = line.trim();
+
+			if(line.isEmpty() || line.startsWith("#")){
+				continue;
+			}
+
+			Path input = manifestDir.resolve(line);
+
+			if(!Files.isRegularFile(input)){
+				throw new IllegalArgumentException("RDS input file " + input + " (listed in manifest file " + manifest + ") does not exist");
+			}
+
+			result.put(input, toPMMLPath(input.getFileName()));
+		}
+
+		return result;
+	}
+
+	/**
+	 * <p>
+	 * The <code>&#42;&#42;/</code> wildcard of {@link PathMatcher} matches one or more directories.
+	 * It is made to match zero directories as well by expanding it into two alternatives, one with and one without it.
+	 * </p>
+	 */
+	static
+	private List<String> expandGlobstars(String pattern){
+		int index = pattern.indexOf("**/");
+
+		if(index < 0){
+			return Collections.singletonList(pattern);
+		}
+
+		String prefix = pattern.substring(0, index);
+
+		List<String> result = new ArrayList<>();
+
+		for(String suffix : expandGlobstars(pattern.substring(index + "**/".length()))){
+			result.add(prefix + "**/" + suffix);
+			result.add(prefix + suffix);
+		}
+
+		return result;
+	}
+
+	static
+	private boolean matches(List<PathMatcher> pathMatchers, Path path){
+
+		for(PathMatcher pathMatcher : pathMatchers){
+
+			if(pathMatcher.matches(path)){
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	static
+	private boolean isGlob(String string){
+
+		for(int i = 0; i < string.length(); i++){
+			char c = string.charAt(i);
+
+			switch(c){
+				case '*':
+				case '?':
+				case '[':
+				case '{':
+					return true;
+				default:
+					break;
+			}
+		}
+
+		return false;
+	}
+
+	static
+	private boolean isRds(Path path){
+		String name = (path.getFileName()).toString();
+
+		return (name.toLowerCase(Locale.ROOT)).endsWith(".rds");
+	}
+
+	static
+	private Path toPMMLPath(Path path){
+		String name = (path.getFileName()).toString();
+
+		if(isRds(path)){
+			name = name.substring(0, name.length() - ".rds".length());
+		}
+
+		Path parent = path.getParent();
+
+		return (parent != null ? parent.resolve(name + ".pmml") : Paths.get(name + ".pmml"));
+	}
+}
@@ -0,0 +1,737 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-R
+ *
+ * JPMML-R is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-R is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-R.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.rexp.example;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import com.beust.jcommander.DefaultUsageFormatter;
+import com.beust.jcommander.IUsageFormatter;
+import com.beust.jcommander.JCommander;
+import com.beust.jcommander.Parameter;
+import com.beust.jcommander.ParameterException;
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.dmg.pmml.PMML;
+import org.jpmml.model.JAXBSerializer;
+import org.jpmml.model.metro.MetroJAXBSerializer;
+import org.jpmml.rexp.Converter;
+import org.jpmml.rexp.ConverterFactory;
+import org.jpmml.rexp.RExp;
+import org.jpmml.rexp.RExpParser;
+import org.jpmml.rexp.TreeModelConverter;
+import org.jpmml.rexp.testing.SyntheticModelGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * <p>
+ * A long-running conversion service, which keeps the JVM warm between conversions.
+ * </p>
+ *
+ * <p>
+ * Endpoints:
+ * </p>
+ * <ul>
+ *   <li><code>POST /convert</code>. The request body is an RDS file (optionally compressed, or sent with <code>Content-Encoding: gzip</code>).
+ *   The response body is a PMML document, which is streamed as it is being marshalled.</li>
+ *   <li><code>GET /metrics</code>. Request counters and per-stage latency histograms in JSON format.</li>
+ *   <li><code>GET /health</code>.</li>
+ * </ul>
+ *
+ * <p>
+ * At most <code>--workers</code> requests are served concurrently, and at most <code>--queue-size</code> requests wait for a worker.
+ * All other requests are rejected with status code 503 straight away.
+ * </p>
+ *
+ * <p>
+ * The <code>--max-request-size</code> limit applies to the request body both as received and after decompression,
+ * so that a small compressed request cannot expand into an arbitrarily large one.
+ * Requests that exceed it are rejected with status code 413.
+ * </p>
+ */
+public class ConversionServer {
+
+	@Parameter (
+		names = "--host",
+		description = "Host name or address to bind to",
+		order = 1
+	)
+	private String host = "localhost";
+
+	@Parameter (
+		names = "--port",
+		description = "Port to listen on",
+		order = 2
+	)
+	private int port = 8080;
+
+	@Parameter (
+		names = "--workers",
+		description = "The number of requests to serve concurrently",
+		order = 3
+	)
+	private int workers = Runtime.getRuntime().availableProcessors();
+
+	@Parameter (
+		names = "--queue-size",
+		description = "The number of requests to keep waiting for a worker. Further requests are rejected",
+		order = 4
+	)
+	private int queueSize = 16;
+
+	@Parameter (
+		names = "--max-request-size",
+		description = "The maximum size of the request body in bytes, before and after decompression",
+		order = 5
+	)
+	private long maxRequestSize = 512L * 1024L * 1024L;
+
+	@Parameter (
+		names = "--converter",
+		description = "Converter class",
+		order = 6
+	)
+	private String converter = null;
+
+	@Parameter (
+		names = "--parallelism",
+		description = "The number of threads for encoding decision trees. Overrides the \"parallelism\" conversion option",
+		order = 7
+	)
+	private Integer parallelism = null;
+
+	@Parameter (
+		names = "--off-heap-threshold",
+		description = "Decode integer and real vectors that are at least this long into off-heap memory",
+		order = 8
+	)
+	private Integer offHeapThreshold = null;
+
+	@Parameter (
+		names = "--warmup",
+		description = "The number of synthetic models to convert before accepting requests",
+		order = 9
+	)
+	private int warmup = 0;
+
+	@Parameter (
+		names = "--help",
+		description = "Show the list of configuration options and exit",
+		help = true,
+		order = Integer.MAX_VALUE
+	)
+	private boolean help = false;
+
+	private ConverterFactory converterFactory = null;
+
+	private Class<? extends Converter<?>> converterClazz = null;
+
+	private JAXBSerializer jaxbSerializer = null;
+
+	private Map<String, LatencyHistogram> histograms = new LinkedHashMap<>();
+
+	private AtomicLong successCount = new AtomicLong();
+
+	private AtomicLong failureCount = new AtomicLong();
+
+	private AtomicLong rejectionCount = new AtomicLong();
+
+
+	public ConversionServer(){
+
+		for(String stage : ConversionServer.STAGES){
+			this.histograms.put(stage, new LatencyHistogram(stage));
+		}
+	}
+
+	static
+	public void main(String... args) throws Exception {
+		ConversionServer server = new ConversionServer();
+
+		JCommander commander = new JCommander(server);
+		commander.setProgramName(ConversionServer.class.getName());
+
+		IUsageFormatter usageFormatter = new DefaultUsageFormatter(commander);
+
+		try {
+			commander.parse(args);
+
+			if(!server.help){
+				server.checkParameters();
+			}
+		} catch(ParameterException pe){
+			StringBuilder sb = new StringBuilder();
+
+			sb.append(pe.toString());
+			sb.append("\n");
+
+			usageFormatter.usage(sb);
+
+			System.err.println(sb.toString());
+
+			System.exit(-1);
+		}
+
+		if(server.help){
+			StringBuilder sb = new StringBuilder();
+
+			usageFormatter.usage(sb);
+
+			System.out.println(sb.toString());
+
+			System.exit(0);
+		}
+
+		server.run();
+	}
+
+	private void checkParameters(){
+
+		if(this.workers < 1){
+			throw new ParameterException("The number of workers must be positive");
+		} // End if
+
+		if(this.queueSize < 0){
+			throw new ParameterException("The queue size must be non-negative");
+		} // End if
+
+		if(this.maxRequestSize < 1){
+			throw new ParameterException("The maximum request size must be positive");
+		} // End if
+
+		if(this.offHeapThreshold != null && this.offHeapThreshold < 0){
+			throw new ParameterException("The off-heap threshold must be non-negative");
+		}
+	}
+
+	public void run() throws Exception {
+		HttpServer server = start();
+
+		CountDownLatch latch = new CountDownLatch(1);
+
+		Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+			logger.info("Stopping conversion server..");
+
+			server.stop(5);
+
+			latch.countDown();
+		}));
+
+		latch.await();
+	}
+
+	/**
+	 * <p>
+	 * Initializes shared state, converts warm-up models and starts listening.
+	 * </p>
+	 */
+	public HttpServer start() throws Exception {
+		this.converterFactory = ConverterFactory.newInstance();
+
+		if(this.converter != null){
+			logger.info("Initializing user-specified Converter {}", this.converter);
+
+			this.converterClazz = (Class<? extends Converter<?>>)Class.forName(this.converter);
+		}
+
+		// Marshallers are not thread-safe, but the serializer creates a new one for every call
+		this.jaxbSerializer = new MetroJAXBSerializer();
+
+		if(this.warmup > 0){
+			warmup();
+		}
+
+		BlockingQueue<Runnable> queue = (this.queueSize > 0 ? new ArrayBlockingQueue<>(this.queueSize) : new SynchronousQueue<>());
+
+		ThreadPoolExecutor threadPoolExecutor = new ThreadPoolExecutor(this.workers, this.workers, 60L, TimeUnit.SECONDS, queue);
+
+		// The HTTP server closes the connection without a response if its executor rejects an exchange.
+		// Instead, the rejected exchange is run on the dispatcher thread, which answers it with status code 503
+		Executor executor = (command) -> {
+
+			try {
+				threadPoolExecutor.execute(command);
+			} catch(RejectedExecutionException ree){
+				ConversionServer.rejected.set(Boolean.TRUE);
+
+				try {
+					command.run();
+				} finally {
+					ConversionServer.rejected.remove();
+				}
+			}
+		};
+
+		HttpServer server = HttpServer.create(new InetSocketAddress(this.host, this.port), 0);
+		server.setExecutor(executor);
+
+		server.createContext("/convert", this::handleConvert);
+		server.createContext("/metrics", this::handleMetrics);
+		server.createContext("/health", this::handleHealth);
+
+		server.start();
+
+		logger.info("Listening on {}:{} with {} workers", this.host, (server.getAddress()).getPort(), this.workers);
+
+		return server;
+	}
+
+	private void warmup() throws Exception {
+		logger.info("Warming up..");
+
+		long begin = System.currentTimeMillis();
+
+		SyntheticModelGenerator generator = new SyntheticModelGenerator();
+		generator.setTrees(10);
+		generator.setDepth(6);
+
+		for(int i = 0; i < this.warmup; i++){
+			String algorithm = ConversionServer.WARMUP_ALGORITHMS[i % ConversionServer.WARMUP_ALGORITHMS.length];
+
+			generator.setSeed(i);
+
+			RExp rexp = generator.generate(algorithm);
+
+			Converter<RExp> converter = this.converterFactory.newConverter(rexp);
+
+			PMML pmml = converter.encodePMML();
+
+			this.jaxbSerializer.serialize(pmml, OutputStream.nullOutputStream());
+		}
+
+		long end = System.currentTimeMillis();
+
+		logger.info("Warmed up in {} ms.", (end - begin));
+	}
+
+	private void handleConvert(HttpExchange exchange) throws IOException {
+
+		try {
+			if(rejectIfBusy(exchange)){
+				return;
+			} // End if
+
+			if(!("POST").equals(exchange.getRequestMethod())){
+				sendText(exchange, 405, "Method not allowed");
+
+				return;
+			}
+
+			Headers requestHeaders = exchange.getRequestHeaders();
+
+			String contentLength = requestHeaders.getFirst("Content-Length");
+			if(contentLength != null && parseLong(contentLength, -1L) > this.maxRequestSize){
+				this.failureCount.incrementAndGet();
+
+				sendText(exchange, 413, "Request body exceeds " + this.maxRequestSize + " bytes");
+
+				return;
+			}
+
+			convert(exchange);
+		} finally {
+			exchange.close();
+		}
+	}
+
+	private void convert(HttpExchange exchange) throws IOException {
+		Headers requestHeaders = exchange.getRequestHeaders();
+		Headers responseHeaders = exchange.getResponseHeaders();
+
+		long begin = System.nanoTime();
+
+		Converter<RExp> converter;
+
+		try {
+			long maxRequestSize = this.maxRequestSize;
+
+			InputStream is = new LimitedInputStream(exchange.getRequestBody(), maxRequestSize);
+
+			if(("gzip").equalsIgnoreCase(requestHeaders.getFirst("Content-Encoding"))){
+				is = new LimitedInputStream(new GZIPInputStream(is), maxRequestSize);
+			}
+
+			RExp rexp;
+
+			// The parser detects gzip, bzip2 and xz compression by itself, and applies the filter to the decompressed content
+			try(RExpParser parser = new RExpParser(is, (decompressedIs) -> new LimitedInputStream(decompressedIs, maxRequestSize))){
+
+				if(this.offHeapThreshold != null){
+					parser.setOffHeapThreshold(this.offHeapThreshold);
+				}
+
+				rexp = parser.parse();
+			}
+
+			if(this.converterClazz != null){
+				converter = this.converterFactory.newConverter(this.converterClazz, rexp);
+			} else
+
+			{
+				converter = this.converterFactory.newConverter(rexp);
+			}
+		} catch(Exception e){
+			this.failureCount.incrementAndGet();
+
+			if(isTooLarge(e)){
+				sendText(exchange, 413, "Request body exceeds " + this.maxRequestSize + " bytes");
+			} else
+
+			{
+				logger.warn("Failed to parse RDS", e);
+
+				sendText(exchange, 400, "Failed to parse RDS: " + e);
+			}
+
+			return;
+		}
+
+		long parseEnd = System.nanoTime();
+
+		record("parse", parseEnd - begin);
+
+		if(this.parallelism != null && converter instanceof TreeModelConverter){
+			TreeModelConverter<?> treeModelConverter = (TreeModelConverter<?>)converter;
+
+			treeModelConverter.setParallelism(this.parallelism);
+		}
+
+		PMML pmml;
+
+		try {
+			pmml = converter.encodePMML();
+		} catch(Exception | StackOverflowError e){
+			this.failureCount.incrementAndGet();
+
+			logger.warn("Failed to convert RDS to PMML", e);
+
+			sendText(exchange, 422, "Failed to convert RDS to PMML: " + e);
+
+			return;
+		}
+
+		long encodeEnd = System.nanoTime();
+
+		record("encode", encodeEnd - parseEnd);
+
+		responseHeaders.set("Content-Type", "application/xml; charset=UTF-8");
+		responseHeaders.set("X-Converter", (converter.getClass()).getName());
+		responseHeaders.set("X-Parse-Time", String.valueOf(TimeUnit.NANOSECONDS.toMillis(parseEnd - begin)));
+		responseHeaders.set("X-Encode-Time", String.valueOf(TimeUnit.NANOSECONDS.toMillis(encodeEnd - parseEnd)));
+
+		boolean gzip = acceptsGzip(requestHeaders);
+		if(gzip){
+			responseHeaders.set("Content-Encoding", "gzip");
+		}
+
+		// Chunked transfer encoding
+		exchange.sendResponseHeaders(200, 0);
+
+		try(OutputStream os = (gzip ? new GZIPOutputStream(exchange.getResponseBody(), 64 * 1024) : exchange.getResponseBody())){
+			this.jaxbSerializer.serialize(pmml, os);
+		} catch(Exception e){
+			this.failureCount.incrementAndGet();
+
+			// The status code has already been sent. The client detects the failure by the truncated chunked response body
+			logger.warn("Failed to marshal PMML", e);
+
+			return;
+		}
+
+		long end = System.nanoTime();
+
+		record("marshal", end - encodeEnd);
+		record("total", end - begin);
+
+		this.successCount.incrementAndGet();
+	}
+
+	private void handleMetrics(HttpExchange exchange) throws IOException {
+
+		try {
+			if(rejectIfBusy(exchange)){
+				return;
+			}
+
+			StringBuilder sb = new StringBuilder();
+
+			sb.append('{');
+			sb.append("\"success\":").append(this.successCount.get());
+			sb.append(",\"failure\":").append(this.failureCount.get());
+			sb.append(",\"rejected\":").append(this.rejectionCount.get());
+			sb.append(",\"latency\":{");
+
+			String sep = "";
+
+			for(LatencyHistogram histogram : this.histograms.values()){
+				sb.append(sep).append('"').append(histogram.getName()).append("\":").append(histogram.toJSON());
+
+				sep = ",";
+			}
+
+			sb.append("}}");
+
+			send(exchange, 200, "application/json", sb.toString());
+		} finally {
+			exchange.close();
+		}
+	}
+
+	private void handleHealth(HttpExchange exchange) throws IOException {
+
+		try {
+			sendText(exchange, 200, "OK");
+		} finally {
+			exchange.close();
+		}
+	}
+
+	private boolean rejectIfBusy(HttpExchange exchange) throws IOException {
+
+		if(ConversionServer.rejected.get() == null){
+			return false;
+		}
+
+		this.rejectionCount.incrementAndGet();
+
+		exchange.getResponseHeaders().set("Retry-After", "1");
+
+		sendText(exchange, 503, "All workers are busy");
+
+		return true;
+	}
+
+	private void record(String stage, long nanos){
+		LatencyHistogram histogram = this.histograms.get(stage);
+
+		histogram.record(nanos);
+	}
+
+	public LatencyHistogram getHistogram(String stage){
+		return this.histograms.get(stage);
+	}
+
+	public String getHost(){
+		return this.host;
+	}
+
+	public void setHost(String host){
+		this.host = host;
+	}
+
+	public int getPort(){
+		return this.port;
+	}
+
+	public void setPort(int port){
+		this.port = port;
+	}
+
+	public int getWorkers(){
+		return this.workers;
+	}
+
+	public void setWorkers(int workers){
+		this.workers = workers;
+	}
+
+	public int getQueueSize(){
+		return this.queueSize;
+	}
+
+	public void setQueueSize(int queueSize){
+		this.queueSize = queueSize;
+	}
+
+	public long getMaxRequestSize(){
+		return this.maxRequestSize;
+	}
+
+	public void setMaxRequestSize(long maxRequestSize){
+		this.maxRequestSize = maxRequestSize;
+	}
+
+	public String getConverter(){
+		return this.converter;
+	}
+
+	public void setConverter(String converter){
+		this.converter = converter;
+	}
+
+	public Integer getParallelism(){
+		return this.parallelism;
+	}
+
+	public void setParallelism(Integer parallelism){
+		this.parallelism = parallelism;
+	}
+
+	public Integer getOffHeapThreshold(){
+		return this.offHeapThreshold;
+	}
+
+	public void setOffHeapThreshold(Integer offHeapThreshold){
+		this.offHeapThreshold = offHeapThreshold;
+	}
+
+	public int getWarmup(){
+		return this.warmup;
+	}
+
+	public void setWarmup(int warmup){
+		this.warmup = warmup;
+	}
+
+	static
+	private boolean acceptsGzip(Headers headers){
+		String acceptEncoding = headers.getFirst("Accept-Encoding");
+
+		return (acceptEncoding != null && (acceptEncoding.toLowerCase()).contains("gzip"));
+	}
+
+	static
+	private long parseLong(String string, long defaultValue){
+
+		try {
+			return Long.parseLong(string.trim());
+		} catch(NumberFormatException nfe){
+			return defaultValue;
+		}
+	}
+
+	static
+	private boolean isTooLarge(Throwable throwable){
+
+		while(throwable != null){
+
+			if(throwable instanceof RequestTooLargeException){
+				return true;
+			}
+
+			throwable = throwable.getCause();
+		}
+
+		return false;
+	}
+
+	static
+	private void sendText(HttpExchange exchange, int status, String text) throws IOException {
+		send(exchange, status, "text/plain; charset=UTF-8", text);
+	}
+
+	static
+	private void send(HttpExchange exchange, int status, String contentType, String text) throws IOException {
+		byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+
+		exchange.getResponseHeaders().set("Content-Type", contentType);
+		exchange.sendResponseHeaders(status, bytes.length);
+
+		try(OutputStream os = exchange.getResponseBody()){
+			os.write(bytes);
+		}
+	}
+
+	static
+	private class LimitedInputStream extends FilterInputStream {
+
+		private long remaining = 0L;
+
+
+		private LimitedInputStream(InputStream is, long limit){
+			super(is);
+
+			this.remaining = limit;
+		}
+
+		@Override
+		public int read() throws IOException {
+			int result = super.read();
+
+			if(result != -1){
+				consume(1);
+			}
+
+			return result;
+		}
+
+		@Override
+		public int read(byte[] buffer, int offset, int length) throws IOException {
+			int result = super.read(buffer, offset, length);
+
+			if(result != -1){
+				consume(result);
+			}
+
+			return result;
+		}
+
+		@Override
+		public long skip(long n) throws IOException {
+			long result = super.skip(n);
+
+			consume(result);
+
+			return result;
+		}
+
+		private void consume(long count) throws RequestTooLargeException {
+			this.remaining -= count;
+
+			if(this.remaining < 0L){
+				throw new RequestTooLargeException();
+			}
+		}
+	}
+
+	static
+	private class RequestTooLargeException extends IOException {
+
+		private RequestTooLargeException(){
+			super("Request body is too large");
+		}
+	}
+
+	private static final ThreadLocal<Boolean> rejected = new ThreadLocal<>();
+
+	private static final String[] STAGES = {"parse", "encode", "marshal", "total"};
+
+	private static final String[] WARMUP_ALGORITHMS = {"randomForest", "ranger", "gbm", "rpart", "iForest"};
+
+	private static final Logger logger = LoggerFactory.getLogger(ConversionServer.class);
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-R
+ *
+ * JPMML-R is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-R is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-R.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.rexp.example;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.jpmml.rexp.ConversionListener;
+
+/**
+ * <p>
+ * A conversion listener that collects stages into a printable table.
+ * </p>
+ */
+public class ConversionStageTable implements ConversionListener {
+
+	private List<Row> rows = new ArrayList<>();
+
+
+	@Override
+	synchronized
+	public void stageCompleted(String stage, long elapsedTime, long allocatedBytes, long peakHeapBytes){
+		this.rows.add(new Row(stage, elapsedTime, allocatedBytes, peakHeapBytes));
+	}
+
+	synchronized
+	public String format(){
+		int width = "Stage".length();
+
+		for(Row row : this.rows){
+			width = Math.max(width, (row.stage).length());
+		}
+
+		String format = "%-" + width + "s  %12s  %14s  %14s%n";
+
+		StringBuilder sb = new StringBuilder();
+
+		sb.append(String.format(format, "Stage", "Time (ms)", "Allocated (MB)", "Peak heap (MB)"));
+
+		for(Row row : this.rows){
+			String time = String.format("%.1f", row.elapsedTime / (double)TimeUnit.MILLISECONDS.toNanos(1));
+			String allocated = formatBytes(row.allocatedBytes);
+			String peakHeap = formatBytes(row.peakHeapBytes);
+
+			sb.append(String.format(format, row.stage, time, allocated, peakHeap));
+		}
+
+		return sb.toString();
+	}
+
+	static
+	private String formatBytes(long bytes){
+		return (bytes >= 0 ? String.format("%.1f", bytes / (1024d * 1024d)) : "n/a");
+	}
+
+	static
+	private class Row {
+
+		private String stage = null;
+
+		private long elapsedTime = 0L;
+
+		private long allocatedBytes = -1L;
+
+		private long peakHeapBytes = -1L;
+
+
+		private Row(String stage, long elapsedTime, long allocatedBytes, long peakHeapBytes){
+			this.stage = stage;
+			this.elapsedTime = elapsedTime;
+			this.allocatedBytes = allocatedBytes;
+			this.peakHeapBytes = peakHeapBytes;
+		}
+	}
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-R
+ *
+ * JPMML-R is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-R is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-R.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.rexp.example;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * <p>
+ * A lock-free latency histogram with logarithmic buckets.
+ * </p>
+ *
+ * <p>
+ * Bucket <code>i</code> counts latencies between <code>2^(i - 1)</code> (inclusive) and <code>2^i</code> (exclusive) microseconds.
+ * The last bucket counts all longer latencies.
+ * Percentiles are estimated as the upper bound of the bucket, which makes them accurate to within a factor of two.
+ * </p>
+ */
+public class LatencyHistogram {
+
+	private String name = null;
+
+	private AtomicLongArray counts = new AtomicLongArray(LatencyHistogram.BUCKETS);
+
+	private AtomicLong sum = new AtomicLong();
+
+	private AtomicLong max = new AtomicLong();
+
+
+	public LatencyHistogram(String name){
+		this.name = name;
+	}
+
+	/**
+	 * @param nanos The latency in nanoseconds.
+	 */
+	public void record(long nanos){
+		long micros = Math.max(nanos / 1000L, 0L);
+
+		int bucket = Math.min(64 - Long.numberOfLeadingZeros(micros), LatencyHistogram.BUCKETS - 1);
+
+		this.counts.incrementAndGet(bucket);
+		this.sum.addAndGet(micros);
+		this.max.accumulateAndGet(micros, Math::max);
+	}
+
+	public long getCount(){
+		long result = 0L;
+
+		for(int i = 0; i < this.counts.length(); i++){
+			result += this.counts.get(i);
+		}
+
+		return result;
+	}
+
+	/**
+	 * @param quantile The quantile, between <code>0</code> and <code>1</code>.
+	 *
+	 * @return The estimated latency in microseconds, or <code>0</code> if the histogram is empty.
+	 */
+	public long getPercentile(double quantile){
+
+		if(quantile < 0d || quantile > 1d){
+			throw new IllegalArgumentException();
+		}
+
+		long[] counts = new long[this.counts.length()];
+
+		long count = 0L;
+
+		for(int i = 0; i < counts.length; i++){
+			counts[i] = this.counts.get(i);
+
+			count += counts[i];
+		}
+
+		if(count == 0L){
+			return 0L;
+		}
+
+		long rank = Math.max((long)Math.ceil(quantile * count), 1L);
+
+		long cumulativeCount = 0L;
+
+		for(int i = 0; i < counts.length; i++){
+			cumulativeCount += counts[i];
+
+			if(cumulativeCount >= rank){
+
+				// The last bucket does not have an upper bound
+				if(i == (counts.length - 1)){
+					break;
+				}
+
+				return Math.min(1L << i, this.max.get());
+			}
+		}
+
+		return this.max.get();
+	}
+
+	public String toJSON(){
+		long count = getCount();
+
+		StringBuilder sb = new StringBuilder();
+
+		sb.append('{');
+		sb.append("\"count\":").append(count);
+		sb.append(",\"mean_us\":").append(count > 0L ? (this.sum.get() / count) : 0L);
+		sb.append(",\"p50_us\":").append(getPercentile(0.50d));
+		sb.append(",\"p90_us\":").append(getPercentile(0.90d));
+		sb.append(",\"p99_us\":").append(getPercentile(0.99d));
+		sb.append(",\"max_us\":").append(this.max.get());
+		sb.append(",\"buckets\":[");
+
+		for(int i = 0; i < this.counts.length(); i++){
+
+			if(i > 0){
+				sb.append(',');
+			}
+
+			sb.append(this.counts.get(i));
+		}
+
+		sb.append("]}");
+
+		return sb.toString();
+	}
+
+	public String getName(){
+		return this.name;
+	}
+
+	private static final int BUCKETS = 40;
+}
@@ -19,23 +19,45 @@
 package org.jpmml.rexp.example;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.FileOutputStream;
-import java.io.InputStream;
+import java.io.IOException;
 import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collectors;
 
 import com.beust.jcommander.DefaultUsageFormatter;
 import com.beust.jcommander.IUsageFormatter;
 import com.beust.jcommander.JCommander;
 import com.beust.jcommander.Parameter;
 import com.beust.jcommander.ParameterException;
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.JAXBException;
+import jakarta.xml.bind.Marshaller;
 import org.dmg.pmml.PMML;
 import org.jpmml.model.JAXBSerializer;
 import org.jpmml.model.metro.MetroJAXBSerializer;
+import org.jpmml.model.metro.MetroJAXBUtil;
 import org.jpmml.rexp.Converter;
 import org.jpmml.rexp.ConverterFactory;
+import org.jpmml.rexp.DeferredTreeModelListener;
 import org.jpmml.rexp.RExp;
 import org.jpmml.rexp.RExpParser;
+import org.jpmml.rexp.TreeModelConverter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -44,7 +66,6 @@ public class Main {
 	@Parameter (
 		names = {"--model-rds-input", "--rds-input"},
 		description = "RDS input file",
-		required = true,
 		order = 1
 	)
 	private File input = null;
@@ -52,7 +73,6 @@ public class Main {
 	@Parameter (
 		names = "--pmml-output",
 		description = "PMML output file",
-		required = true,
 		order = 2
 	)
 	private File output = null;
@@ -64,6 +84,90 @@ public class Main {
 	)
 	private String converter = null;
 
+	@Parameter (
+		names = "--lazy",
+		description = "Decode large list elements of uncompressed XDR files on first access",
+		order = 4
+	)
+	private boolean lazy = false;
+
+	@Parameter (
+		names = "--projection",
+		description = "Decode only those list elements that the converter needs",
+		order = 5
+	)
+	private boolean projection = false;
+
+	@Parameter (
+		names = "--off-heap-threshold",
+		description = "Decode integer and real vectors of compressed RDS files that are at least this long into off-heap memory",
+		order = 6
+	)
+	private Integer offHeapThreshold = null;
+
+	@Parameter (
+		names = "--parse-parallelism",
+		description = "The number of threads for decoding large list elements of uncompressed XDR files",
+		order = 7
+	)
+	private int parseParallelism = 1;
+
+	@Parameter (
+		names = "--parallelism",
+		description = "The number of threads for encoding decision trees. Overrides the \"parallelism\" conversion option",
+		order = 8
+	)
+	private Integer parallelism = null;
+
+	@Parameter (
+		names = "--streaming",
+		description = "Encode decision trees one by one while marshalling, instead of keeping all of them in memory",
+		order = 9
+	)
+	private boolean streaming = false;
+
+	@Parameter (
+		names = "--compact",
+		description = "Write PMML without indentation",
+		order = 10
+	)
+	private boolean compact = false;
+
+	@Parameter (
+		names = "--print-stages",
+		description = "Print the elapsed time, allocated memory and peak heap usage of every conversion stage",
+		order = 11
+	)
+	private boolean printStages = false;
+
+	@Parameter (
+		names = "--batch-input",
+		description = "Batch mode. RDS input directory, glob pattern or manifest file",
+		order = 12
+	)
+	private String batchInput = null;
+
+	@Parameter (
+		names = "--batch-output-dir",
+		description = "Batch mode. PMML output directory",
+		order = 13
+	)
+	private File batchOutputDir = null;
+
+	@Parameter (
+		names = "--batch-report",
+		description = "Batch mode. JSON Lines report file",
+		order = 14
+	)
+	private File batchReport = null;
+
+	@Parameter (
+		names = "--batch-threads",
+		description = "Batch mode. The number of RDS files to convert concurrently",
+		order = 15
+	)
+	private int batchThreads = Runtime.getRuntime().availableProcessors();
+
 	@Parameter (
 		names = "--help",
 		description = "Show the list of configuration options and exit",
@@ -84,6 +188,10 @@ public class Main {
 
 		try {
 			commander.parse(args);
+
+			if(!main.help){
+				main.checkParameters();
+			}
 		} catch(ParameterException pe){
 			StringBuilder sb = new StringBuilder();
 
@@ -107,50 +215,159 @@ public class Main {
 			System.exit(0);
 		}
 
-		main.run();
+		if(main.batchInput != null){
+			int failures = main.runBatch();
+
+			if(failures > 0){
+				System.exit(1);
+			}
+		} else
+
+		{
+			main.run();
+		}
 	}
 
-	public void run() throws Exception {
-		RExp rexp;
+	private void checkParameters(){
 
-		try(InputStream is = new FileInputStream(this.input)){
-			logger.info("Parsing RDS..");
+		if(this.batchInput != null){
 
-			RExpParser parser = new RExpParser(is);
+			if(this.input != null || this.output != null){
+				throw new ParameterException("The batch mode is incompatible with options --rds-input and --pmml-output");
+			} // End if
 
-			long begin = System.currentTimeMillis();
-			rexp = parser.parse();
-			long end = System.currentTimeMillis();
+			if(this.batchOutputDir == null){
+				throw new ParameterException("The batch mode requires option --batch-output-dir");
+			} // End if
 
-			logger.info("Parsed RDS in {} ms.", (end - begin));
-		} catch(Exception e){
-			logger.error("Failed to parse RDS", e);
+			if(this.batchThreads < 1){
+				throw new ParameterException("The number of batch threads must be positive");
+			}
+		} else
 
-			throw e;
+		{
+			if(this.input == null || this.output == null){
+				throw new ParameterException("The following options are required: --rds-input, --pmml-output (or --batch-input and --batch-output-dir)");
+			}
+		} // End if
+
+		if(this.offHeapThreshold != null && this.offHeapThreshold < 0){
+			throw new ParameterException("The off-heap threshold must be non-negative");
+		} // End if
+
+		if(this.parseParallelism < 1){
+			throw new ParameterException("The parse parallelism must be positive");
 		}
+	}
 
+	public void run() throws Exception {
 		ConverterFactory converterFactory = ConverterFactory.newInstance();
 
+		Class<? extends Converter<?>> clazz = loadConverterClazz();
+
 		Converter<RExp> converter;
 
-		if(this.converter != null){
-			logger.info("Initializing user-specified Converter {}", this.converter);
+		if(this.projection){
+
+			try {
+				logger.info("Parsing RDS in projection mode..");
+
+				long begin = System.currentTimeMillis();
+				if(clazz != null){
+					converter = converterFactory.newConverter(clazz, this.input.toPath());
+				} else
 
-			Class<? extends Converter<?>> clazz = (Class<? extends Converter<?>>)Class.forName(this.converter);
+				{
+					converter = converterFactory.newConverter(this.input.toPath());
+				}
+				long end = System.currentTimeMillis();
 
-			converter = converterFactory.newConverter(clazz, rexp);
+				logger.info("Parsed RDS in {} ms.", (end - begin));
+			} catch(Exception e){
+				logger.error("Failed to parse RDS", e);
+
+				throw e;
+			}
 		} else
 
 		{
-			logger.info("Initializing default Converter");
+			RExp rexp;
+
+			try(RExpParser parser = new RExpParser(this.input.toPath())){
+				logger.info("Parsing RDS..");
+
+				parser.setLazy(this.lazy);
+				parser.setParallelism(this.parseParallelism);
+
+				if(this.offHeapThreshold != null){
+					parser.setOffHeapThreshold(this.offHeapThreshold);
+				}
+
+				long begin = System.currentTimeMillis();
+				rexp = parser.parse();
+				long end = System.currentTimeMillis();
+
+				long decompressionTime = parser.getDecompressionTime();
+				if(decompressionTime >= 0){
+					logger.info("Decompressed RDS in {} ms (in a background thread).", decompressionTime);
+				}
+
+				logger.info("Parsed RDS in {} ms.", (end - begin));
+			} catch(Exception e){
+				logger.error("Failed to parse RDS", e);
+
+				throw e;
+			}
 
-			converter = converterFactory.newConverter(rexp);
+			if(clazz != null){
+				converter = converterFactory.newConverter(clazz, rexp);
+			} else
+
+			{
+				logger.info("Initializing default Converter");
+
+				converter = converterFactory.newConverter(rexp);
+			}
 		} // End if
 
 		{
-			Class<?> clazz = converter.getClass();
+			Class<?> converterClazz = converter.getClass();
 
-			logger.info("Initialized {}", clazz.getName());
+			logger.info("Initialized {}", converterClazz.getName());
+		}
+
+		if(this.parallelism != null){
+
+			if(converter instanceof TreeModelConverter){
+				TreeModelConverter<?> treeModelConverter = (TreeModelConverter<?>)converter;
+
+				treeModelConverter.setParallelism(this.parallelism);
+			} else
+
+			{
+				logger.warn("Ignoring parallelism, because {} does not encode decision trees", (converter.getClass()).getName());
+			}
+		} // End if
+
+		if(this.streaming){
+
+			if(converter instanceof TreeModelConverter){
+				TreeModelConverter<?> treeModelConverter = (TreeModelConverter<?>)converter;
+
+				treeModelConverter.setStreaming(true);
+			} else
+
+			{
+				logger.warn("Ignoring streaming, because {} does not encode decision trees", (converter.getClass()).getName());
+			}
+		}
+
+		ConversionStageTable stageTable = null;
+
+		if(this.printStages){
+			stageTable = new ConversionStageTable();
+
+			converter.setConversionListener(stageTable);
 		}
 
 		PMML pmml;
@@ -169,13 +386,17 @@ public class Main {
 			throw e;
 		} // End try
 
+		if(stageTable != null){
+			logger.info("Conversion stages:\n{}", stageTable.format());
+		}
+
 		try(OutputStream os = new FileOutputStream(this.output)){
 			logger.info("Marshalling PMML..");
 
 			JAXBSerializer jaxbSerializer = new MetroJAXBSerializer();
 
 			long begin = System.currentTimeMillis();
-			jaxbSerializer.serializePretty(pmml, os);
+			marshal(pmml, jaxbSerializer, os);
 			long end = System.currentTimeMillis();
 
 			logger.info("Marshalled PMML in {} ms.", (end - begin));
@@ -186,6 +407,260 @@ public class Main {
 		}
 	}
 
+	/**
+	 * <p>
+	 * Converts many RDS files concurrently.
+	 * All conversions share one {@link ConverterFactory} and one {@link JAXBSerializer}.
+	 * A failed conversion does not affect other conversions.
+	 * </p>
+	 *
+	 * @return The number of failed conversions.
+	 */
+	public int runBatch() throws Exception {
+		Map<Path, Path> inputs = BatchUtil.resolveInputs(this.batchInput);
+
+		if(inputs.isEmpty()){
+			logger.warn("Batch input {} does not select any RDS files", this.batchInput);
+
+			return 0;
+		}
+
+		Path outputDir = this.batchOutputDir.toPath();
+
+		ConverterFactory converterFactory = ConverterFactory.newInstance();
+
+		Class<? extends Converter<?>> clazz = loadConverterClazz();
+
+		// Marshallers are not thread-safe, but the serializer creates a new one for every call
+		JAXBSerializer jaxbSerializer = new MetroJAXBSerializer();
+
+		int threads = Math.min(this.batchThreads, inputs.size());
+
+		logger.info("Converting {} RDS files using {} threads..", inputs.size(), threads);
+
+		ExecutorService executorService = Executors.newFixedThreadPool(threads);
+
+		CompletionService<BatchResult> completionService = new ExecutorCompletionService<>(executorService);
+
+		Map<Future<BatchResult>, BatchResult> futures = new HashMap<>();
+
+		List<BatchResult> results = new ArrayList<>();
+
+		long begin = System.currentTimeMillis();
+
+		try(Writer reportWriter = (this.batchReport != null ? Files.newBufferedWriter(this.batchReport.toPath(), StandardCharsets.UTF_8) : null)){
+
+			for(Map.Entry<Path, Path> entry : inputs.entrySet()){
+				BatchResult result = new BatchResult(entry.getKey(), outputDir.resolve(entry.getValue()));
+
+				Future<BatchResult> future = completionService.submit(() -> convert(result, converterFactory, clazz, jaxbSerializer));
+
+				futures.put(future, result);
+			}
+
+			for(int i = 0; i < inputs.size(); i++){
+				Future<BatchResult> future = completionService.take();
+
+				BatchResult result;
+
+				try {
+					result = future.get();
+				} catch(ExecutionException ee){
+					result = futures.get(future);
+
+					result.setException("unknown", ee.getCause());
+				}
+
+				if(result.isSuccess()){
+					logger.info("Converted {} in {} ms.", result.getInput(), result.getTotalTime());
+				} else
+
+				{
+					logger.error("Failed to convert {} ({} stage)", result.getInput(), result.getStage(), result.getException());
+				} // End if
+
+				if(reportWriter != null){
+					reportWriter.write(result.toJSON());
+					reportWriter.write('\n');
+					reportWriter.flush();
+				}
+
+				results.add(result);
+			}
+		} finally {
+			executorService.shutdownNow();
+		}
+
+		long end = System.currentTimeMillis();
+
+		List<BatchResult> failedResults = results.stream()
+			.filter(result -> !result.isSuccess())
+			.collect(Collectors.toList());
+
+		logger.info("Converted {} of {} RDS files in {} ms.", (results.size() - failedResults.size()), results.size(), (end - begin));
+		logger.info("Parsing took {} ms, converting took {} ms, and marshalling took {} ms (summed over all threads).",
+			sumTime(results, BatchResult::getParseTime), sumTime(results, BatchResult::getConvertTime), sumTime(results, BatchResult::getMarshalTime));
+
+		List<BatchResult> slowestResults = results.stream()
+			.filter(BatchResult::isSuccess)
+			.sorted(Comparator.comparingLong(BatchResult::getTotalTime).reversed())
+			.limit(5)
+			.collect(Collectors.toList());
+
+		for(BatchResult slowestResult : slowestResults){
+			logger.info("Slow conversion: {} took {} ms.", slowestResult.getInput(), slowestResult.getTotalTime());
+		}
+
+		for(BatchResult failedResult : failedResults){
+			logger.error("Failed conversion: {}", failedResult.getInput());
+		}
+
+		return failedResults.size();
+	}
+
+	private BatchResult convert(BatchResult result, ConverterFactory converterFactory, Class<? extends Converter<?>> clazz, JAXBSerializer jaxbSerializer){
+		Path input = result.getInput();
+		Path output = result.getOutput();
+
+		Converter<RExp> converter;
+
+		try {
+			long begin = System.currentTimeMillis();
+
+			if(this.projection){
+
+				if(clazz != null){
+					converter = converterFactory.newConverter(clazz, input);
+				} else
+
+				{
+					converter = converterFactory.newConverter(input);
+				}
+			} else
+
+			{
+				RExp rexp;
+
+				try(RExpParser parser = new RExpParser(input)){
+					parser.setLazy(this.lazy);
+					parser.setParallelism(this.parseParallelism);
+
+					if(this.offHeapThreshold != null){
+						parser.setOffHeapThreshold(this.offHeapThreshold);
+					}
+
+					rexp = parser.parse();
+				}
+
+				if(clazz != null){
+					converter = converterFactory.newConverter(clazz, rexp);
+				} else
+
+				{
+					converter = converterFactory.newConverter(rexp);
+				}
+			}
+
+			long end = System.currentTimeMillis();
+
+			result.setParseTime(end - begin);
+			result.setConverter((converter.getClass()).getName());
+		} catch(Exception e){
+			result.setException("parse", e);
+
+			return result;
+		} // End try
+
+		if(converter instanceof TreeModelConverter){
+			TreeModelConverter<?> treeModelConverter = (TreeModelConverter<?>)converter;
+
+			if(this.parallelism != null){
+				treeModelConverter.setParallelism(this.parallelism);
+			}
+
+			treeModelConverter.setStreaming(this.streaming);
+		}
+
+		PMML pmml;
+
+		try {
+			long begin = System.currentTimeMillis();
+			pmml = converter.encodePMML();
+			long end = System.currentTimeMillis();
+
+			result.setConvertTime(end - begin);
+		} catch(Exception | StackOverflowError e){
+			result.setException("convert", e);
+
+			return result;
+		}
+
+		try {
+			Path outputDir = output.getParent();
+			if(outputDir != null){
+				Files.createDirectories(outputDir);
+			}
+
+			try(OutputStream os = Files.newOutputStream(output)){
+				long begin = System.currentTimeMillis();
+				marshal(pmml, jaxbSerializer, os);
+				long end = System.currentTimeMillis();
+
+				result.setMarshalTime(end - begin);
+			}
+		} catch(Exception e){
+			result.setException("marshal", e);
+
+			try {
+				Files.deleteIfExists(output);
+			} catch(IOException ioe){
+				e.addSuppressed(ioe);
+			}
+		}
+
+		return result;
+	}
+
+	/**
+	 * <p>
+	 * Marshals PMML in pretty or compact form.
+	 * In streaming mode, deferred tree models are encoded one by one as the marshaller reaches them.
+	 * </p>
+	 */
+	private void marshal(PMML pmml, JAXBSerializer jaxbSerializer, OutputStream os) throws JAXBException {
+
+		if(this.streaming){
+			JAXBContext context = MetroJAXBUtil.getContext();
+
+			Marshaller marshaller = context.createMarshaller();
+			marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, !this.compact);
+			marshaller.setListener(new DeferredTreeModelListener());
+
+			marshaller.marshal(pmml, os);
+		} else
+
+		{
+			if(this.compact){
+				jaxbSerializer.serialize(pmml, os);
+			} else
+
+			{
+				jaxbSerializer.serializePretty(pmml, os);
+			}
+		}
+	}
+
+	private Class<? extends Converter<?>> loadConverterClazz() throws ClassNotFoundException {
+
+		if(this.converter == null){
+			return null;
+		}
+
+		logger.info("Initializing user-specified Converter {}", this.converter);
+
+		return (Class<? extends Converter<?>>)Class.forName(this.converter);
+	}
+
 	public String getConverter(){
 		return this.converter;
 	}
@@ -194,6 +669,70 @@ public class Main {
 		this.converter = converter;
 	}
 
+	public boolean isLazy(){
+		return this.lazy;
+	}
+
+	public void setLazy(boolean lazy){
+		this.lazy = lazy;
+	}
+
+	public boolean isProjection(){
+		return this.projection;
+	}
+
+	public void setProjection(boolean projection){
+		this.projection = projection;
+	}
+
+	public Integer getOffHeapThreshold(){
+		return this.offHeapThreshold;
+	}
+
+	public void setOffHeapThreshold(Integer offHeapThreshold){
+		this.offHeapThreshold = offHeapThreshold;
+	}
+
+	public int getParseParallelism(){
+		return this.parseParallelism;
+	}
+
+	public void setParseParallelism(int parseParallelism){
+		this.parseParallelism = parseParallelism;
+	}
+
+	public Integer getParallelism(){
+		return this.parallelism;
+	}
+
+	public void setParallelism(Integer parallelism){
+		this.parallelism = parallelism;
+	}
+
+	public boolean isStreaming(){
+		return this.streaming;
+	}
+
+	public void setStreaming(boolean streaming){
+		this.streaming = streaming;
+	}
+
+	public boolean isPrintStages(){
+		return this.printStages;
+	}
+
+	public void setPrintStages(boolean printStages){
+		this.printStages = printStages;
+	}
+
+	public boolean isCompact(){
+		return this.compact;
+	}
+
+	public void setCompact(boolean compact){
+		this.compact = compact;
+	}
+
 	public File getInput(){
 		return this.input;
 	}
@@ -220,5 +759,45 @@ public class Main {
 		this.output = output;
 	}
 
+	public String getBatchInput(){
+		return this.batchInput;
+	}
+
+	public void setBatchInput(String batchInput){
+		this.batchInput = batchInput;
+	}
+
+	public File getBatchOutputDir(){
+		return this.batchOutputDir;
+	}
+
+	public void setBatchOutputDir(File batchOutputDir){
+		this.batchOutputDir = batchOutputDir;
+	}
+
+	public File getBatchReport(){
+		return this.batchReport;
+	}
+
+	public void setBatchReport(File batchReport){
+		this.batchReport = batchReport;
+	}
+
+	public int getBatchThreads(){
+		return this.batchThreads;
+	}
+
+	public void setBatchThreads(int batchThreads){
+		this.batchThreads = batchThreads;
+	}
+
+	static
+	private long sumTime(List<BatchResult> results, ToLongFunction<BatchResult> function){
+		return results.stream()
+			.mapToLong(function)
+			.filter(time -> time > 0L)
+			.sum();
+	}
+
 	private static final Logger logger = LoggerFactory.getLogger(Main.class);
 }
\ No newline at end of file
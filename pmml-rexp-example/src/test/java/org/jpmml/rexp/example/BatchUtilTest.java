@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-R
+ *
+ * JPMML-R is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-R is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-R.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.rexp.example;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class BatchUtilTest {
+
+	@TempDir
+	public Path tmpDir = null;
+
+
+	@Test
+	public void resolveDirectory() throws IOException {
+		Path a = createFile("a.rds");
+		Path b = createFile("b.RDS");
+
+		createFile("c.txt");
+		createFile("sub/d.rds");
+
+		Map<Path, Path> expected = new LinkedHashMap<>();
+		expected.put(a, Paths.get("a.pmml"));
+		expected.put(b, Paths.get("b.pmml"));
+
+		assertEquals(expected, BatchUtil.resolveInputs(this.tmpDir.toString()));
+	}
+
+	@Test
+	public void resolveGlob() throws IOException {
+		Path a = createFile("models/a.rds");
+		Path b = createFile("models/x/b.rds");
+		Path c = createFile("models/x/y/c.rds");
+
+		createFile("models/x/readme.txt");
+		createFile("d.rds");
+
+		Map<Path, Path> expected = new LinkedHashMap<>();
+		expected.put(a, Paths.get("a.pmml"));
+		expected.put(b, Paths.get("x", "b.pmml"));
+		expected.put(c, Paths.get("x", "y", "c.pmml"));
+
+		assertEquals(expected, BatchUtil.resolveInputs(toSpec("models/**/*.rds")));
+
+		expected.remove(a);
+
+		assertEquals(expected, BatchUtil.resolveInputs(toSpec("models/*/**/*.rds")));
+
+		expected.clear();
+		expected.put(a, Paths.get("a.pmml"));
+
+		assertEquals(expected, BatchUtil.resolveInputs(toSpec("models/*.rds")));
+		assertEquals(expected, BatchUtil.resolveInputs(toSpec("models/{a,b}.rds")));
+	}
+
+	@Test
+	public void resolveManifest() throws IOException {
+		Path a = createFile("models/a.rds");
+		Path b = createFile("models/x/b.rds");
+
+		Path manifest = createFile("manifest.txt", "# Comment", "", "models/a.rds", "  models/x/b.rds  ");
+
+		Map<Path, Path> expected = new LinkedHashMap<>();
+		expected.put(a.toAbsolutePath(), Paths.get("a.pmml"));
+		expected.put(b.toAbsolutePath(), Paths.get("b.pmml"));
+
+		assertEquals(expected, BatchUtil.resolveInputs(manifest.toString()));
+
+		createFile("manifest.txt", "models/c.rds");
+
+		assertThrows(IllegalArgumentException.class, () -> BatchUtil.resolveInputs(manifest.toString()));
+	}
+
+	@Test
+	public void resolveDuplicateOutputs() throws IOException {
+		createFile("models/a.rds");
+		createFile("models/x/a.rds");
+
+		Path manifest = createFile("manifest.txt", "models/a.rds", "models/x/a.rds");
+
+		assertThrows(IllegalArgumentException.class, () -> BatchUtil.resolveInputs(manifest.toString()));
+
+		// Outputs that are relative to the base directory of the glob pattern are distinct
+		assertEquals(2, (BatchUtil.resolveInputs(toSpec("models/**/a.rds"))).size());
+	}
+
+	@Test
+	public void resolveMissing(){
+		assertThrows(IllegalArgumentException.class, () -> BatchUtil.resolveInputs(toSpec("missing")));
+	}
+
+	private String toSpec(String pattern){
+		return (this.tmpDir.toString()).replace('\\', '/') + "/" + pattern;
+	}
+
+	private Path createFile(String name, String... lines) throws IOException {
+		Path path = this.tmpDir.resolve(name);
+
+		Files.createDirectories(path.getParent());
+
+		return Files.write(path, Arrays.asList(lines));
+	}
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-R
+ *
+ * JPMML-R is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-R is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-R.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.rexp.example;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+import com.sun.net.httpserver.HttpServer;
+import org.jpmml.rexp.RDoubleVector;
+import org.jpmml.rexp.RExp;
+import org.jpmml.rexp.RExpWriter;
+import org.jpmml.rexp.testing.SyntheticModelGenerator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ConversionServerTest {
+
+	private HttpServer server = null;
+
+	private HttpClient client = HttpClient.newHttpClient();
+
+
+	@AfterEach
+	public void stop(){
+
+		if(this.server != null){
+			this.server.stop(0);
+		}
+	}
+
+	@Test
+	public void convert() throws Exception {
+		start(16);
+
+		byte[] rds = gzip(serialize(generate()));
+
+		HttpResponse<String> response = post(rds, false);
+
+		assertEquals(200, response.statusCode());
+		assertTrue((response.body()).contains("<PMML"));
+
+		response = post(gzip(serialize(generate())), true);
+
+		assertEquals(200, response.statusCode());
+
+		response = get("/metrics");
+
+		assertEquals(200, response.statusCode());
+
+		String metrics = response.body();
+
+		assertTrue(metrics.startsWith("{\"success\":2,\"failure\":0,\"rejected\":0,"));
+		assertTrue(metrics.contains("\"total\":{\"count\":2,"));
+	}
+
+	@Test
+	public void convertTooLarge() throws Exception {
+		start(16);
+
+		HttpResponse<String> response = post(new byte[(int)ConversionServerTest.MAX_REQUEST_SIZE + 1], false);
+
+		assertEquals(413, response.statusCode());
+
+		// A real vector of zeros, which compresses well below the limit
+		byte[] rds = gzip(serialize(new RDoubleVector(new double[(int)ConversionServerTest.MAX_REQUEST_SIZE / 8 + 1], null)));
+
+		assertTrue(rds.length < ConversionServerTest.MAX_REQUEST_SIZE);
+
+		response = post(rds, false);
+
+		assertEquals(413, response.statusCode());
+
+		response = post(gzip(serialize(new RDoubleVector(new double[(int)ConversionServerTest.MAX_REQUEST_SIZE / 8 + 1], null))), true);
+
+		assertEquals(413, response.statusCode());
+
+		response = get("/metrics");
+
+		assertTrue((response.body()).startsWith("{\"success\":0,\"failure\":3,\"rejected\":0,"));
+	}
+
+	@Test
+	public void convertBusy() throws Exception {
+		start(0);
+
+		int port = (this.server.getAddress()).getPort();
+
+		// Occupy the only worker with a request whose body never arrives
+		try(Socket socket = new Socket("localhost", port)){
+			OutputStream os = socket.getOutputStream();
+
+			os.write(("POST /convert HTTP/1.1\r\nHost: localhost\r\nContent-Length: 1024\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+			os.flush();
+
+			HttpResponse<String> response = null;
+
+			// The stalled request is dispatched to the worker asynchronously
+			for(int i = 0; i < 100; i++){
+				response = get("/metrics");
+
+				if(response.statusCode() == 503){
+					break;
+				}
+
+				Thread.sleep(50);
+			}
+
+			assertEquals(503, response.statusCode());
+			assertEquals("1", (response.headers()).firstValue("Retry-After").orElse(null));
+		}
+	}
+
+	private void start(int queueSize) throws Exception {
+		ConversionServer conversionServer = new ConversionServer();
+		conversionServer.setPort(0);
+		conversionServer.setWorkers(1);
+		conversionServer.setQueueSize(queueSize);
+		conversionServer.setMaxRequestSize(ConversionServerTest.MAX_REQUEST_SIZE);
+
+		this.server = conversionServer.start();
+	}
+
+	private HttpResponse<String> get(String path) throws IOException, InterruptedException {
+		HttpRequest request = HttpRequest.newBuilder(createURI(path))
+			.GET()
+			.build();
+
+		return this.client.send(request, HttpResponse.BodyHandlers.ofString());
+	}
+
+	private HttpResponse<String> post(byte[] body, boolean gzip) throws IOException, InterruptedException {
+		HttpRequest.Builder builder = HttpRequest.newBuilder(createURI("/convert"))
+			.POST(HttpRequest.BodyPublishers.ofByteArray(gzip ? gzip(body) : body));
+
+		if(gzip){
+			builder.header("Content-Encoding", "gzip");
+		}
+
+		return this.client.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+	}
+
+	private URI createURI(String path){
+		return URI.create("http://localhost:" + (this.server.getAddress()).getPort() + path);
+	}
+
+	static
+	private RExp generate(){
+		SyntheticModelGenerator generator = new SyntheticModelGenerator();
+		generator.setTrees(2);
+		generator.setDepth(3);
+
+		return generator.generate("randomForest");
+	}
+
+	static
+	private byte[] serialize(RExp rexp) throws IOException {
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+
+		try(RExpWriter writer = new RExpWriter(os)){
+			writer.write(rexp);
+		}
+
+		return os.toByteArray();
+	}
+
+	static
+	private byte[] gzip(byte[] bytes) throws IOException {
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+
+		try(GZIPOutputStream gzipOs = new GZIPOutputStream(os)){
+			gzipOs.write(bytes);
+		}
+
+		return os.toByteArray();
+	}
+
+	private static final long MAX_REQUEST_SIZE = 1024L * 1024L;
+}
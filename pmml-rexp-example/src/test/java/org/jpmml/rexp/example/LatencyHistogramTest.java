@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-R
+ *
+ * JPMML-R is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-R is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-R.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.rexp.example;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LatencyHistogramTest {
+
+	@Test
+	public void record(){
+		LatencyHistogram histogram = new LatencyHistogram("total");
+
+		assertEquals(0L, histogram.getCount());
+		assertEquals(0L, histogram.getPercentile(0.5d));
+
+		// Microseconds 0, 1, 2-3, 4-7 etc. fall into buckets 0, 1, 2, 3 etc.
+		histogram.record(0L);
+		histogram.record(1000L);
+		histogram.record(3000L);
+		histogram.record(5000L);
+
+		assertEquals(4L, histogram.getCount());
+
+		assertEquals(1L, histogram.getPercentile(0d));
+		assertEquals(2L, histogram.getPercentile(0.5d));
+		assertEquals(4L, histogram.getPercentile(0.75d));
+
+		// Capped by the maximum
+		assertEquals(5L, histogram.getPercentile(1d));
+
+		histogram.record(-1L);
+		histogram.record(Long.MAX_VALUE);
+
+		assertEquals(6L, histogram.getCount());
+		assertEquals(Long.MAX_VALUE / 1000L, histogram.getPercentile(1d));
+
+		String json = histogram.toJSON();
+
+		assertTrue(json.startsWith("{\"count\":6,"));
+		assertTrue(json.contains("\"buckets\":[2,1,1,1,0,"));
+		assertTrue(json.endsWith(",1]}"));
+
+		assertThrows(IllegalArgumentException.class, () -> histogram.getPercentile(1.5d));
+	}
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-R
+ *
+ * JPMML-R is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-R is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-R.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.rexp.example;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MainTest {
+
+	@TempDir
+	public Path tmpDir = null;
+
+
+	@Test
+	public void runBatchDuplicateOutputs() throws IOException {
+		Path modelsDir = Files.createDirectories(this.tmpDir.resolve("models"));
+		Path otherModelsDir = Files.createDirectories(this.tmpDir.resolve("other-models"));
+
+		Files.write(modelsDir.resolve("a.rds"), new byte[0]);
+		Files.write(otherModelsDir.resolve("a.rds"), new byte[0]);
+
+		Path manifest = Files.write(this.tmpDir.resolve("manifest.txt"), Arrays.asList("models/a.rds", "other-models/a.rds"));
+
+		File outputDir = (this.tmpDir.resolve("pmml")).toFile();
+
+		Main main = new Main();
+		main.setBatchInput(manifest.toString());
+		main.setBatchOutputDir(outputDir);
+
+		IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, main::runBatch);
+
+		assertTrue((exception.getMessage()).contains("map to the same PMML output file a.pmml"));
+
+		// Nothing is converted
+		assertFalse(outputDir.exists());
+	}
+
+	@Test
+	public void runBatchEmpty() throws Exception {
+		Files.createDirectories(this.tmpDir.resolve("models"));
+
+		Main main = new Main();
+		main.setBatchInput((this.tmpDir.resolve("models")).toString());
+		main.setBatchOutputDir((this.tmpDir.resolve("pmml")).toFile());
+
+		assertEquals(0, main.runBatch());
+	}
+}
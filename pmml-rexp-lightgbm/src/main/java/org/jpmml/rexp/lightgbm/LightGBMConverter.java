@@ -18,7 +18,6 @@
  */
 package org.jpmml.rexp.lightgbm;
 
-import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.util.Collections;
 import java.util.List;
@@ -90,7 +89,7 @@ public class LightGBMConverter extends ModelConverter<REnvironment> {
 			throw new IllegalArgumentException();
 		}
 
-		try(InputStream is = new ByteArrayInputStream(raw.getValue())){
+		try(InputStream is = raw.getInputStream()){
 			return LightGBMUtil.loadGBDT(is);
 		} catch(Exception e){
 			throw new RExpException("Failed to load LightGBM booster object", e);
@@ -18,7 +18,6 @@
  */
 package org.jpmml.rexp.xgboost;
 
-import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
@@ -161,7 +160,7 @@ public class XGBoostConverter extends ModelConverter<RGenericVector> {
 
 						RFactorVector factorColumn = (RFactorVector)data.get(name);
 						if(factorColumn == null){
-							factorColumn = new RFactorVector(null, null){
+							factorColumn = new RFactorVector((int[])null, null){
 
 								private List<String> factorValues = new ArrayList<>();
 
@@ -328,9 +327,8 @@ public class XGBoostConverter extends ModelConverter<RGenericVector> {
 
 	static
 	private Learner loadLearner(RRaw raw, String jsonPath) throws IOException {
-		byte[] value = raw.getValue();
 
-		try(InputStream is = new ByteArrayInputStream(value)){
+		try(InputStream is = raw.getInputStream()){
 			return XGBoostUtil.loadLearner(is, ByteOrder.nativeOrder(), null, jsonPath);
 		}
 	}
@@ -18,68 +18,415 @@
  */
 package org.jpmml.rexp;
 
-import java.io.DataInputStream;
+import java.io.Closeable;
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
 import java.util.Arrays;
 
 abstract
 public class BinaryInput implements RDataInput {
 
-	private DataInputStream dis = null;
+	private InputStream is = null;
+
+	private FileChannel channel = null;
+
+	/**
+	 * Overlapping memory-mapped regions of the channel.
+	 * The region at index <code>i</code> starts at the channel position <code>i * WINDOW_STEP</code>.
+	 */
+	private ByteBuffer[] windows = null;
+
+	private ByteBuffer buffer = null;
+
+	/**
+	 * The channel position of the first byte of the buffer.
+	 */
+	private long bufferPosition = 0L;
 
 
 	public BinaryInput(InputStream is) throws IOException {
-		DataInputStream dis = new DataInputStream(is);
+		ByteBuffer buffer = ByteBuffer.allocate(BinaryInput.BUFFER_CAPACITY)
+			.order(ByteOrder.BIG_ENDIAN);
 
-		byte first = dis.readByte();
-		if(first != 'X'){
-			throw new IllegalArgumentException();
-		}
+		// Start out in the drained state
+		buffer.flip();
 
-		byte second = dis.readByte();
-		if(second != '\n'){
-			byte[] xdrMagic = new byte[5];
-			xdrMagic[0] = first;
-			xdrMagic[1] = second;
+		this.is = is;
+		this.buffer = buffer;
 
-			dis.readFully(xdrMagic, 2, xdrMagic.length - 2);
+		readMagic();
+	}
 
-			if(!Arrays.equals(XDR2_MAGIC, xdrMagic)){
-				throw new IllegalArgumentException();
-			}
+	/**
+	 * <p>
+	 * Reads an uncompressed XDR file by memory-mapping it.
+	 * </p>
+	 *
+	 * <p>
+	 * Large integer and real vectors are not copied into the JVM heap,
+	 * but are returned as buffer views over the mapped file region.
+	 * </p>
+	 */
+	public BinaryInput(FileChannel channel) throws IOException {
+		this.channel = channel;
+		this.windows = map(channel);
+
+		setPosition(channel.position());
+
+		readMagic();
+	}
+
+	/**
+	 * <p>
+	 * Creates an independent reader over the same memory-mapped file.
+	 * The reader remains usable after the original reader has been closed.
+	 * </p>
+	 */
+	public BinaryInput(BinaryInput input){
+
+		if(!input.isSeekable()){
+			throw new IllegalArgumentException();
 		}
 
-		this.dis = dis;
+		this.windows = input.windows;
+
+		setPosition(input.getPosition());
 	}
 
 	@Override
 	public void close() throws IOException {
-		this.dis.close();
+		Closeable closeable = (this.channel != null ? this.channel : this.is);
+
+		if(closeable != null){
+			closeable.close();
+		}
 	}
 
 	@Override
 	public int readInt() throws IOException {
-		int value = this.dis.readInt();
+		ByteBuffer buffer = ensureRemaining(4);
 
-		return value;
+		return buffer.getInt();
 	}
 
 	@Override
 	public double readDouble() throws IOException {
-		long value = this.dis.readLong();
+		ByteBuffer buffer = ensureRemaining(8);
 
-		return Double.longBitsToDouble(value);
+		return buffer.getDouble();
 	}
 
 	@Override
 	public byte[] readByteArray(int length) throws IOException {
 		byte[] buffer = new byte[length];
 
-		this.dis.readFully(buffer);
+		readFully(buffer, 0, length);
+
+		return buffer;
+	}
+
+	@Override
+	public void readBytes(byte[] bytes, int offset, int length) throws IOException {
+		readFully(bytes, offset, length);
+	}
+
+	@Override
+	public void readInts(int[] values, int offset, int length) throws IOException {
+
+		while(length > 0){
+			ByteBuffer buffer = ensureRemaining(4);
+
+			int count = Math.min(buffer.remaining() / 4, length);
+
+			buffer.asIntBuffer().get(values, offset, count);
+			buffer.position(buffer.position() + (count * 4));
+
+			offset += count;
+			length -= count;
+		}
+	}
+
+	@Override
+	public void readDoubles(double[] values, int offset, int length) throws IOException {
+
+		while(length > 0){
+			ByteBuffer buffer = ensureRemaining(8);
+
+			int count = Math.min(buffer.remaining() / 8, length);
+
+			buffer.asDoubleBuffer().get(values, offset, count);
+			buffer.position(buffer.position() + (count * 8));
+
+			offset += count;
+			length -= count;
+		}
+	}
+
+	@Override
+	public ByteBuffer readByteBuffer(int length) throws IOException {
+		ByteBuffer view = readView(length, 1);
+
+		if(view != null){
+			return view;
+		}
+
+		return RDataInput.super.readByteBuffer(length);
+	}
+
+	@Override
+	public IntBuffer readIntBuffer(int length) throws IOException {
+		ByteBuffer view = readView(length, 4);
+
+		if(view != null){
+			return view.asIntBuffer();
+		}
+
+		return RDataInput.super.readIntBuffer(length);
+	}
+
+	@Override
+	public DoubleBuffer readDoubleBuffer(int length) throws IOException {
+		ByteBuffer view = readView(length, 8);
+
+		if(view != null){
+			return view.asDoubleBuffer();
+		}
+
+		return RDataInput.super.readDoubleBuffer(length);
+	}
+
+	@Override
+	public void skipInts(int length) throws IOException {
+		skipBytes((long)length * 4L);
+	}
+
+	@Override
+	public void skipDoubles(int length) throws IOException {
+		skipBytes((long)length * 8L);
+	}
+
+	@Override
+	public void skipByteArray(int length) throws IOException {
+		skipBytes(length);
+	}
+
+	@Override
+	public boolean isSeekable(){
+		return (this.windows != null);
+	}
+
+	@Override
+	public long getPosition(){
+
+		if(!isSeekable()){
+			throw new UnsupportedOperationException();
+		}
+
+		return this.bufferPosition + this.buffer.position();
+	}
+
+	@Override
+	public void setPosition(long position){
+		ByteBuffer[] windows = this.windows;
+
+		if(windows == null){
+			throw new UnsupportedOperationException();
+		}
+
+		int index = (int)Math.min(position / BinaryInput.WINDOW_STEP, windows.length - 1);
+
+		ByteBuffer buffer = windows[index].duplicate()
+			.order(ByteOrder.BIG_ENDIAN);
+
+		long bufferPosition = (long)index * BinaryInput.WINDOW_STEP;
+
+		buffer.position((int)(position - bufferPosition));
+
+		this.buffer = buffer;
+		this.bufferPosition = bufferPosition;
+	}
+
+	private void skipBytes(long length) throws IOException {
+
+		if(isSeekable()){
+			long position = getPosition() + length;
+
+			if(position > getSize()){
+				throw new EOFException();
+			}
+
+			setPosition(position);
+
+			return;
+		}
+
+		while(length > 0){
+			ByteBuffer buffer = ensureRemaining(1);
+
+			int count = (int)Math.min(buffer.remaining(), length);
+
+			buffer.position(buffer.position() + count);
+
+			length -= count;
+		}
+	}
+
+	private long getSize(){
+		ByteBuffer[] windows = this.windows;
+
+		ByteBuffer window = windows[windows.length - 1];
+
+		return (long)(windows.length - 1) * BinaryInput.WINDOW_STEP + window.limit();
+	}
+
+	private void readMagic() throws IOException {
+		byte first = readByte();
+		if(first != 'X'){
+			throw new IllegalArgumentException();
+		}
+
+		byte second = readByte();
+		if(second != '\n'){
+			byte[] xdrMagic = new byte[5];
+			xdrMagic[0] = first;
+			xdrMagic[1] = second;
+
+			readFully(xdrMagic, 2, xdrMagic.length - 2);
+
+			if(!Arrays.equals(XDR2_MAGIC, xdrMagic)){
+				throw new IllegalArgumentException();
+			}
+		}
+	}
+
+	private byte readByte() throws IOException {
+		ByteBuffer buffer = ensureRemaining(1);
+
+		return buffer.get();
+	}
+
+	private void readFully(byte[] bytes, int offset, int length) throws IOException {
+
+		while(length > 0){
+			ByteBuffer buffer = ensureRemaining(1);
+
+			int count = Math.min(buffer.remaining(), length);
+
+			buffer.get(bytes, offset, count);
+
+			offset += count;
+			length -= count;
+		}
+	}
+
+	/**
+	 * <p>
+	 * Returns a read-only view over the next <code>length</code> elements, and skips past them.
+	 * </p>
+	 *
+	 * @return A view, or <code>null</code> if views are not available.
+	 */
+	private ByteBuffer readView(int length, int size) throws IOException {
+
+		if(!isSeekable() || length < BinaryInput.VIEW_THRESHOLD){
+			return null;
+		}
+
+		long byteLength = (long)length * (long)size;
+
+		ByteBuffer buffer = this.buffer;
+
+		// The view must fit into a single mapped region
+		if(buffer.remaining() < byteLength){
+			return null;
+		}
+
+		ByteBuffer view = buffer.slice();
+		view.limit((int)byteLength);
+
+		buffer.position(buffer.position() + (int)byteLength);
+
+		return view.order(ByteOrder.BIG_ENDIAN);
+	}
+
+	/**
+	 * <p>
+	 * Makes sure that the buffer holds at least the requested number of bytes,
+	 * refilling (or re-positioning) it as necessary.
+	 * </p>
+	 */
+	private ByteBuffer ensureRemaining(int size) throws IOException {
+		ByteBuffer buffer = this.buffer;
+
+		if(buffer.remaining() >= size){
+			return buffer;
+		} // End if
+
+		if(isSeekable()){
+			setPosition(getPosition());
+
+			buffer = this.buffer;
+
+			if(buffer.remaining() < size){
+				throw new EOFException();
+			}
+
+			return buffer;
+		}
+
+		buffer.compact();
+
+		try {
+			while(buffer.position() < size){
+				int result = this.is.read(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+				if(result < 0){
+					throw new EOFException();
+				}
+
+				buffer.position(buffer.position() + result);
+			}
+		} finally {
+			buffer.flip();
+		}
 
 		return buffer;
 	}
 
+	/**
+	 * <p>
+	 * Maps the channel in its entirety.
+	 * The mapped regions overlap, so that any read that is smaller than <code>WINDOW_STEP</code> bytes can be served by a single region.
+	 * </p>
+	 */
+	static
+	private ByteBuffer[] map(FileChannel channel) throws IOException {
+		long size = channel.size();
+
+		int count = (int)Math.max((size + (BinaryInput.WINDOW_STEP - 1)) / BinaryInput.WINDOW_STEP, 1);
+
+		ByteBuffer[] result = new ByteBuffer[count];
+
+		for(int i = 0; i < count; i++){
+			long position = (long)i * BinaryInput.WINDOW_STEP;
+
+			result[i] = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(size - position, BinaryInput.WINDOW_SIZE));
+		}
+
+		return result;
+	}
+
 	private static final byte[] XDR2_MAGIC = {'X', 'D', 'R', '2', '\n'};
+
+	private static final int BUFFER_CAPACITY = 64 * 1024;
+
+	private static final int VIEW_THRESHOLD = 1024;
+
+	private static final long WINDOW_STEP = (1L << 30);
+	private static final long WINDOW_SIZE = Integer.MAX_VALUE;
 }
\ No newline at end of file
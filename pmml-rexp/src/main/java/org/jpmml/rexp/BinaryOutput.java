@@ -54,7 +54,7 @@ public class BinaryOutput implements RDataOutput {
 
 	@Override
 	public void writeDouble(double value) throws IOException {
-		this.dos.writeLong(Double.doubleToLongBits(value));
+		this.dos.writeLong(Double.doubleToRawLongBits(value));
 	}
 
 	@Override
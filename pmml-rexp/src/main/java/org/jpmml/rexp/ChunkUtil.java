@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-R
+ *
+ * JPMML-R is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-R is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-R.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.rexp;
+
+import java.nio.Buffer;
+
+/**
+ * <p>
+ * Utilities for working with values that are stored in a sequence of equally-sized buffers (chunks).
+ * </p>
+ */
+class ChunkUtil {
+
+	private ChunkUtil(){
+	}
+
+	/**
+	 * @return The binary logarithm of the chunk size.
+	 */
+	static
+	public int checkChunks(Buffer[] chunks){
+
+		if(chunks.length == 0){
+			throw new IllegalArgumentException();
+		}
+
+		int chunkSize = (chunks[0]).limit();
+
+		// A single chunk may have any size
+		if(chunks.length == 1){
+			return 31;
+		} // End if
+
+		if(Integer.bitCount(chunkSize) != 1){
+			throw new IllegalArgumentException("Expected a power of two chunk size, got " + chunkSize);
+		}
+
+		for(int i = 1; i < chunks.length; i++){
+			int size = (chunks[i]).limit();
+
+			if((i < chunks.length - 1) ? (size != chunkSize) : (size > chunkSize)){
+				throw new IllegalArgumentException("Expected chunk size " + chunkSize + ", got " + size);
+			}
+		}
+
+		return Integer.numberOfTrailingZeros(chunkSize);
+	}
+
+	static
+	public long sumChunks(Buffer[] chunks){
+		long result = 0L;
+
+		for(Buffer chunk : chunks){
+			result += chunk.limit();
+		}
+
+		return result;
+	}
+
+	/**
+	 * @throws RExpException If the size is outside of the <code>int</code> range.
+	 */
+	static
+	public int toIntSize(long size){
+
+		if(size > Integer.MAX_VALUE){
+			throw new RExpException("Long vector of " + size + " elements cannot be accessed using int indexes");
+		}
+
+		return (int)size;
+	}
+
+	static
+	public void checkIndex(long index, long size){
+
+		if(index < 0 || index >= size){
+			throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+		}
+	}
+
+	static
+	public void checkFromIndexSize(long fromIndex, long size, long length){
+
+		if(fromIndex < 0 || size < 0 || fromIndex + size > length){
+			throw new IndexOutOfBoundsException("Range [" + fromIndex + ", " + fromIndex + " + " + size + ") out of bounds for length " + length);
+		}
+	}
+}
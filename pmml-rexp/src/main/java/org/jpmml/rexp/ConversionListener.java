@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-R
+ *
+ * JPMML-R is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-R is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-R.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.rexp;
+
+/**
+ * <p>
+ * A listener for the stages of a conversion.
+ * </p>
+ *
+ * <p>
+ * Stages may be nested.
+ * For example, the <code>encodePMML</code> stage contains the <code>renameFields</code> stage.
+ * Nested stages complete before their enclosing stage does.
+ * </p>
+ *
+ * @see Converter#setConversionListener(ConversionListener)
+ */
+public interface ConversionListener {
+
+	/**
+	 * @param stage The name of the stage.
+	 * @param elapsedTime The elapsed wall-clock time in nanoseconds.
+	 * @param allocatedBytes The number of bytes allocated by the current thread, or <code>-1</code> if the JVM cannot measure it.
+	 * Allocations made by other threads, such as parallel tree encoders, are not included.
+	 * @param peakHeapBytes The peak heap usage in bytes, or <code>-1</code> if the JVM cannot measure it.
+	 * The heap is shared by all threads, so the peak heap usage is only meaningful if no other conversions are running at the same time.
+	 *
+	 * @see InstrumentationUtil#getPeakHeapBytes()
+	 */
+	void stageCompleted(String stage, long elapsedTime, long allocatedBytes, long peakHeapBytes);
+}
@@ -20,12 +20,16 @@ package org.jpmml.rexp;
 
 import org.dmg.pmml.PMML;
 import org.jpmml.converter.ExceptionUtil;
+import org.jpmml.converter.ValueUtil;
 
+@ElementPaths({"preProcess", "recipe", "pmml_options"})
 abstract
 public class Converter<R extends RExp> {
 
 	private R object = null;
 
+	private ConversionListener conversionListener = null;
+
 
 	public Converter(R object){
 		setObject(object);
@@ -35,7 +39,10 @@ public class Converter<R extends RExp> {
 	public PMML encodePMML(RExpEncoder encoder);
 
 	public PMML encodePMML(){
-		RExpEncoder encoder = createEncoder();
+		ConversionListener conversionListener = getConversionListener();
+
+		RExpEncoder encoder = InstrumentationUtil.measure(conversionListener, "createEncoder", this::createEncoder);
+		encoder.setConversionListener(conversionListener);
 
 		return encodePMML(encoder);
 	}
@@ -101,6 +108,20 @@ public class Converter<R extends RExp> {
 		return defaultValue;
 	}
 
+	public Integer getOption(String name, Integer defaultValue){
+		RGenericVector options = getOptions();
+
+		if(options != null){
+			RNumberVector<?> option = options.getNumericElement(name, false);
+
+			if(option != null){
+				return ValueUtil.asInt(option.asScalar());
+			}
+		}
+
+		return defaultValue;
+	}
+
 	public RGenericVector getOptions(){
 		R object = getObject();
 
@@ -121,6 +142,19 @@ public class Converter<R extends RExp> {
 		this.object = object;
 	}
 
+	public ConversionListener getConversionListener(){
+		return this.conversionListener;
+	}
+
+	/**
+	 * <p>
+	 * Sets the listener for the stages of the {@link #encodePMML()} method.
+	 * </p>
+	 */
+	public void setConversionListener(ConversionListener conversionListener){
+		this.conversionListener = conversionListener;
+	}
+
 	static
 	public <R extends RExp> Converter<R> newConverter(R rexp){
 		ConverterFactory converterFactory = ConverterFactory.newInstance();
@@ -22,8 +22,11 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.lang.reflect.Constructor;
 import java.net.URL;
+import java.nio.file.Path;
+import java.util.Arrays;
 import java.util.Enumeration;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
@@ -38,17 +41,40 @@ public class ConverterFactory {
 	}
 
 	public <R extends RExp> Converter<R> newConverter(R rexp){
-		RStringVector classNames = rexp._class();
+		Class<? extends Converter<?>> clazz = getConverterClazz(rexp);
 
-		for(String className : classNames){
-			Class<? extends Converter<?>> clazz = ConverterFactory.converters.get(className);
+		return newConverter(clazz, rexp);
+	}
 
-			if(clazz != null){
-				return newConverter(clazz, rexp);
-			}
-		}
+	/**
+	 * <p>
+	 * Parses the R model object from an RDS file, and creates a converter for it.
+	 * </p>
+	 *
+	 * <p>
+	 * The RDS file is parsed twice.
+	 * The first pass sniffs the class of the R model object.
+	 * The second pass decodes only those list elements that the converter class declares using the {@link ElementPaths} annotation.
+	 * </p>
+	 *
+	 * @see RExpParser#parseOutline()
+	 * @see RExpParser#parse(RExp, java.util.Collection)
+	 */
+	public Converter<RExp> newConverter(Path path) throws IOException {
+		RExp outline = parseOutline(path);
+
+		Class<? extends Converter<?>> clazz = getConverterClazz(outline);
+
+		return newConverter(clazz, parse(path, outline, clazz));
+	}
 
-		throw new RExpException("Class " + ExceptionUtil.formatNameList(classNames.getValues()) +" is not supported");
+	/**
+	 * @see #newConverter(Path)
+	 */
+	public Converter<RExp> newConverter(Class<? extends Converter<?>> clazz, Path path) throws IOException {
+		RExp outline = parseOutline(path);
+
+		return newConverter(clazz, parse(path, outline, clazz));
 	}
 
 	public <R extends RExp> Converter<R> newConverter(Class<? extends Converter<?>> clazz, R rexp){
@@ -69,11 +95,75 @@ public class ConverterFactory {
 		}
 	}
 
+	private Class<? extends Converter<?>> getConverterClazz(RExp rexp){
+		RStringVector classNames = rexp._class();
+
+		for(String className : classNames){
+			Class<? extends Converter<?>> clazz = ConverterFactory.converters.get(className);
+
+			if(clazz != null){
+				return clazz;
+			}
+		}
+
+		throw new RExpException("Class " + ExceptionUtil.formatNameList(classNames.getValues()) +" is not supported");
+	}
+
+	private RExp parseOutline(Path path) throws IOException {
+
+		try(RExpParser parser = new RExpParser(path)){
+			return parser.parseOutline();
+		}
+	}
+
+	private RExp parse(Path path, RExp outline, Class<? extends Converter<?>> clazz) throws IOException {
+
+		// The outline of a non-list R expression is the R expression itself
+		if(!(outline instanceof RGenericVector)){
+			return outline;
+		}
+
+		Set<String> paths = getElementPaths(clazz);
+
+		try(RExpParser parser = new RExpParser(path)){
+
+			if(paths != null){
+				return parser.parse(outline, paths);
+			}
+
+			return parser.parse();
+		}
+	}
+
 	static
 	public ConverterFactory newInstance(){
 		return new ConverterFactory();
 	}
 
+	/**
+	 * @return The element paths of the converter class and all its superclasses,
+	 * or <code>null</code> if the converter class is not annotated.
+	 */
+	static
+	public Set<String> getElementPaths(Class<? extends Converter<?>> clazz){
+
+		if(!clazz.isAnnotationPresent(ElementPaths.class)){
+			return null;
+		}
+
+		Set<String> result = new LinkedHashSet<>();
+
+		for(Class<?> superClazz = clazz; superClazz != null; superClazz = superClazz.getSuperclass()){
+			ElementPaths elementPaths = superClazz.getDeclaredAnnotation(ElementPaths.class);
+
+			if(elementPaths != null){
+				result.addAll(Arrays.asList(elementPaths.value()));
+			}
+		}
+
+		return result;
+	}
+
 	static
 	private void init(ClassLoader classLoader){
 		Enumeration<URL> urls;
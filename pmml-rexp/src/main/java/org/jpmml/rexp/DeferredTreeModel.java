@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-R
+ *
+ * JPMML-R is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-R is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-R.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.rexp;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.IntFunction;
+
+import org.dmg.pmml.FieldRef;
+import org.dmg.pmml.MiningSchema;
+import org.dmg.pmml.PMMLObject;
+import org.dmg.pmml.Visitor;
+import org.dmg.pmml.VisitorAction;
+import org.dmg.pmml.tree.TreeModel;
+
+/**
+ * <p>
+ * A placeholder for a tree model that is encoded on demand.
+ * </p>
+ *
+ * <p>
+ * Placeholders do not have any tree content.
+ * A {@link DeferredTreeModelListener} replaces them with real tree models while marshalling.
+ * </p>
+ *
+ * <p>
+ * The PMML document is cleaned before it is marshalled, and cleaners must be able to tell which fields are used by which models.
+ * Therefore, a placeholder declares the active fields of its tree model upfront.
+ * Visitors see them as field references after all the other content of the placeholder.
+ * Field references are not marshalled.
+ * </p>
+ *
+ * @see TreeModelConverter#setStreaming(boolean)
+ */
+public class DeferredTreeModel extends TreeModel {
+
+	private int index = -1;
+
+	private IntFunction<TreeModel> function = null;
+
+	private List<FieldRef> fieldRefs = null;
+
+	private List<Visitor> visitors = new ArrayList<>();
+
+
+	public DeferredTreeModel(int index, IntFunction<TreeModel> function, Set<String> activeFieldNames){
+		this.index = index;
+		this.function = function;
+
+		this.fieldRefs = new ArrayList<>(activeFieldNames.size());
+
+		for(String activeFieldName : activeFieldNames){
+			this.fieldRefs.add(new FieldRef(activeFieldName));
+		}
+
+		setMiningSchema(new MiningSchema());
+	}
+
+	@Override
+	public VisitorAction accept(Visitor visitor){
+		VisitorAction status = visitor.visit(this);
+
+		if(status == VisitorAction.CONTINUE){
+			visitor.pushParent(this);
+
+			if(status == VisitorAction.CONTINUE && hasExtensions()){
+				status = PMMLObject.traverse(visitor, getExtensions());
+			} // End if
+
+			if(status == VisitorAction.CONTINUE){
+				status = PMMLObject.traverse(visitor, getMiningSchema(), getOutput(), getModelStats(), getModelExplanation(), getTargets(), getLocalTransformations(), getNode(), getModelVerification());
+			} // End if
+
+			if(status == VisitorAction.CONTINUE){
+				status = PMMLObject.traverse(visitor, this.fieldRefs);
+			}
+
+			visitor.popParent();
+		} // End if
+
+		if(status == VisitorAction.TERMINATE){
+			return VisitorAction.TERMINATE;
+		}
+
+		return VisitorAction.CONTINUE;
+	}
+
+	/**
+	 * <p>
+	 * Encodes the tree model, and applies all registered visitors to it.
+	 * The mining schema and local transformations of the tree model are replaced with those of this placeholder,
+	 * because only the latter have been cleaned.
+	 * </p>
+	 *
+	 * <p>
+	 * The tree model is not cached. Every invocation encodes it anew.
+	 * </p>
+	 */
+	public TreeModel materialize(){
+		TreeModel treeModel = this.function.apply(this.index);
+
+		for(Visitor visitor : this.visitors){
+			visitor.applyTo(treeModel);
+		}
+
+		treeModel.setMiningSchema(getMiningSchema());
+		treeModel.setLocalTransformations(getLocalTransformations());
+
+		return treeModel;
+	}
+
+	public int getIndex(){
+		return this.index;
+	}
+
+	public List<Visitor> getVisitors(){
+		return this.visitors;
+	}
+
+	public DeferredTreeModel addVisitor(Visitor visitor){
+		this.visitors.add(visitor);
+
+		return this;
+	}
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-R
+ *
+ * JPMML-R is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-R is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-R.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.rexp;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import jakarta.xml.bind.Marshaller;
+import org.dmg.pmml.Model;
+import org.dmg.pmml.mining.Segment;
+
+/**
+ * <p>
+ * A marshaller listener that encodes {@link DeferredTreeModel} placeholders just before their segments are marshalled.
+ * After a segment has been marshalled, its placeholder is restored, and the encoded tree model becomes eligible for garbage collection.
+ * </p>
+ *
+ * <pre>
+ * Marshaller marshaller = context.createMarshaller();
+ * marshaller.setListener(new DeferredTreeModelListener());
+ * marshaller.marshal(pmml, os);
+ * </pre>
+ */
+public class DeferredTreeModelListener extends Marshaller.Listener {
+
+	private Map<Segment, DeferredTreeModel> placeholders = new IdentityHashMap<>();
+
+
+	@Override
+	public void beforeMarshal(Object source){
+
+		if(source instanceof Segment){
+			Segment segment = (Segment)source;
+
+			Model model = segment.getModel();
+			if(model instanceof DeferredTreeModel){
+				DeferredTreeModel deferredTreeModel = (DeferredTreeModel)model;
+
+				segment.setModel(deferredTreeModel.materialize());
+
+				this.placeholders.put(segment, deferredTreeModel);
+			}
+		}
+	}
+
+	@Override
+	public void afterMarshal(Object source){
+
+		if(source instanceof Segment){
+			Segment segment = (Segment)source;
+
+			DeferredTreeModel deferredTreeModel = this.placeholders.remove(segment);
+			if(deferredTreeModel != null){
+				segment.setModel(deferredTreeModel);
+			}
+		}
+	}
+}
@@ -20,7 +20,9 @@ package org.jpmml.rexp;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.dmg.pmml.DataField;
 import org.dmg.pmml.DataType;
@@ -120,17 +122,9 @@ public class GBMConverter extends TreeModelConverter<RGenericVector> {
 
 		RStringVector distributionName = distribution.getStringElement("name");
 
-		Schema segmentSchema = schema.toAnonymousRegressorSchema(DataType.DOUBLE);
-
-		List<TreeModel> treeModels = new ArrayList<>();
-
-		for(int i = 0; i < trees.size(); i++){
-			RGenericVector tree = trees.getGenericValue(i);
+		Schema segmentSchema = toSegmentSchema(schema.toAnonymousRegressorSchema(DataType.DOUBLE));
 
-			TreeModel treeModel = encodeTreeModel(MiningFunction.REGRESSION, tree, c_splits, segmentSchema);
-
-			treeModels.add(treeModel);
-		}
+		List<TreeModel> treeModels = encodeTreeModels(trees.size(), i -> encodeTreeModel(MiningFunction.REGRESSION, trees.getGenericValue(i), c_splits, segmentSchema), i -> selectSplitFeatures(trees.getGenericValue(i), segmentSchema));
 
 		MiningModel miningModel = encodeMiningModel(distributionName.asScalar(), treeModels, initF.asScalar(), schema);
 
@@ -209,6 +203,55 @@ public class GBMConverter extends TreeModelConverter<RGenericVector> {
 		return treeModel;
 	}
 
+	private Set<Feature> selectSplitFeatures(RGenericVector tree, Schema schema){
+		Set<Feature> result = new LinkedHashSet<>();
+
+		selectSplitFeatures(0, tree, new FlagManager(), schema, result);
+
+		return result;
+	}
+
+	/**
+	 * @see #encodeNode(int, Predicate, RGenericVector, RGenericVector, FlagManager, CategoryManager, Schema)
+	 */
+	private void selectSplitFeatures(int i, RGenericVector tree, FlagManager flagManager, Schema schema, Set<Feature> features){
+		RIntegerVector splitVar = tree.getIntegerValue(0);
+		RIntegerVector leftNode = tree.getIntegerValue(2);
+		RIntegerVector rightNode = tree.getIntegerValue(3);
+		RIntegerVector missingNode = tree.getIntegerValue(4);
+
+		int var = splitVar.getInt(i);
+		if(var == -1){
+			return;
+		}
+
+		Feature feature = schema.getFeature(var);
+
+		features.add(feature);
+
+		String name = feature.getName();
+
+		// Child nodes that contradict the missingness of an ancestor split are not encoded
+		Boolean isMissing = flagManager.getValue(name);
+
+		int missing = missingNode.getInt(i);
+		if(missing != -1 && (isMissing == null || isMissing)){
+			selectSplitFeatures(missing, tree, (isMissing == null ? flagManager.fork(name, Boolean.TRUE) : flagManager), schema, features);
+		}
+
+		FlagManager nonMissingFlagManager = (isMissing == null ? flagManager.fork(name, Boolean.FALSE) : flagManager);
+
+		int left = leftNode.getInt(i);
+		if(left != -1 && (isMissing == null || !isMissing)){
+			selectSplitFeatures(left, tree, nonMissingFlagManager, schema, features);
+		}
+
+		int right = rightNode.getInt(i);
+		if(right != -1 && (isMissing == null || !isMissing)){
+			selectSplitFeatures(right, tree, nonMissingFlagManager, schema, features);
+		}
+	}
+
 	private Node encodeNode(int i, Predicate predicate, RGenericVector tree, RGenericVector c_splits, FlagManager flagManager, CategoryManager categoryManager, Schema schema){
 		Integer id = Integer.valueOf(i + 1);
 
@@ -219,9 +262,9 @@ public class GBMConverter extends TreeModelConverter<RGenericVector> {
 		RIntegerVector missingNode = tree.getIntegerValue(4);
 		RDoubleVector prediction = tree.getDoubleValue(7);
 
-		Integer var = splitVar.getValue(i);
+		int var = splitVar.getInt(i);
 		if(var == -1){
-			Double value = prediction.getValue(i);
+			double value = prediction.getDouble(i);
 
 			Node result = new LeafNode(value, predicate)
 				.setId(id);
@@ -256,7 +299,7 @@ public class GBMConverter extends TreeModelConverter<RGenericVector> {
 		Predicate leftPredicate;
 		Predicate rightPredicate;
 
-		Double split = splitCodePred.getValue(i);
+		double split = splitCodePred.getDouble(i);
 
 		if(feature instanceof DiscreteFeature){
 			DiscreteFeature discreteFeature = (DiscreteFeature)feature;
@@ -296,21 +339,21 @@ public class GBMConverter extends TreeModelConverter<RGenericVector> {
 
 		List<Node> nodes = result.getNodes();
 
-		Integer missing = missingNode.getValue(i);
+		int missing = missingNode.getInt(i);
 		if(missing != -1 && (isMissing == null || isMissing)){
 			Node missingChild = encodeNode(missing, missingPredicate, tree, c_splits, missingFlagManager, categoryManager, schema);
 
 			nodes.add(missingChild);
 		}
 
-		Integer left = leftNode.getValue(i);
+		int left = leftNode.getInt(i);
 		if(left != -1 && (isMissing == null || !isMissing)){
 			Node leftChild = encodeNode(left, leftPredicate, tree, c_splits, nonMissingFlagManager, leftCategoryManager, schema);
 
 			nodes.add(leftChild);
 		}
 
-		Integer right = rightNode.getValue(i);
+		int right = rightNode.getInt(i);
 		if(right != -1 && (isMissing == null || !isMissing)){
 			Node rightChild = encodeNode(right, rightPredicate, tree, c_splits, nonMissingFlagManager, rightCategoryManager, schema);
 
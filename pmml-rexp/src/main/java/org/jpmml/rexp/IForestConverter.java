@@ -18,8 +18,9 @@
  */
 package org.jpmml.rexp;
 
-import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.dmg.pmml.DataField;
 import org.dmg.pmml.DataType;
@@ -40,7 +41,7 @@ import org.dmg.pmml.tree.Node;
 import org.dmg.pmml.tree.TreeModel;
 import org.jpmml.converter.ContinuousFeature;
 import org.jpmml.converter.ExpressionUtil;
-import org.jpmml.converter.FortranMatrixUtil;
+import org.jpmml.converter.Feature;
 import org.jpmml.converter.ModelUtil;
 import org.jpmml.converter.Schema;
 import org.jpmml.converter.Transformation;
@@ -103,13 +104,9 @@ public class IForestConverter extends TreeModelConverter<RGenericVector> {
 
 		Schema segmentSchema = schema.toAnonymousSchema();
 
-		List<TreeModel> treeModels = new ArrayList<>();
+		int treeCount = ValueUtil.asInt(ntree.asScalar());
 
-		for(int i = 0; i < ValueUtil.asInt(ntree.asScalar()); i++){
-			TreeModel treeModel = encodeTreeModel(i, trees, segmentSchema);
-
-			treeModels.add(treeModel);
-		}
+		List<TreeModel> treeModels = encodeTreeModels(treeCount, i -> encodeTreeModel(i, treeCount, trees, segmentSchema), i -> selectSplitFeatures(i, treeCount, trees, segmentSchema));
 
 		// "rawPathLength / avgPathLength(xrow)"
 		Transformation normalizedPathLength = new AbstractTransformation(){
@@ -151,9 +148,8 @@ public class IForestConverter extends TreeModelConverter<RGenericVector> {
 		return miningModel;
 	}
 
-	private TreeModel encodeTreeModel(int index, RGenericVector trees, Schema schema){
+	private TreeModel encodeTreeModel(int index, int treeCount, RGenericVector trees, Schema schema){
 		RIntegerVector nrnodes = trees.getIntegerElement("nrnodes");
-		RIntegerVector ntree = trees.getIntegerElement("ntree");
 		RIntegerVector nodeStatus = trees.getIntegerElement("nodeStatus");
 		RIntegerVector leftDaughter = trees.getIntegerElement("lDaughter");
 		RIntegerVector rightDaughter = trees.getIntegerElement("rDaughter");
@@ -162,18 +158,20 @@ public class IForestConverter extends TreeModelConverter<RGenericVector> {
 		RIntegerVector nSam = trees.getIntegerElement("nSam");
 
 		int rows = nrnodes.asScalar();
-		int columns = ntree.asScalar();
+
+		// Tree matrices have one column per tree. RMatrix checks that their size is exactly (nrnodes * ntree)
+		int columns = treeCount;
 
 		Node root = encodeNode(
 			0,
 			True.INSTANCE,
 			0,
-			FortranMatrixUtil.getColumn(nodeStatus.getValues(), rows, columns, index),
-			FortranMatrixUtil.getColumn(nSam.getValues(), rows, columns, index),
-			FortranMatrixUtil.getColumn(leftDaughter.getValues(), rows, columns, index),
-			FortranMatrixUtil.getColumn(rightDaughter.getValues(), rows, columns, index),
-			FortranMatrixUtil.getColumn(splitAtt.getValues(), rows, columns, index),
-			FortranMatrixUtil.getColumn(splitPoint.getValues(), rows, columns, index),
+			new RMatrix<>(nodeStatus, rows, columns).column(index),
+			new RMatrix<>(nSam, rows, columns).column(index),
+			new RMatrix<>(leftDaughter, rows, columns).column(index),
+			new RMatrix<>(rightDaughter, rows, columns).column(index),
+			new RMatrix<>(splitAtt, rows, columns).column(index),
+			new RMatrix<>(splitPoint, rows, columns).column(index),
 			schema
 		);
 
@@ -183,25 +181,50 @@ public class IForestConverter extends TreeModelConverter<RGenericVector> {
 		return treeModel;
 	}
 
-	private Node encodeNode(int index, Predicate predicate, int depth, List<Integer> nodeStatus, List<Integer> nodeSize, List<Integer> leftDaughter, List<Integer> rightDaughter, List<Integer> splitAtt, List<Double> splitValue, Schema schema){
+	private Set<Feature> selectSplitFeatures(int index, int treeCount, RGenericVector trees, Schema schema){
+		RIntegerVector nrnodes = trees.getIntegerElement("nrnodes");
+		RIntegerVector nodeStatus = trees.getIntegerElement("nodeStatus");
+		RIntegerVector splitAtt = trees.getIntegerElement("splitAtt");
+
+		int rows = nrnodes.asScalar();
+		int columns = treeCount;
+
+		RNumberVector<Integer> nodeStatusColumn = new RMatrix<>(nodeStatus, rows, columns).column(index);
+		RNumberVector<Integer> splitAttColumn = new RMatrix<>(splitAtt, rows, columns).column(index);
+
+		Set<Feature> result = new LinkedHashSet<>();
+
+		// Interior nodes are reachable
+		for(int i = 0; i < rows; i++){
+			int status = nodeStatusColumn.getInt(i);
+
+			if(status == -3){
+				result.add(schema.getFeature(splitAttColumn.getInt(i) - 1));
+			}
+		}
+
+		return result;
+	}
+
+	private Node encodeNode(int index, Predicate predicate, int depth, RNumberVector<Integer> nodeStatus, RNumberVector<Integer> nodeSize, RNumberVector<Integer> leftDaughter, RNumberVector<Integer> rightDaughter, RNumberVector<Integer> splitAtt, RNumberVector<Double> splitValue, Schema schema){
 		Integer id = Integer.valueOf(index + 1);
 
-		int status = nodeStatus.get(index);
-		int size = nodeSize.get(index);
+		int status = nodeStatus.getInt(index);
+		int size = nodeSize.getInt(index);
 
 		// Interior node
 		if(status == -3){
-			int att = splitAtt.get(index);
+			int att = splitAtt.getInt(index);
 
 			ContinuousFeature feature = (ContinuousFeature)schema.getFeature(att - 1);
 
-			Double value = splitValue.get(index);
+			double value = splitValue.getDouble(index);
 
 			Predicate leftPredicate = createSimplePredicate(feature, SimplePredicate.Operator.LESS_THAN, value);
 			Predicate rightPredicate = createSimplePredicate(feature, SimplePredicate.Operator.GREATER_OR_EQUAL, value);
 
-			Node leftChild = encodeNode(leftDaughter.get(index) - 1, leftPredicate, depth + 1, nodeStatus, nodeSize, leftDaughter, rightDaughter, splitAtt, splitValue, schema);
-			Node rightChild = encodeNode(rightDaughter.get(index) - 1, rightPredicate, depth + 1, nodeStatus, nodeSize, leftDaughter, rightDaughter, splitAtt, splitValue, schema);
+			Node leftChild = encodeNode(leftDaughter.getInt(index) - 1, leftPredicate, depth + 1, nodeStatus, nodeSize, leftDaughter, rightDaughter, splitAtt, splitValue, schema);
+			Node rightChild = encodeNode(rightDaughter.getInt(index) - 1, rightPredicate, depth + 1, nodeStatus, nodeSize, leftDaughter, rightDaughter, splitAtt, splitValue, schema);
 
 			Node result = new BranchNode(null, predicate)
 				.setId(id)
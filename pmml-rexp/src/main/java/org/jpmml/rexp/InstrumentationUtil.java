@@ -0,0 +1,263 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-R
+ *
+ * JPMML-R is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-R is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-R.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.rexp;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+public class InstrumentationUtil {
+
+	private InstrumentationUtil(){
+	}
+
+	static
+	public void measure(ConversionListener listener, String stage, Runnable runnable){
+		measure(listener, stage, () -> {
+			runnable.run();
+
+			return null;
+		});
+	}
+
+	/**
+	 * <p>
+	 * Runs the supplier, and reports its elapsed time, allocated bytes and peak heap usage to the listener.
+	 * Nothing is reported if the supplier fails.
+	 * </p>
+	 *
+	 * @param listener The listener, or <code>null</code>.
+	 */
+	static
+	public <V> V measure(ConversionListener listener, String stage, Supplier<V> supplier){
+		Measurement measurement = begin(listener, stage);
+
+		V result;
+
+		try {
+			result = supplier.get();
+		} catch(RuntimeException | Error e){
+			measurement.cancel();
+
+			throw e;
+		}
+
+		measurement.end();
+
+		return result;
+	}
+
+	/**
+	 * <p>
+	 * Begins measuring a stage, which is ended by the {@link Measurement#end()} method.
+	 * </p>
+	 *
+	 * @param listener The listener, or <code>null</code>.
+	 */
+	static
+	public Measurement begin(ConversionListener listener, String stage){
+
+		if(listener == null){
+			return Measurement.NONE;
+		}
+
+		Measurement parent = InstrumentationUtil.currentMeasurement.get();
+
+		// Resetting the peak usage of heap memory pools would erase the peak usage of the enclosing stage so far
+		if(parent != null){
+			parent.updatePeakHeapBytes();
+		}
+
+		resetPeakHeapBytes();
+
+		Measurement measurement = new Measurement(parent, listener, stage);
+
+		InstrumentationUtil.currentMeasurement.set(measurement);
+
+		return measurement;
+	}
+
+	/**
+	 * @return The number of bytes allocated by the current thread so far, or <code>-1</code>.
+	 */
+	static
+	public long getAllocatedBytes(){
+
+		if(InstrumentationUtil.threadMXBean == null){
+			return -1L;
+		}
+
+		try {
+			return InstrumentationUtil.threadMXBean.getThreadAllocatedBytes((Thread.currentThread()).getId());
+		} catch(UnsupportedOperationException uoe){
+			return -1L;
+		}
+	}
+
+	/**
+	 * <p>
+	 * Heap memory pools are shared by all threads.
+	 * The peak usage of each pool is reached at a different time, which makes the sum of peak usages an upper bound.
+	 * </p>
+	 *
+	 * @return The sum of the peak usages of heap memory pools since the last reset, or <code>-1</code>.
+	 */
+	static
+	public long getPeakHeapBytes(){
+		List<MemoryPoolMXBean> memoryPools = InstrumentationUtil.heapMemoryPools;
+
+		if(memoryPools.isEmpty()){
+			return -1L;
+		}
+
+		long result = 0L;
+
+		for(MemoryPoolMXBean memoryPool : memoryPools){
+			MemoryUsage memoryUsage = memoryPool.getPeakUsage();
+
+			if(memoryUsage == null){
+				return -1L;
+			}
+
+			result += memoryUsage.getUsed();
+		}
+
+		return result;
+	}
+
+	static
+	public void resetPeakHeapBytes(){
+		List<MemoryPoolMXBean> memoryPools = InstrumentationUtil.heapMemoryPools;
+
+		for(MemoryPoolMXBean memoryPool : memoryPools){
+			memoryPool.resetPeakUsage();
+		}
+	}
+
+	static
+	public class Measurement {
+
+		private Measurement parent = null;
+
+		private ConversionListener listener = null;
+
+		private String stage = null;
+
+		private long begin = 0L;
+
+		private long beginBytes = -1L;
+
+		private long peakHeapBytes = -1L;
+
+
+		private Measurement(Measurement parent, ConversionListener listener, String stage){
+			this.parent = parent;
+			this.listener = listener;
+			this.stage = stage;
+
+			this.beginBytes = getAllocatedBytes();
+			this.begin = System.nanoTime();
+		}
+
+		/**
+		 * <p>
+		 * Ends measuring the stage, and reports it to the listener.
+		 * </p>
+		 */
+		public void end(){
+
+			if(this.listener == null){
+				return;
+			}
+
+			long end = System.nanoTime();
+			long endBytes = getAllocatedBytes();
+
+			updatePeakHeapBytes();
+
+			InstrumentationUtil.currentMeasurement.set(this.parent);
+
+			this.listener.stageCompleted(this.stage, (end - this.begin), (this.beginBytes >= 0 && endBytes >= 0) ? (endBytes - this.beginBytes) : -1L, this.peakHeapBytes);
+		}
+
+		/**
+		 * <p>
+		 * Ends measuring the stage without reporting it.
+		 * </p>
+		 */
+		public void cancel(){
+
+			if(this.listener == null){
+				return;
+			}
+
+			InstrumentationUtil.currentMeasurement.set(this.parent);
+		}
+
+		private void updatePeakHeapBytes(){
+			long peakHeapBytes = getPeakHeapBytes();
+
+			if(peakHeapBytes >= 0){
+				this.peakHeapBytes = Math.max(this.peakHeapBytes, peakHeapBytes);
+			}
+		}
+
+		private static final Measurement NONE = new Measurement(null, null, null);
+	}
+
+	static
+	private com.sun.management.ThreadMXBean loadThreadMXBean(){
+
+		try {
+			ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+
+			if(threadMXBean instanceof com.sun.management.ThreadMXBean){
+				com.sun.management.ThreadMXBean result = (com.sun.management.ThreadMXBean)threadMXBean;
+
+				if(result.isThreadAllocatedMemorySupported() && result.isThreadAllocatedMemoryEnabled()){
+					return result;
+				}
+			}
+		} catch(LinkageError le){
+			// Ignored
+		}
+
+		return null;
+	}
+
+	static
+	private List<MemoryPoolMXBean> loadHeapMemoryPools(){
+		List<MemoryPoolMXBean> memoryPools = ManagementFactory.getMemoryPoolMXBeans();
+
+		return memoryPools.stream()
+			.filter(memoryPool -> (memoryPool.getType() == MemoryType.HEAP) && memoryPool.isValid())
+			.collect(Collectors.toList());
+	}
+
+	private static final ThreadLocal<Measurement> currentMeasurement = new ThreadLocal<>();
+
+	private static final com.sun.management.ThreadMXBean threadMXBean = loadThreadMXBean();
+
+	private static final List<MemoryPoolMXBean> heapMemoryPools = loadHeapMemoryPools();
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-R
+ *
+ * JPMML-R is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-R is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-R.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.rexp;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * An open-addressing hash index from integer values to their offsets.
+ * </p>
+ *
+ * <p>
+ * If the same value occurs multiple times, then the index maps it to the offset of the first occurrence.
+ * </p>
+ */
+class IntIndex {
+
+	private int[] keys = null;
+
+	private int[] offsets = null;
+
+	private int mask = 0;
+
+
+	IntIndex(RIntegerVector values){
+		int size = values.size();
+
+		int capacity = Integer.highestOneBit(Math.max(size, 1) * 2);
+		if(capacity < (size * 2)){
+			capacity <<= 1;
+		}
+
+		this.keys = new int[capacity];
+		this.offsets = new int[capacity];
+		this.mask = (capacity - 1);
+
+		Arrays.fill(this.offsets, -1);
+
+		for(int i = 0; i < size; i++){
+			int value = values.getInt(i);
+
+			int slot = slot(value);
+
+			while(this.offsets[slot] != -1){
+
+				if(this.keys[slot] == value){
+					break;
+				}
+
+				slot = (slot + 1) & this.mask;
+			}
+
+			if(this.offsets[slot] == -1){
+				this.keys[slot] = value;
+				this.offsets[slot] = i;
+			}
+		}
+	}
+
+	/**
+	 * @return The offset of the value, or <code>-1</code>.
+	 */
+	public int indexOf(int value){
+		int slot = slot(value);
+
+		while(this.offsets[slot] != -1){
+
+			if(this.keys[slot] == value){
+				return this.offsets[slot];
+			}
+
+			slot = (slot + 1) & this.mask;
+		}
+
+		return -1;
+	}
+
+	private int slot(int value){
+		int hash = value * 0x9E3779B9;
+
+		return (hash ^ (hash >>> 16)) & this.mask;
+	}
+}
@@ -37,6 +37,7 @@ import org.jpmml.converter.ModelUtil;
 import org.jpmml.converter.ScalarLabel;
 import org.jpmml.converter.Schema;
 
+@ElementPaths({"verification"})
 abstract
 public class ModelConverter<R extends RExp> extends Converter<R> {
 
@@ -51,20 +52,26 @@ public class ModelConverter<R extends RExp> extends Converter<R> {
 	public Model encodeModel(Schema schema);
 
 	public Model encode(Schema schema){
-		Model model = encodeModel(schema);
+		ModelEncoder encoder = schema.getEncoder();
+
+		ConversionListener conversionListener = (encoder instanceof RExpEncoder) ? ((RExpEncoder)encoder).getConversionListener() : null;
+
+		Model model = InstrumentationUtil.measure(conversionListener, "encodeModel", () -> encodeModel(schema));
 
 		if(this instanceof HasFeatureImportances){
 			HasFeatureImportances hasFeatureImportances = (HasFeatureImportances)this;
 
+			InstrumentationUtil.Measurement measurement = InstrumentationUtil.begin(conversionListener, "encodeFeatureImportances");
+
 			FeatureImportanceMap featureImportances = hasFeatureImportances.getFeatureImportances(schema);
 			if(featureImportances != null && !featureImportances.isEmpty()){
-				ModelEncoder encoder = schema.getEncoder();
-
 				Collection<Map.Entry<Feature, Number>> entries = featureImportances.entrySet();
 				for(Map.Entry<Feature, Number> entry : entries){
 					encoder.addFeatureImportance(model, entry.getKey(), entry.getValue());
 				}
 			}
+
+			measurement.end();
 		}
 
 		return model;
@@ -88,7 +95,9 @@ public class ModelConverter<R extends RExp> extends Converter<R> {
 			verification = model.getGenericElement("verification", false);
 		}
 
-		encodeSchema(encoder);
+		ConversionListener conversionListener = encoder.getConversionListener();
+
+		InstrumentationUtil.measure(conversionListener, "encodeSchema", () -> encodeSchema(encoder));
 
 		Schema schema = encoder.createSchema();
 
@@ -96,6 +105,8 @@ public class ModelConverter<R extends RExp> extends Converter<R> {
 
 		verification:
 		if(verification != null){
+			InstrumentationUtil.Measurement measurement = InstrumentationUtil.begin(conversionListener, "verification");
+
 			RDoubleVector precision = verification.getDoubleElement("precision");
 			RDoubleVector zeroThreshold = verification.getDoubleElement("zeroThreshold");
 
@@ -131,13 +142,17 @@ public class ModelConverter<R extends RExp> extends Converter<R> {
 			} else
 
 			{
+				measurement.end();
+
 				break verification;
 			}
 
 			model.setModelVerification(ModelUtil.createModelVerification(data));
+
+			measurement.end();
 		}
 
-		PMML pmml = encoder.encodePMML(model);
+		PMML pmml = InstrumentationUtil.measure(conversionListener, "encodePMML", () -> encoder.encodePMML(model));
 
 		return pmml;
 	}
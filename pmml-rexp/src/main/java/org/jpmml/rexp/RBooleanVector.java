@@ -19,6 +19,7 @@
 package org.jpmml.rexp;
 
 import java.io.IOException;
+import java.nio.IntBuffer;
 import java.util.Collections;
 import java.util.List;
 
@@ -96,6 +97,20 @@ public class RBooleanVector extends RVector<Boolean> {
 		return Boolean.valueOf(value == 1);
 	}
 
+	/**
+	 * @return The value as a primitive <code>int</code> (<code>0</code> or <code>1</code>), or {@link Integer#MIN_VALUE} if it is <code>NA</code>.
+	 */
+	public int getInt(int index){
+		return this.values[index];
+	}
+
+	/**
+	 * @return A read-only view of values.
+	 */
+	public IntBuffer asIntBuffer(){
+		return (IntBuffer.wrap(this.values)).asReadOnlyBuffer();
+	}
+
 	@Override
 	public List<Boolean> getValues(){
 		Function<Integer, Boolean> function = new Function<Integer, Boolean>(){
@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-R
+ *
+ * JPMML-R is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-R is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-R.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.rexp;
+
+import java.io.IOException;
+import java.nio.DoubleBuffer;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * <p>
+ * A double vector whose values are stored in a sequence of equally-sized buffers (chunks).
+ * </p>
+ *
+ * <p>
+ * R long vectors may contain more than {@link Integer#MAX_VALUE} values.
+ * Such vectors do not fit into a single Java array or buffer, and must be accessed using {@link #longSize()}, {@link #getDouble(long)} and {@link #getInt(long)}.
+ * The <code>int</code>-based accessors throw an {@link RExpException} if the vector is too long.
+ * </p>
+ */
+public class RChunkedDoubleVector extends RDoubleVector {
+
+	private DoubleBuffer[] chunks = null;
+
+	private int chunkShift = 0;
+
+	private long length = 0L;
+
+
+	/**
+	 * @param chunks Buffers of values.
+	 * All buffers except the last one must have the same size, which must be a power of two.
+	 */
+	public RChunkedDoubleVector(DoubleBuffer[] chunks, RPair attributes){
+		super((DoubleBuffer)null, attributes);
+
+		this.chunks = chunks;
+		this.chunkShift = ChunkUtil.checkChunks(chunks);
+		this.length = ChunkUtil.sumChunks(chunks);
+	}
+
+	@Override
+	void writeValues(RDataOutput output) throws IOException {
+		SerializationUtil.writeLength(output, this.length);
+
+		for(DoubleBuffer chunk : this.chunks){
+
+			for(int i = 0, max = chunk.limit(); i < max; i++){
+				output.writeDouble(chunk.get(i));
+			}
+		}
+	}
+
+	@Override
+	public int size(){
+		return ChunkUtil.toIntSize(this.length);
+	}
+
+	@Override
+	public long longSize(){
+		return this.length;
+	}
+
+	@Override
+	public Double getValue(int index){
+		return getDouble((long)index);
+	}
+
+	@Override
+	public int getInt(int index){
+		return getInt((long)index);
+	}
+
+	/**
+	 * @throws RExpException If the value is not a mathematical integer.
+	 */
+	@Override
+	public int getInt(long index){
+		double value = getDouble(index);
+
+		if(Double.isNaN(value)){
+			return Integer.MIN_VALUE;
+		}
+
+		int intValue = (int)value;
+		if(intValue != value){
+			throw new RExpException("Expected integer value, got " + value);
+		}
+
+		return intValue;
+	}
+
+	@Override
+	public double getDouble(int index){
+		return getDouble((long)index);
+	}
+
+	@Override
+	public double getDouble(long index){
+		ChunkUtil.checkIndex(index, this.length);
+
+		DoubleBuffer chunk = this.chunks[(int)(index >>> this.chunkShift)];
+
+		return chunk.get((int)(index & ((1L << this.chunkShift) - 1)));
+	}
+
+	@Override
+	public RDoubleVector slice(int offset, int length){
+		ChunkUtil.checkFromIndexSize(offset, length, this.length);
+
+		double[] values = new double[length];
+
+		for(int i = 0; i < length; i++){
+			values[i] = getDouble((long)offset + i);
+		}
+
+		return new RDoubleVector(values, null);
+	}
+
+	/**
+	 * @return A read-only copy of values.
+	 */
+	@Override
+	public DoubleBuffer asDoubleBuffer(){
+		int size = size();
+
+		return (slice(0, size)).asDoubleBuffer();
+	}
+
+	@Override
+	public List<Double> getValues(){
+		int size = size();
+
+		return new ChunkList(size);
+	}
+
+	/**
+	 * @return Read-only views of chunks.
+	 */
+	public DoubleBuffer[] getChunks(){
+		DoubleBuffer[] result = new DoubleBuffer[this.chunks.length];
+
+		for(int i = 0; i < result.length; i++){
+			result[i] = (this.chunks[i]).asReadOnlyBuffer();
+		}
+
+		return result;
+	}
+
+	private class ChunkList extends AbstractList<Double> implements RandomAccess {
+
+		private int size = 0;
+
+
+		private ChunkList(int size){
+			this.size = size;
+		}
+
+		@Override
+		public int size(){
+			return this.size;
+		}
+
+		@Override
+		public Double get(int index){
+			return RChunkedDoubleVector.this.getValue(index);
+		}
+	}
+}
@@ -20,6 +20,9 @@ package org.jpmml.rexp;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
 
 public interface RDataInput extends Closeable {
 
@@ -30,4 +33,91 @@ public interface RDataInput extends Closeable {
 	double readDouble() throws IOException;
 
 	byte[] readByteArray(int length) throws IOException;
+
+	default
+	void readBytes(byte[] bytes, int offset, int length) throws IOException {
+		byte[] buffer = readByteArray(length);
+
+		System.arraycopy(buffer, 0, bytes, offset, length);
+	}
+
+	default
+	void readInts(int[] values, int offset, int length) throws IOException {
+
+		for(int i = 0; i < length; i++){
+			values[offset + i] = readInt();
+		}
+	}
+
+	default
+	void readDoubles(double[] values, int offset, int length) throws IOException {
+
+		for(int i = 0; i < length; i++){
+			values[offset + i] = readDouble();
+		}
+	}
+
+	default
+	ByteBuffer readByteBuffer(int length) throws IOException {
+		byte[] bytes = readByteArray(length);
+
+		return ByteBuffer.wrap(bytes);
+	}
+
+	default
+	IntBuffer readIntBuffer(int length) throws IOException {
+		int[] values = new int[length];
+
+		readInts(values, 0, length);
+
+		return IntBuffer.wrap(values);
+	}
+
+	default
+	DoubleBuffer readDoubleBuffer(int length) throws IOException {
+		double[] values = new double[length];
+
+		readDoubles(values, 0, length);
+
+		return DoubleBuffer.wrap(values);
+	}
+
+	default
+	void skipInts(int length) throws IOException {
+
+		for(int i = 0; i < length; i++){
+			readInt();
+		}
+	}
+
+	default
+	void skipDoubles(int length) throws IOException {
+
+		for(int i = 0; i < length; i++){
+			readDouble();
+		}
+	}
+
+	default
+	void skipByteArray(int length) throws IOException {
+		readByteArray(length);
+	}
+
+	/**
+	 * @return <code>true</code> if the input supports random access, <code>false</code> otherwise.
+	 */
+	default
+	boolean isSeekable(){
+		return false;
+	}
+
+	default
+	long getPosition(){
+		throw new UnsupportedOperationException();
+	}
+
+	default
+	void setPosition(long position){
+		throw new UnsupportedOperationException();
+	}
 }
\ No newline at end of file
@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-R
+ *
+ * JPMML-R is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-R is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-R.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.rexp;
+
+import java.io.IOException;
+import java.nio.DoubleBuffer;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * <p>
+ * A double vector that represents an arithmetic sequence in constant memory.
+ * </p>
+ *
+ * <p>
+ * Corresponds to the <code>compact_realseq</code> ALTREP class.
+ * Values are computed on demand, and are only materialized when the vector is serialized,
+ * or when its values are requested as a buffer.
+ * </p>
+ */
+public class RDoubleSequence extends RDoubleVector {
+
+	private int length = 0;
+
+	private double start = 0d;
+
+	private double step = 0d;
+
+
+	public RDoubleSequence(int length, double start, double step, RPair attributes){
+		super((DoubleBuffer)null, attributes);
+
+		if(length < 0){
+			throw new IllegalArgumentException();
+		}
+
+		this.length = length;
+		this.start = start;
+		this.step = step;
+	}
+
+	@Override
+	void writeValues(RDataOutput output) throws IOException {
+		int length = this.length;
+
+		output.writeInt(length);
+
+		for(int i = 0; i < length; i++){
+			output.writeDouble(getDouble(i));
+		}
+	}
+
+	@Override
+	public int size(){
+		return this.length;
+	}
+
+	@Override
+	public Double getValue(int index){
+		return getDouble(index);
+	}
+
+	/**
+	 * @throws RExpException If the value is not a mathematical integer.
+	 */
+	@Override
+	public int getInt(int index){
+		double value = getDouble(index);
+
+		int intValue = (int)value;
+		if(intValue != value){
+			throw new RExpException("Expected integer value, got " + value);
+		}
+
+		return intValue;
+	}
+
+	@Override
+	public double getDouble(int index){
+		Objects.checkIndex(index, this.length);
+
+		return this.start + index * this.step;
+	}
+
+	@Override
+	public RDoubleSequence slice(int offset, int length){
+		Objects.checkFromIndexSize(offset, length, this.length);
+
+		return new RDoubleSequence(length, this.start + offset * this.step, this.step, null);
+	}
+
+	/**
+	 * @return A read-only view of materialized values.
+	 */
+	@Override
+	public DoubleBuffer asDoubleBuffer(){
+		double[] values = new double[this.length];
+
+		for(int i = 0; i < values.length; i++){
+			values[i] = this.start + i * this.step;
+		}
+
+		return (DoubleBuffer.wrap(values)).asReadOnlyBuffer();
+	}
+
+	@Override
+	public List<Double> getValues(){
+		return new SequenceList();
+	}
+
+	public double getStart(){
+		return this.start;
+	}
+
+	public double getStep(){
+		return this.step;
+	}
+
+	private class SequenceList extends AbstractList<Double> implements RandomAccess {
+
+		@Override
+		public int size(){
+			return RDoubleSequence.this.size();
+		}
+
+		@Override
+		public Double get(int index){
+			return RDoubleSequence.this.getValue(index);
+		}
+	}
+}
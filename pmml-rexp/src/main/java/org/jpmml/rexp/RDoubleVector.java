@@ -19,15 +19,17 @@
 package org.jpmml.rexp;
 
 import java.io.IOException;
+import java.nio.DoubleBuffer;
+import java.util.AbstractList;
 import java.util.Collections;
 import java.util.List;
+import java.util.RandomAccess;
 
-import com.google.common.primitives.Doubles;
 import org.dmg.pmml.DataType;
 
 public class RDoubleVector extends RNumberVector<Double> {
 
-	private double[] values = null;
+	private DoubleBuffer values = null;
 
 
 	public RDoubleVector(Number value, RPair attributes){
@@ -37,7 +39,7 @@ public class RDoubleVector extends RNumberVector<Double> {
 	public RDoubleVector(List<Number> values, RPair attributes){
 		super(attributes);
 
-		this.values = values.stream()
+		double[] doubleValues = values.stream()
 			.mapToDouble(value -> {
 
 				if(value == null){
@@ -47,9 +49,19 @@ public class RDoubleVector extends RNumberVector<Double> {
 				return value.doubleValue();
 			})
 			.toArray();
+
+		this.values = DoubleBuffer.wrap(doubleValues);
 	}
 
 	public RDoubleVector(double[] values, RPair attributes){
+		this(DoubleBuffer.wrap(values), attributes);
+	}
+
+	/**
+	 * @param values A buffer of values.
+	 * The buffer may be a view over memory that is not managed by the JVM heap (eg. a memory-mapped file region).
+	 */
+	public RDoubleVector(DoubleBuffer values, RPair attributes){
 		super(attributes);
 
 		this.values = values;
@@ -62,14 +74,14 @@ public class RDoubleVector extends RNumberVector<Double> {
 
 	@Override
 	void writeValues(RDataOutput output) throws IOException {
-		double[] values = this.values;
+		DoubleBuffer values = this.values;
 
-		int length = values.length;
+		int length = values.limit();
 
 		output.writeInt(length);
 
 		for(int i = 0; i < length; i++){
-			output.writeDouble(values[i]);
+			output.writeDouble(values.get(i));
 		}
 	}
 
@@ -80,18 +92,75 @@ public class RDoubleVector extends RNumberVector<Double> {
 
 	@Override
 	public int size(){
-		return this.values.length;
+		return this.values.limit();
 	}
 
 	@Override
 	public Double getValue(int index){
-		return this.values[index];
+		return this.values.get(index);
+	}
+
+	/**
+	 * @throws RExpException If the value is not a mathematical integer.
+	 */
+	@Override
+	public int getInt(int index){
+		double value = this.values.get(index);
+
+		if(Double.isNaN(value)){
+			return Integer.MIN_VALUE;
+		}
+
+		int intValue = (int)value;
+		if(intValue != value){
+			throw new RExpException("Expected integer value, got " + value);
+		}
+
+		return intValue;
+	}
+
+	@Override
+	public double getDouble(int index){
+		return this.values.get(index);
 	}
 
+	@Override
+	public RDoubleVector slice(int offset, int length){
+		DoubleBuffer values = this.values.duplicate();
+
+		values.limit(offset + length);
+		values.position(offset);
+
+		return new RDoubleVector(values.slice(), null);
+	}
+
+	/**
+	 * @return A read-only view of values.
+	 */
+	public DoubleBuffer asDoubleBuffer(){
+		return this.values.asReadOnlyBuffer();
+	}
+
+	/**
+	 * @return A read-only view of values.
+	 */
 	@Override
 	public List<Double> getValues(){
-		return Doubles.asList(this.values);
+		return new ValueList();
 	}
 
 	public static final RDoubleVector EMPTY = new RDoubleVector(new double[0], null);
-}
\ No newline at end of file
+
+	private class ValueList extends AbstractList<Double> implements RandomAccess {
+
+		@Override
+		public int size(){
+			return RDoubleVector.this.size();
+		}
+
+		@Override
+		public Double get(int index){
+			return RDoubleVector.this.getValue(index);
+		}
+	}
+}
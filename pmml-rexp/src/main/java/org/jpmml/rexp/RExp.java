@@ -19,6 +19,8 @@
 package org.jpmml.rexp;
 
 import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
 
 import org.jpmml.converter.ExceptionUtil;
 
@@ -27,6 +29,8 @@ public class RExp {
 
 	private RPair attributes = null;
 
+	private volatile Map<String, RPair> attributeMap = null;
+
 
 	public RExp(RPair attributes){
 		setAttributes(attributes);
@@ -114,31 +118,18 @@ public class RExp {
 	}
 
 	public boolean hasAttribute(String name){
-		RPair attributes = getAttributes();
-
-		while(attributes != null){
-
-			if(attributes.tagEquals(name)){
-				return true;
-			}
-
-			attributes = attributes.getNext();
-		}
+		Map<String, RPair> attributeMap = getAttributeMap();
 
-		return false;
+		return attributeMap.containsKey(name);
 	}
 
 	private RExp findAttribute(String name, boolean required){
-		RPair attributes = getAttributes();
-
-		while(attributes != null){
+		Map<String, RPair> attributeMap = getAttributeMap();
 
-			if(attributes.tagEquals(name)){
-				return attributes.getValue();
-			}
-
-			attributes = attributes.getNext();
-		}
+		RPair attribute = attributeMap.get(name);
+		if(attribute != null){
+			return attribute.getValue();
+		} // End if
 
 		if(required){
 			throw new RExpException("Missing " + ExceptionUtil.formatName(name) + " attribute");
@@ -171,6 +162,8 @@ public class RExp {
 		}
 
 		attributes.setNext(pair);
+
+		this.attributeMap = null;
 	}
 
 	public RPair getAttributes(){
@@ -179,5 +172,36 @@ public class RExp {
 
 	void setAttributes(RPair attributes){
 		this.attributes = attributes;
+
+		this.attributeMap = null;
+	}
+
+	/**
+	 * <p>
+	 * Maps attribute names to attributes.
+	 * The map is built on first access, and discarded whenever attributes are added or replaced.
+	 * </p>
+	 */
+	private Map<String, RPair> getAttributeMap(){
+		Map<String, RPair> attributeMap = this.attributeMap;
+
+		if(attributeMap == null){
+			attributeMap = new HashMap<>();
+
+			RPair attributes = getAttributes();
+
+			while(attributes != null){
+				RString tag = (RString)attributes.getTag();
+
+				// The first attribute wins
+				attributeMap.putIfAbsent(tag != null ? tag.getValue() : null, attributes);
+
+				attributes = attributes.getNext();
+			}
+
+			this.attributeMap = attributeMap;
+		}
+
+		return attributeMap;
 	}
 }
\ No newline at end of file
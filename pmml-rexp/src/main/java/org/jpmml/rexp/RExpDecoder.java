@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-R
+ *
+ * JPMML-R is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-R is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-R.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.rexp;
+
+import java.io.IOException;
+
+/**
+ * <p>
+ * The common part of all decoders of the R serialization format.
+ * </p>
+ *
+ * <p>
+ * This class decodes the type of the next R expression from its flags, and dispatches to the corresponding <code>read</code> method.
+ * Subclasses decide what is done with the contents of the R expression.
+ * </p>
+ *
+ * @param <E> The result of decoding an R expression.
+ *
+ * @see RExpParser
+ * @see RExpEventReader
+ */
+abstract
+class RExpDecoder<E> {
+
+	RDataInput input = null;
+
+
+	abstract
+	E readSymbol() throws IOException;
+
+	abstract
+	E readPairList(int flags) throws IOException;
+
+	abstract
+	E readClosure(int flags) throws IOException;
+
+	abstract
+	E readEnvironment(int flags) throws IOException;
+
+	abstract
+	E readPromise(int flags) throws IOException;
+
+	abstract
+	E readFunctionCall(int flags) throws IOException;
+
+	abstract
+	E readString(int flags) throws IOException;
+
+	abstract
+	E readLogicalVector(int flags) throws IOException;
+
+	abstract
+	E readIntVector(int flags) throws IOException;
+
+	abstract
+	E readRealVector(int flags) throws IOException;
+
+	abstract
+	E readStringVector(int flags) throws IOException;
+
+	abstract
+	E readEllipsis(int flags) throws IOException;
+
+	abstract
+	E readVector(int flags) throws IOException;
+
+	abstract
+	E readBytecode(int flags) throws IOException;
+
+	abstract
+	E readExternalPointer(int flags) throws IOException;
+
+	abstract
+	E readRaw(int flags) throws IOException;
+
+	abstract
+	E readS4Object(int flags) throws IOException;
+
+	abstract
+	E readAltrep(int flags) throws IOException;
+
+	abstract
+	E readNamespace(int flags) throws IOException;
+
+	abstract
+	E readReference(int flags) throws IOException;
+
+	/**
+	 * @param type A singleton type such as {@link SerializationTypes#NILVALUESXP} or {@link SerializationTypes#GLOBALENVSXP}.
+	 */
+	abstract
+	E readSpecial(int type) throws IOException;
+
+	E readRExp() throws IOException {
+		return readRExp(readInt());
+	}
+
+	E readRExp(int flags) throws IOException {
+		int type = SerializationUtil.decodeType(flags);
+		switch(type){
+			case SExpTypes.SYMSXP:
+				return readSymbol();
+			case SExpTypes.LISTSXP:
+				return readPairList(flags);
+			case SExpTypes.CLOSXP:
+				return readClosure(flags);
+			case SExpTypes.ENVSXP:
+				return readEnvironment(flags);
+			case SExpTypes.PROMSXP:
+				return readPromise(flags);
+			case SExpTypes.LANGSXP:
+				return readFunctionCall(flags);
+			case SExpTypes.CHARSXP:
+				return readString(flags);
+			case SExpTypes.LGLSXP:
+				return readLogicalVector(flags);
+			case SExpTypes.INTSXP:
+				return readIntVector(flags);
+			case SExpTypes.REALSXP:
+				return readRealVector(flags);
+			case SExpTypes.STRSXP:
+				return readStringVector(flags);
+			case SExpTypes.DOTSXP:
+				return readEllipsis(flags);
+			case SExpTypes.VECSXP:
+			case SExpTypes.EXPRSXP:
+				return readVector(flags);
+			case SExpTypes.BCODESXP:
+				return readBytecode(flags);
+			case SExpTypes.EXTPTRSXP:
+				return readExternalPointer(flags);
+			case SExpTypes.RAWSXP:
+				return readRaw(flags);
+			case SExpTypes.S4SXP:
+				return readS4Object(flags);
+			case SerializationTypes.ALTREP_SXP:
+				return readAltrep(flags);
+			case SerializationTypes.NAMESPACESXP:
+				return readNamespace(flags);
+			case SerializationTypes.REFSXP:
+				return readReference(flags);
+			case SerializationTypes.BASEENVSXP:
+			case SerializationTypes.EMPTYENVSXP:
+			case SerializationTypes.BASENAMESPACESXP:
+			case SerializationTypes.MISSINGARGSXP:
+			case SerializationTypes.UNBOUNDVALUESXP:
+			case SerializationTypes.GLOBALENVSXP:
+			case SerializationTypes.NILVALUESXP:
+				return readSpecial(type);
+			default:
+				throw new UnsupportedOperationException(String.valueOf(type));
+		}
+	}
+
+	int readInt() throws IOException {
+		return this.input.readInt();
+	}
+
+	long readLength() throws IOException {
+		return SerializationUtil.readLength(this.input);
+	}
+
+	/**
+	 * @throws RExpException If the vector is a long vector.
+	 */
+	int readShortLength(int flags) throws IOException {
+		long length = readLength();
+
+		if(length > Integer.MAX_VALUE){
+			throw new RExpException("Long vectors of type " + SerializationUtil.decodeType(flags) + " are not supported");
+		}
+
+		return (int)length;
+	}
+
+	/**
+	 * @return The 1-based index of the referenced object in the reference table.
+	 */
+	int readRefIndex(int flags) throws IOException {
+		int refIndex = SerializationUtil.unpackRefIndex(flags);
+
+		if(refIndex == 0){
+			refIndex = readInt();
+		}
+
+		return refIndex;
+	}
+
+	static
+	int countChunks(long length, int chunkSize){
+		return (int)((length + (chunkSize - 1)) / chunkSize);
+	}
+
+	static
+	int chunkLength(long length, int index, int chunkSize){
+		return (int)Math.min(length - (long)index * chunkSize, chunkSize);
+	}
+}
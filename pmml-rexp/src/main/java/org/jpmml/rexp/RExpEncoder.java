@@ -19,7 +19,6 @@
 package org.jpmml.rexp;
 
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -31,6 +30,9 @@ import org.dmg.pmml.Field;
 import org.dmg.pmml.Model;
 import org.dmg.pmml.OpType;
 import org.dmg.pmml.PMML;
+import org.dmg.pmml.Visitor;
+import org.dmg.pmml.VisitorAction;
+import org.dmg.pmml.tree.TreeModel;
 import org.jpmml.converter.CategoricalFeature;
 import org.jpmml.converter.ContinuousFeature;
 import org.jpmml.converter.Feature;
@@ -39,7 +41,9 @@ import org.jpmml.converter.ModelEncoder;
 import org.jpmml.converter.ScalarLabelUtil;
 import org.jpmml.converter.Schema;
 import org.jpmml.converter.TypeUtil;
-import org.jpmml.model.visitors.FieldRenamer;
+import org.jpmml.converter.visitors.AttributeCleaner;
+import org.jpmml.model.visitors.AbstractVisitor;
+import org.jpmml.rexp.visitors.MultiFieldRenamer;
 
 public class RExpEncoder extends ModelEncoder {
 
@@ -49,16 +53,37 @@ public class RExpEncoder extends ModelEncoder {
 
 	private Map<String, String> renamedFields = new LinkedHashMap<>();
 
+	private ConversionListener conversionListener = null;
+
 
 	@Override
 	public PMML encodePMML(Model model){
 		PMML pmml = super.encodePMML(model);
 
-		Collection<Map.Entry<String, String>> entries = this.renamedFields.entrySet();
-		for(Map.Entry<String, String> entry : entries){
-			FieldRenamer renamer = new FieldRenamer(entry.getKey(), entry.getValue());
+		// Deferred tree models do not exist yet, so they must be cleaned and renamed when they are encoded
+		List<DeferredTreeModel> deferredTreeModels = findDeferredTreeModels(model);
 
-			renamer.applyTo(pmml);
+		for(DeferredTreeModel deferredTreeModel : deferredTreeModels){
+			deferredTreeModel.addVisitor(new AttributeCleaner());
+		}
+
+		if(!this.renamedFields.isEmpty()){
+			Visitor renamer = new MultiFieldRenamer(this.renamedFields){
+
+				@Override
+				public VisitorAction visit(TreeModel treeModel){
+
+					if(treeModel instanceof DeferredTreeModel){
+						DeferredTreeModel deferredTreeModel = (DeferredTreeModel)treeModel;
+
+						deferredTreeModel.addVisitor(this);
+					}
+
+					return super.visit(treeModel);
+				}
+			};
+
+			InstrumentationUtil.measure(this.conversionListener, "renameFields", () -> renamer.applyTo(pmml));
 		}
 
 		return pmml;
@@ -146,4 +171,34 @@ public class RExpEncoder extends ModelEncoder {
 	public void renameField(String name, String renamedName){
 		this.renamedFields.put(name, renamedName);
 	}
+
+	public ConversionListener getConversionListener(){
+		return this.conversionListener;
+	}
+
+	public void setConversionListener(ConversionListener conversionListener){
+		this.conversionListener = conversionListener;
+	}
+
+	static
+	private List<DeferredTreeModel> findDeferredTreeModels(Model model){
+		List<DeferredTreeModel> result = new ArrayList<>();
+
+		Visitor visitor = new AbstractVisitor(){
+
+			@Override
+			public VisitorAction visit(TreeModel treeModel){
+
+				if(treeModel instanceof DeferredTreeModel){
+					result.add((DeferredTreeModel)treeModel);
+				}
+
+				return super.visit(treeModel);
+			}
+		};
+
+		visitor.applyTo(model);
+
+		return result;
+	}
 }
\ No newline at end of file
@@ -0,0 +1,533 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-R
+ *
+ * JPMML-R is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-R is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-R.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.rexp;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>
+ * An event-driven counterpart to {@link RExpParser}.
+ * Both share the type dispatch and length decoding of {@link RExpDecoder}.
+ * Vector values are decoded in fixed-size chunks, so that the memory usage does not depend on the size of the input.
+ * </p>
+ */
+class RExpEventReader extends RExpDecoder<Void> {
+
+	private RExpHandler handler = null;
+
+	/**
+	 * Symbol names, or <code>null</code>s for other referenceable objects.
+	 */
+	private List<String> referenceTable = new ArrayList<>();
+
+	private StringPool stringPool = new StringPool();
+
+	private int[] intChunk = null;
+
+	private double[] doubleChunk = null;
+
+	private byte[] byteChunk = null;
+
+
+	RExpEventReader(RDataInput input, RExpHandler handler){
+		this.input = input;
+		this.handler = handler;
+	}
+
+	@Override
+	Void readSymbol() throws IOException {
+		String name = readStringValue(readInt());
+
+		if(name == null){
+			name = (RString.NA).getValue();
+		}
+
+		this.referenceTable.add(name);
+
+		this.handler.onSymbol(name);
+
+		return null;
+	}
+
+	@Override
+	Void readPairList(int flags) throws IOException {
+		return readCons(flags);
+	}
+
+	@Override
+	Void readClosure(int flags) throws IOException {
+		return readCons(flags);
+	}
+
+	@Override
+	Void readPromise(int flags) throws IOException {
+		return readCons(flags);
+	}
+
+	@Override
+	Void readFunctionCall(int flags) throws IOException {
+		return readCons(flags);
+	}
+
+	@Override
+	Void readEllipsis(int flags) throws IOException {
+		return readCons(flags);
+	}
+
+	/**
+	 * <p>
+	 * The tail of a pairlist is reported as a nested node.
+	 * Long pairlists are read iteratively.
+	 * </p>
+	 */
+	private Void readCons(int flags) throws IOException {
+		int depth = 0;
+
+		while(true){
+			this.handler.startNode(SerializationUtil.decodeType(flags), flags);
+
+			depth++;
+
+			readAttributes(flags);
+			readTag(flags);
+
+			// CAR
+			readRExp();
+
+			// CDR
+			flags = readInt();
+
+			if(isCons(flags)){
+				continue;
+			}
+
+			readRExp(flags);
+
+			break;
+		}
+
+		for(int i = 0; i < depth; i++){
+			this.handler.endNode();
+		}
+
+		return null;
+	}
+
+	@Override
+	Void readEnvironment(int flags) throws IOException {
+		this.handler.startNode(SExpTypes.ENVSXP, flags);
+
+		// Locked
+		readInt();
+
+		this.referenceTable.add(null);
+
+		// Parent, frame and hashtab
+		readRExp();
+		readRExp();
+		readRExp();
+
+		this.handler.startAttributes();
+
+		readRExp();
+
+		this.handler.endAttributes();
+
+		this.handler.endNode();
+
+		return null;
+	}
+
+	@Override
+	Void readLogicalVector(int flags) throws IOException {
+		return readIntVector(flags);
+	}
+
+	@Override
+	Void readIntVector(int flags) throws IOException {
+		long length = readLength();
+
+		this.handler.startVector(SerializationUtil.decodeType(flags), toReportedLength(length), flags);
+
+		if(this.intChunk == null){
+			this.intChunk = new int[RExpEventReader.CHUNK_SIZE];
+		}
+
+		for(int i = 0, max = countChunks(length, RExpEventReader.CHUNK_SIZE); i < max; i++){
+			int chunkLength = chunkLength(length, i, RExpEventReader.CHUNK_SIZE);
+
+			this.input.readInts(this.intChunk, 0, chunkLength);
+
+			this.handler.onInts(this.intChunk, 0, chunkLength);
+		}
+
+		readAttributes(flags);
+
+		this.handler.endVector();
+
+		return null;
+	}
+
+	@Override
+	Void readRealVector(int flags) throws IOException {
+		long length = readLength();
+
+		this.handler.startVector(SExpTypes.REALSXP, toReportedLength(length), flags);
+
+		if(this.doubleChunk == null){
+			this.doubleChunk = new double[RExpEventReader.CHUNK_SIZE];
+		}
+
+		for(int i = 0, max = countChunks(length, RExpEventReader.CHUNK_SIZE); i < max; i++){
+			int chunkLength = chunkLength(length, i, RExpEventReader.CHUNK_SIZE);
+
+			this.input.readDoubles(this.doubleChunk, 0, chunkLength);
+
+			this.handler.onDoubles(this.doubleChunk, 0, chunkLength);
+		}
+
+		readAttributes(flags);
+
+		this.handler.endVector();
+
+		return null;
+	}
+
+	@Override
+	Void readStringVector(int flags) throws IOException {
+		int length = readShortLength(flags);
+
+		this.handler.startVector(SExpTypes.STRSXP, length, flags);
+
+		for(int i = 0; i < length; i++){
+			this.handler.onString(readStringValue(readInt()));
+		}
+
+		readAttributes(flags);
+
+		this.handler.endVector();
+
+		return null;
+	}
+
+	@Override
+	Void readVector(int flags) throws IOException {
+		int length = readShortLength(flags);
+
+		this.handler.startVector(SerializationUtil.decodeType(flags), length, flags);
+
+		for(int i = 0; i < length; i++){
+			readRExp();
+		}
+
+		readAttributes(flags);
+
+		this.handler.endVector();
+
+		return null;
+	}
+
+	@Override
+	Void readRaw(int flags) throws IOException {
+		long length = readLength();
+
+		this.handler.startVector(SExpTypes.RAWSXP, toReportedLength(length), flags);
+
+		if(this.byteChunk == null){
+			this.byteChunk = new byte[RExpEventReader.CHUNK_SIZE];
+		}
+
+		for(int i = 0, max = countChunks(length, RExpEventReader.CHUNK_SIZE); i < max; i++){
+			int chunkLength = chunkLength(length, i, RExpEventReader.CHUNK_SIZE);
+
+			this.input.readBytes(this.byteChunk, 0, chunkLength);
+
+			this.handler.onBytes(this.byteChunk, 0, chunkLength);
+		}
+
+		readAttributes(flags);
+
+		this.handler.endVector();
+
+		return null;
+	}
+
+	/**
+	 * <p>
+	 * An ALTREP object is reported as a node, whose children are the class info and the state.
+	 * The state of a wrapper object is a dotted pair, whose CDR is reported as the tail of a pairlist.
+	 * </p>
+	 */
+	@Override
+	Void readAltrep(int flags) throws IOException {
+		this.handler.startNode(SerializationTypes.ALTREP_SXP, flags);
+
+		// Info and state
+		readRExp();
+		readRExp();
+
+		this.handler.startAttributes();
+
+		readRExp();
+
+		this.handler.endAttributes();
+
+		this.handler.endNode();
+
+		return null;
+	}
+
+	@Override
+	Void readBytecode(int flags) throws IOException {
+		this.handler.startNode(SExpTypes.BCODESXP, flags);
+
+		// Length of the reps array
+		readInt();
+
+		readBC1();
+
+		this.handler.endNode();
+
+		return null;
+	}
+
+	private void readBC1() throws IOException {
+		// Code
+		readRExp();
+
+		// Constants
+		int n = readInt();
+
+		for(int i = 0; i < n; i++){
+			int type = readInt();
+
+			switch(type){
+				case SExpTypes.LISTSXP:
+				case SExpTypes.LANGSXP:
+				case SerializationTypes.ATTRLISTSXP:
+				case SerializationTypes.ATTRLANGSXP:
+				case SerializationTypes.BCREPREF:
+				case SerializationTypes.BCREPDEF:
+					readBCLang(type);
+					break;
+				case SExpTypes.BCODESXP:
+					this.handler.startNode(SExpTypes.BCODESXP, type);
+					readBC1();
+					this.handler.endNode();
+					break;
+				default:
+					readRExp();
+					break;
+			}
+		}
+	}
+
+	/**
+	 * <p>
+	 * Bytecode-local back-references are reported as {@link SerializationTypes#BCREPREF} singletons.
+	 * </p>
+	 */
+	private void readBCLang(int type) throws IOException {
+
+		switch(type){
+			case SExpTypes.LISTSXP:
+			case SExpTypes.LANGSXP:
+			case SerializationTypes.ATTRLISTSXP:
+			case SerializationTypes.ATTRLANGSXP:
+			case SerializationTypes.BCREPDEF:
+				if(type == SerializationTypes.BCREPDEF){
+					// Position
+					readInt();
+
+					type = readInt();
+				}
+
+				switch(type){
+					case SExpTypes.LISTSXP:
+					case SerializationTypes.ATTRLISTSXP:
+						this.handler.startNode(SExpTypes.LISTSXP, type);
+						break;
+					case SExpTypes.LANGSXP:
+					case SerializationTypes.ATTRLANGSXP:
+						this.handler.startNode(SExpTypes.LANGSXP, type);
+						break;
+					default:
+						throw new UnsupportedOperationException(String.valueOf(type));
+				}
+
+				switch(type){
+					case SerializationTypes.ATTRLISTSXP:
+					case SerializationTypes.ATTRLANGSXP:
+						this.handler.startAttributes();
+						readRExp();
+						this.handler.endAttributes();
+						break;
+					default:
+						break;
+				}
+
+				// Tag, CAR and CDR
+				readRExp();
+				readBCLang(readInt());
+				readBCLang(readInt());
+
+				this.handler.endNode();
+				break;
+			case SerializationTypes.BCREPREF:
+				readInt();
+
+				this.handler.onSpecial(SerializationTypes.BCREPREF);
+				break;
+			default:
+				readRExp();
+				break;
+		}
+	}
+
+	@Override
+	Void readExternalPointer(int flags) throws IOException {
+		this.handler.startNode(SExpTypes.EXTPTRSXP, flags);
+
+		this.referenceTable.add(null);
+
+		// Protected and tag
+		readRExp();
+		readRExp();
+
+		readAttributes(flags);
+
+		this.handler.endNode();
+
+		return null;
+	}
+
+	@Override
+	Void readS4Object(int flags) throws IOException {
+		this.handler.startNode(SExpTypes.S4SXP, flags);
+
+		readAttributes(flags);
+
+		this.handler.endNode();
+
+		return null;
+	}
+
+	@Override
+	Void readNamespace(int flags) throws IOException {
+		this.handler.startNode(SerializationTypes.NAMESPACESXP, flags);
+
+		int infoFlags = readInt();
+		if(infoFlags != 0){
+			throw new UnsupportedOperationException();
+		}
+
+		readStringVector(infoFlags);
+
+		this.referenceTable.add(null);
+
+		this.handler.endNode();
+
+		return null;
+	}
+
+	@Override
+	Void readReference(int flags) throws IOException {
+		int refIndex = readRefIndex(flags);
+
+		String name = this.referenceTable.get(refIndex - 1);
+		if(name != null){
+			this.handler.onSymbol(name);
+		} else
+
+		{
+			this.handler.onReference(refIndex);
+		}
+
+		return null;
+	}
+
+	@Override
+	Void readString(int flags) throws IOException {
+		this.handler.onString(readStringValue(flags));
+
+		return null;
+	}
+
+	@Override
+	Void readSpecial(int type){
+		this.handler.onSpecial(type);
+
+		return null;
+	}
+
+	private String readStringValue(int flags) throws IOException {
+		int length = readInt();
+		if(length == -1){
+			return null;
+		}
+
+		return this.stringPool.read(this.input, length, SerializationUtil.decodeCharset(flags));
+	}
+
+	private void readTag(int flags) throws IOException {
+
+		if(SerializationUtil.hasTag(flags)){
+			readRExp();
+		}
+	}
+
+	private void readAttributes(int flags) throws IOException {
+
+		if(SerializationUtil.hasAttributes(flags)){
+			this.handler.startAttributes();
+
+			readRExp();
+
+			this.handler.endAttributes();
+		}
+	}
+
+	static
+	private boolean isCons(int flags){
+		int type = SerializationUtil.decodeType(flags);
+
+		switch(type){
+			case SExpTypes.LISTSXP:
+			case SExpTypes.CLOSXP:
+			case SExpTypes.PROMSXP:
+			case SExpTypes.LANGSXP:
+			case SExpTypes.DOTSXP:
+				return true;
+			default:
+				return false;
+		}
+	}
+
+	/**
+	 * @return The length, or <code>-1</code> if it is outside of the <code>int</code> range.
+	 */
+	static
+	private int toReportedLength(long length){
+		return (length <= Integer.MAX_VALUE) ? (int)length : -1;
+	}
+
+	private static final int CHUNK_SIZE = 8 * 1024;
+}
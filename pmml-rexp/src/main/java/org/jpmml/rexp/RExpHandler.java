@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-R
+ *
+ * JPMML-R is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-R is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-R.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.rexp;
+
+/**
+ * <p>
+ * A receiver of R serialization events.
+ * </p>
+ *
+ * <p>
+ * Events mirror the R serialization format.
+ * Vectors are reported by the {@link #startVector(int, int, int)} and {@link #endVector()} events,
+ * with their contents in between, followed by their attributes (if any).
+ * All other compound R expressions (pairlists, function calls, closures, environments, S4 objects etc.) are
+ * reported by the {@link #startNode(int, int)} and {@link #endNode()} events,
+ * with their components in between.
+ * Pairlist-like nodes contain their attributes (if any), their tag (if any), their CAR and their CDR, in that order.
+ * The tail of a pairlist is a nested node.
+ * Attributes are enclosed by the {@link #startAttributes()} and {@link #endAttributes()} events.
+ * </p>
+ *
+ * <p>
+ * Array arguments are reused between events, and must not be retained.
+ * </p>
+ *
+ * @see RExpParser#parse(RExpHandler)
+ */
+public interface RExpHandler {
+
+	default
+	void startDocument(int version, String nativeEncoding){
+	}
+
+	default
+	void endDocument(){
+	}
+
+	/**
+	 * @param type The type of the vector. One of {@link SExpTypes#LGLSXP}, {@link SExpTypes#INTSXP}, {@link SExpTypes#REALSXP}, {@link SExpTypes#STRSXP}, {@link SExpTypes#VECSXP}, {@link SExpTypes#EXPRSXP} or {@link SExpTypes#RAWSXP}.
+	 * @param length The length of the vector, or <code>-1</code> if it is a long vector (ie. the length exceeds {@link Integer#MAX_VALUE}).
+	 * @param flags Raw serialization flags, to be decoded using {@link SerializationUtil}.
+	 */
+	default
+	void startVector(int type, int length, int flags){
+	}
+
+	/**
+	 * <p>
+	 * Reports a chunk of logical or integer vector values.
+	 * </p>
+	 */
+	default
+	void onInts(int[] values, int offset, int length){
+	}
+
+	/**
+	 * <p>
+	 * Reports a chunk of real vector values.
+	 * </p>
+	 */
+	default
+	void onDoubles(double[] values, int offset, int length){
+	}
+
+	default
+	void onBytes(byte[] values, int offset, int length){
+	}
+
+	/**
+	 * @param value The value of a string, or <code>null</code> if it is <code>NA</code>.
+	 */
+	default
+	void onString(String value){
+	}
+
+	default
+	void endVector(){
+	}
+
+	/**
+	 * @param flags Raw serialization flags, to be decoded using {@link SerializationUtil}.
+	 */
+	default
+	void startNode(int type, int flags){
+	}
+
+	default
+	void endNode(){
+	}
+
+	default
+	void startAttributes(){
+	}
+
+	default
+	void endAttributes(){
+	}
+
+	/**
+	 * <p>
+	 * Reports a symbol, or a reference to a previously reported symbol.
+	 * </p>
+	 */
+	default
+	void onSymbol(String name){
+	}
+
+	/**
+	 * <p>
+	 * Reports a reference to a previously reported environment, namespace or external pointer.
+	 * </p>
+	 *
+	 * @param index The 1-based index of the referenced object in the reference table.
+	 * Symbols, environments, namespaces and external pointers are all entered into the reference table in order of their appearance.
+	 */
+	default
+	void onReference(int index){
+	}
+
+	/**
+	 * <p>
+	 * Reports a singleton value such as {@link SerializationTypes#NILVALUESXP} or {@link SerializationTypes#GLOBALENVSXP}.
+	 * </p>
+	 */
+	default
+	void onSpecial(int type){
+	}
+}
@@ -23,20 +23,38 @@ import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.PushbackInputStream;
-import java.nio.charset.StandardCharsets;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.UnaryOperator;
 import java.util.zip.GZIPInputStream;
 
 import com.google.common.io.ByteStreams;
+import org.apache.commons.compress.compressors.bzip2.BZip2CompressorInputStream;
+import org.apache.commons.compress.compressors.xz.XZCompressorInputStream;
 import org.jpmml.converter.ExceptionUtil;
 
-public class RExpParser implements Closeable {
+public class RExpParser extends RExpDecoder<RExp> implements Closeable {
 
-	private RDataInput input = null;
+	private ReadAheadInputStream decompressedIs = null;
 
 	private String nativeEncoding = null;
 
@@ -44,9 +62,110 @@ public class RExpParser implements Closeable {
 
 	private List<RExp> referenceTable = new ArrayList<>();
 
+	private boolean lazy = false;
+
+	private int offHeapThreshold = -1;
+
+	private int parallelism = 1;
+
+	/**
+	 * The pool for decoding deferred elements in the parallel parsing mode.
+	 */
+	private ForkJoinPool pool = null;
+
+	private Projection projection = null;
+
+	private StringPool stringPool = new StringPool();
+
 
 	public RExpParser(InputStream is) throws IOException {
-		InputStream decompressedIs = maybeDecompress(new PushbackInputStream(is, 2));
+		this(is, UnaryOperator.identity());
+	}
+
+	/**
+	 * @param filter A function that wraps the decompressed input stream, for example in order to limit its length.
+	 * The function is not applied if the input is not compressed.
+	 */
+	public RExpParser(InputStream is, UnaryOperator<InputStream> filter) throws IOException {
+		this.input = createInput(is, filter);
+	}
+
+	public RExpParser(Path path) throws IOException {
+		FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+
+		try {
+			this.input = createInput(channel);
+		} catch(IOException | RuntimeException e){
+
+			try {
+				channel.close();
+			} catch(IOException ioe){
+				e.addSuppressed(ioe);
+			}
+
+			throw e;
+		}
+	}
+
+	/**
+	 * <p>
+	 * Uncompressed XDR files are memory-mapped.
+	 * All other files are read sequentially, as if they were streams.
+	 * </p>
+	 */
+	public RExpParser(FileChannel channel) throws IOException {
+		this.input = createInput(channel);
+	}
+
+	/**
+	 * <p>
+	 * Creates a parser for decoding a deferred element.
+	 * </p>
+	 *
+	 * @param position The position of the element.
+	 * @param referenceCount The size of the reference table at that position.
+	 */
+	private RExpParser(RExpParser parent, long position, int referenceCount){
+		this.input = new BinaryInput((BinaryInput)parent.input){
+
+			@Override
+			public RExpParser getParser(){
+				return RExpParser.this;
+			}
+		};
+		this.input.setPosition(position);
+
+		this.nativeEncoding = parent.nativeEncoding;
+		this.namespaces = parent.namespaces;
+		this.referenceTable = new ArrayList<>(parent.referenceTable.subList(0, referenceCount));
+		this.lazy = parent.lazy;
+		this.offHeapThreshold = parent.offHeapThreshold;
+		this.parallelism = parent.parallelism;
+		this.pool = parent.pool;
+	}
+
+	private RDataInput createInput(FileChannel channel) throws IOException {
+		ByteBuffer magic = ByteBuffer.allocate(1);
+
+		channel.read(magic, channel.position());
+
+		if(magic.position() == 1 && magic.get(0) == 'X'){
+			return new BinaryInput(channel){
+
+				@Override
+				public RExpParser getParser(){
+					return RExpParser.this;
+				}
+			};
+		} else
+
+		{
+			return createInput(Channels.newInputStream(channel), UnaryOperator.identity());
+		}
+	}
+
+	private RDataInput createInput(InputStream is, UnaryOperator<InputStream> filter) throws IOException {
+		InputStream decompressedIs = maybeDecompress(new PushbackInputStream(is, RExpParser.XZ_MAGIC.length), filter);
 
 		PushbackInputStream pushbackIs = new PushbackInputStream(decompressedIs, 1);
 
@@ -55,7 +174,7 @@ public class RExpParser implements Closeable {
 		pushbackIs.unread(first);
 
 		if(first == 'A'){
-			this.input = new TextInput(pushbackIs){
+			return new TextInput(pushbackIs){
 
 				@Override
 				public RExpParser getParser(){
@@ -65,7 +184,7 @@ public class RExpParser implements Closeable {
 		} else
 
 		{
-			this.input = new BinaryInput(pushbackIs){
+			return new BinaryInput(pushbackIs){
 
 				@Override
 				public RExpParser getParser(){
@@ -80,7 +199,204 @@ public class RExpParser implements Closeable {
 		this.input.close();
 	}
 
+	/**
+	 * @return The time (in milliseconds) spent decompressing the input, or <code>-1</code> if the input is not compressed.
+	 *
+	 * @see ReadAheadInputStream#getReadTime()
+	 */
+	public long getDecompressionTime(){
+
+		if(this.decompressedIs != null){
+			return this.decompressedIs.getReadTime();
+		}
+
+		return -1L;
+	}
+
+	public boolean isLazy(){
+		return this.lazy;
+	}
+
+	/**
+	 * <p>
+	 * Enables or disables the lazy parsing mode.
+	 * </p>
+	 *
+	 * <p>
+	 * In lazy mode, large list elements are skipped over,
+	 * and are decoded only when they are first accessed.
+	 * The lazy mode takes effect only if the input is seekable (ie. an uncompressed XDR file).
+	 * </p>
+	 *
+	 * @see #RExpParser(Path)
+	 * @see RDataInput#isSeekable()
+	 */
+	public void setLazy(boolean lazy){
+		this.lazy = lazy;
+	}
+
+	public int getOffHeapThreshold(){
+		return this.offHeapThreshold;
+	}
+
+	/**
+	 * <p>
+	 * Sets the minimum length of integer and real vectors that are decoded into off-heap memory (ie. direct buffers),
+	 * instead of the JVM heap.
+	 * Off-heap vectors are represented as {@link RChunkedIntegerVector} and {@link RChunkedDoubleVector} objects.
+	 * </p>
+	 *
+	 * <p>
+	 * The off-heap mode takes effect only if the input is not seekable,
+	 * because the vectors of a memory-mapped file are off-heap already.
+	 * The off-heap memory is released when the vector is garbage collected.
+	 * </p>
+	 *
+	 * @param offHeapThreshold The minimum length, or <code>-1</code> to disable the off-heap mode.
+	 */
+	public void setOffHeapThreshold(int offHeapThreshold){
+
+		if(offHeapThreshold < -1){
+			throw new IllegalArgumentException();
+		}
+
+		this.offHeapThreshold = offHeapThreshold;
+	}
+
+	public int getParallelism(){
+		return this.parallelism;
+	}
+
+	/**
+	 * <p>
+	 * Sets the number of threads for the parallel parsing mode.
+	 * </p>
+	 *
+	 * <p>
+	 * The parallel parsing mode decodes lists in two passes.
+	 * The first pass skips over large list elements, and records their positions, in the same way as the lazy parsing mode.
+	 * The second pass decodes the recorded elements concurrently on a fork-join pool.
+	 * Every element is decoded against a snapshot of the reference table at its position,
+	 * so the result is identical to the result of the sequential parsing mode.
+	 * </p>
+	 *
+	 * <p>
+	 * The parallel parsing mode takes effect only if the input is seekable (ie. an uncompressed XDR file).
+	 * It takes precedence over the lazy parsing mode.
+	 * </p>
+	 *
+	 * @param parallelism The number of threads, or <code>1</code> to disable the parallel parsing mode.
+	 */
+	public void setParallelism(int parallelism){
+
+		if(parallelism < 1){
+			throw new IllegalArgumentException();
+		}
+
+		this.parallelism = parallelism;
+	}
+
 	public RExp parse() throws IOException {
+		readHeader();
+
+		RExp result;
+
+		if(this.parallelism > 1 && this.input.isSeekable()){
+			result = readParallel();
+		} else
+
+		{
+			result = readRExp();
+		}
+
+		readTrailer();
+
+		return result;
+	}
+
+	/**
+	 * <p>
+	 * Parses the outline of the R expression.
+	 * </p>
+	 *
+	 * <p>
+	 * The outline of a list is a list of the same length and with the same attributes,
+	 * where list elements are replaced with their outlines, and all other elements are replaced with <code>null</code>.
+	 * The outline of any other R expression is the R expression itself.
+	 * </p>
+	 *
+	 * <p>
+	 * Skipped elements are not decoded, which makes this a cheap way of sniffing the class of a large R model object.
+	 * </p>
+	 *
+	 * @see #parse(RExp, Collection)
+	 */
+	public RExp parseOutline() throws IOException {
+		readHeader();
+
+		int flags = readInt();
+
+		RExp result;
+
+		if(isList(flags)){
+			result = readOutline(flags);
+		} else
+
+		{
+			result = readRExp(flags);
+		}
+
+		readTrailer();
+
+		return result;
+	}
+
+	/**
+	 * <p>
+	 * Parses the R expression, keeping only the list elements that are selected by the projection.
+	 * </p>
+	 *
+	 * <p>
+	 * An element path is a sequence of list element names, separated by the <code>/</code> character.
+	 * The element that is identified by an element path is kept in full, together with all its ancestor lists.
+	 * All other elements of those ancestor lists are skipped over, and are removed from the result.
+	 * </p>
+	 *
+	 * @param outline The outline of the R expression, as returned by the {@link #parseOutline()} method of another parser over the same input.
+	 * @param paths Element paths.
+	 */
+	public RExp parse(RExp outline, Collection<String> paths) throws IOException {
+		this.projection = Projection.create(outline, paths);
+
+		return parse();
+	}
+
+	/**
+	 * <p>
+	 * Parses the R expression in event-driven mode.
+	 * </p>
+	 *
+	 * <p>
+	 * The R expression is not built.
+	 * Instead, its contents are reported to the handler in the order of appearance,
+	 * which keeps the memory usage independent of the size of the input.
+	 * </p>
+	 */
+	public void parse(RExpHandler handler) throws IOException {
+		int version = readHeader();
+
+		handler.startDocument(version, this.nativeEncoding);
+
+		RExpEventReader reader = new RExpEventReader(this.input, handler);
+
+		reader.readRExp();
+
+		readTrailer();
+
+		handler.endDocument();
+	}
+
+	private int readHeader() throws IOException {
 		int version = readInt();
 
 		if(version < 2 || version > 3){
@@ -98,7 +414,10 @@ public class RExpParser implements Closeable {
 			this.nativeEncoding = new String(buffer);
 		}
 
-		RExp result = readRExp();
+		return version;
+	}
+
+	private void readTrailer() throws IOException {
 
 		try {
 			readInt();
@@ -107,74 +426,35 @@ public class RExpParser implements Closeable {
 		} catch(EOFException eofe){
 			// Ignored
 		}
-
-		return result;
 	}
 
-	private RExp readRExp() throws IOException {
-		int flags = readInt();
+	private RExp readParallel() throws IOException {
+		ForkJoinPool pool = new ForkJoinPool(this.parallelism);
 
-		int type = SerializationUtil.decodeType(flags);
-		switch(type){
-			case SExpTypes.SYMSXP:
-				return readSymbol();
-			case SExpTypes.LISTSXP:
-				return readPairList(flags);
-			case SExpTypes.CLOSXP:
-				return readClosure(flags);
-			case SExpTypes.ENVSXP:
-				return readEnvironment(flags);
-			case SExpTypes.PROMSXP:
-				return readPromise(flags);
-			case SExpTypes.LANGSXP:
-				return readFunctionCall(flags);
-			case SExpTypes.CHARSXP:
-				return readString(flags);
-			case SExpTypes.LGLSXP:
-				return readLogicalVector(flags);
-			case SExpTypes.INTSXP:
-				return readIntVector(flags);
-			case SExpTypes.REALSXP:
-				return readRealVector(flags);
-			case SExpTypes.STRSXP:
-				return readStringVector(flags);
-			case SExpTypes.DOTSXP:
-				return readEllipsis(flags);
-			case SExpTypes.VECSXP:
-			case SExpTypes.EXPRSXP:
-				return readVector(flags);
-			case SExpTypes.BCODESXP:
-				return readBytecode(flags);
-			case SExpTypes.EXTPTRSXP:
-				return readExternalPointer(flags);
-			case SExpTypes.RAWSXP:
-				return readRaw(flags);
-			case SExpTypes.S4SXP:
-				return readS4Object(flags);
-			case SerializationTypes.BASEENVSXP:
-				return null; // XXX
-			case SerializationTypes.EMPTYENVSXP:
-				return REnvironment.EMPTY;
-			case SerializationTypes.NAMESPACESXP:
-				return readNamespace();
-			case SerializationTypes.BASENAMESPACESXP:
-				return null; // XXX
-			case SerializationTypes.MISSINGARGSXP:
-				return RSymbol.MISSING_ARG;
-			case SerializationTypes.UNBOUNDVALUESXP:
-				return null; // XXX
-			case SerializationTypes.GLOBALENVSXP:
-				return null; // XXX
-			case SerializationTypes.NILVALUESXP:
-				return null;
-			case SerializationTypes.REFSXP:
-				return readReference(flags);
-			default:
-				throw new UnsupportedOperationException(String.valueOf(type));
+		this.pool = pool;
+
+		try {
+			ForkJoinTask<RExp> task = pool.submit(() -> {
+
+				try {
+					return readRExp();
+				} catch(IOException ioe){
+					throw new UncheckedIOException(ioe);
+				}
+			});
+
+			return task.join();
+		} catch(UncheckedIOException uioe){
+			throw uioe.getCause();
+		} finally {
+			this.pool = null;
+
+			pool.shutdown();
 		}
 	}
 
-	private RString readSymbol() throws IOException {
+	@Override
+	RString readSymbol() throws IOException {
 		RString symbol = (RString)readRExp();
 
 		if(symbol.getValue() == null){
@@ -186,7 +466,8 @@ public class RExpParser implements Closeable {
 		return symbol;
 	}
 
-	private RPair readPairList(int flags) throws IOException {
+	@Override
+	RPair readPairList(int flags) throws IOException {
 		RPair first = null;
 		RPair last = null;
 
@@ -220,7 +501,8 @@ public class RExpParser implements Closeable {
 		return first;
 	}
 
-	private RExp readClosure(int flags) throws IOException {
+	@Override
+	RExp readClosure(int flags) throws IOException {
 		RPair attributes = readAttributes(flags);
 
 		RExp environment = readTag(flags);
@@ -230,7 +512,8 @@ public class RExpParser implements Closeable {
 		return new RClosure(attributes, environment, parameters, body);
 	}
 
-	private REnvironment readEnvironment(int flags) throws IOException {
+	@Override
+	REnvironment readEnvironment(int flags) throws IOException {
 		REnvironment environment = new REnvironment(){
 		};
 
@@ -253,7 +536,8 @@ public class RExpParser implements Closeable {
 		return environment;
 	}
 
-	private RExp readPromise(int flags) throws IOException {
+	@Override
+	RExp readPromise(int flags) throws IOException {
 		RPair attributes = readAttributes(flags);
 
 		RExp environment = readTag(flags);
@@ -263,7 +547,8 @@ public class RExpParser implements Closeable {
 		return null;
 	}
 
-	private RFunctionCall readFunctionCall(int flags) throws IOException {
+	@Override
+	RFunctionCall readFunctionCall(int flags) throws IOException {
 		RPair attributes = readAttributes(flags);
 
 		RExp tag = readTag(flags);
@@ -273,101 +558,203 @@ public class RExpParser implements Closeable {
 		return new RFunctionCall(tag, function, arguments, attributes);
 	}
 
-	private RString readString(int flags) throws IOException {
+	@Override
+	RString readString(int flags) throws IOException {
+		return new RString(readStringValue(flags));
+	}
+
+	private String readStringValue(int flags) throws IOException {
 		int length = readInt();
 		if(length == -1){
-			return new RString(null);
+			return null;
 		}
 
-		byte[] buffer = readByteArray(length);
+		return this.stringPool.read(this.input, length, SerializationUtil.decodeCharset(flags));
+	}
+
+	@Override
+	RBooleanVector readLogicalVector(int flags) throws IOException {
+		int length = readShortLength(flags);
 
-		String value;
+		int[] values = new int[length];
 
-		if(SerializationUtil.isBytesCharset(flags)){
-			value = new String(buffer, StandardCharsets.US_ASCII);
-		} else
+		readInts(values);
 
-		if(SerializationUtil.isLatin1Charset(flags)){
-			value = new String(buffer, StandardCharsets.ISO_8859_1);
-		} else
+		return new RBooleanVector(values, readAttributes(flags));
+	}
 
-		if(SerializationUtil.isUTF8Charset(flags)){
-			value = new String(buffer, StandardCharsets.UTF_8);
-		} else
+	@Override
+	RIntegerVector readIntVector(int flags) throws IOException {
+		long length = readLength();
 
-		{
-			value = new String(buffer);
+		boolean offHeap = isOffHeap(length);
+
+		if(length > Integer.MAX_VALUE || offHeap){
+			IntBuffer[] chunks = new IntBuffer[countChunks(length, RExpParser.CHUNK_SIZE)];
+
+			for(int i = 0; i < chunks.length; i++){
+				int chunkLength = chunkLength(length, i, RExpParser.CHUNK_SIZE);
+
+				chunks[i] = (offHeap ? readDirectIntBuffer(chunkLength) : readIntBuffer(chunkLength));
+			}
+
+			RIntegerVector result = new RChunkedIntegerVector(chunks, readAttributes(flags));
+
+			if(length > Integer.MAX_VALUE){
+				return result;
+			}
+
+			return toFactorVector(result);
 		}
 
-		return new RString(value);
+		IntBuffer values = readIntBuffer((int)length);
+
+		return toFactorVector(new RIntegerVector(values, readAttributes(flags)));
 	}
 
-	private RBooleanVector readLogicalVector(int flags) throws IOException {
-		int length = readInt();
+	@Override
+	RDoubleVector readRealVector(int flags) throws IOException {
+		long length = readLength();
 
-		int[] values = new int[length];
+		boolean offHeap = isOffHeap(length);
 
-		for(int i = 0; i < length; i++){
-			int value = readInt();
+		if(length > Integer.MAX_VALUE || offHeap){
+			DoubleBuffer[] chunks = new DoubleBuffer[countChunks(length, RExpParser.CHUNK_SIZE)];
+
+			for(int i = 0; i < chunks.length; i++){
+				int chunkLength = chunkLength(length, i, RExpParser.CHUNK_SIZE);
 
-			values[i] = value;
+				chunks[i] = (offHeap ? readDirectDoubleBuffer(chunkLength) : readDoubleBuffer(chunkLength));
+			}
+
+			return new RChunkedDoubleVector(chunks, readAttributes(flags));
 		}
 
-		return new RBooleanVector(values, readAttributes(flags));
+		DoubleBuffer values = readDoubleBuffer((int)length);
+
+		return new RDoubleVector(values, readAttributes(flags));
 	}
 
-	private RIntegerVector readIntVector(int flags) throws IOException {
-		int length = readInt();
+	/**
+	 * <p>
+	 * Decodes an ALTREP object.
+	 * </p>
+	 *
+	 * <p>
+	 * Compact sequences are represented as {@link RIntegerSequence} and {@link RDoubleSequence} objects, whose memory usage does not depend on their length.
+	 * Wrapper objects are replaced with the wrapped object.
+	 * Deferred string conversions are performed eagerly.
+	 * </p>
+	 *
+	 * @see <a href="https://github.com/wch/r-source/blob/trunk/src/main/altclasses.c">altclasses.c</a>
+	 */
+	@Override
+	RExp readAltrep(int flags) throws IOException {
+		RPair info = (RPair)readRExp();
+		RExp state = readAltrepState(readInt());
+		RPair attributes = (RPair)readRExp();
 
-		int[] values = new int[length];
+		RString className = (RString)info.getValue();
 
-		for(int i = 0; i < length; i++){
-			int value = readInt();
+		String name = className.getValue();
+		switch(name){
+			case "compact_intseq":
+				{
+					RNumberVector<?> sequence = (RNumberVector<?>)state;
 
-			values[i] = value;
-		}
+					RIntegerVector result = new RIntegerSequence(toLength(sequence.getDouble(0)), sequence.getInt(1), sequence.getInt(2), attributes);
 
-		RIntegerVector result = new RIntegerVector(values, readAttributes(flags));
-		if(result.hasAttribute("class")){
-			RStringVector classNames = result._class();
+					return toFactorVector(result);
+				}
+			case "compact_realseq":
+				{
+					RNumberVector<?> sequence = (RNumberVector<?>)state;
 
-			if(classNames.indexOf("factor") > -1){
-				result = new RFactorVector(values, result.getAttributes());
-			}
+					return new RDoubleSequence(toLength(sequence.getDouble(0)), sequence.getDouble(1), sequence.getDouble(2), attributes);
+				}
+			case "deferred_string":
+				{
+					RPair pair = (RPair)state;
+
+					RNumberVector<?> arg = (RNumberVector<?>)pair.getValue();
+
+					List<String> values = new ArrayList<>(arg.size());
+
+					for(int i = 0, max = arg.size(); i < max; i++){
+						values.add(formatDeferredString(arg, i));
+					}
+
+					return new RStringVector(values, attributes);
+				}
+			default:
+				if(name.startsWith("wrap_")){
+					RPair pair = (RPair)state;
+
+					RExp result = pair.getValue();
+
+					if(result != null){
+						result.setAttributes(attributes);
+					} // End if
+
+					if(result instanceof RIntegerVector){
+						return toFactorVector((RIntegerVector)result);
+					}
+
+					return result;
+				}
+				break;
 		}
 
-		return result;
+		throw new RExpException("ALTREP class " + name + " is not supported");
 	}
 
-	private RDoubleVector readRealVector(int flags) throws IOException {
-		int length = readInt();
+	/**
+	 * <p>
+	 * The state of a wrapper or a deferred string conversion is a dotted pair <code>CONS(value, metadata)</code>,
+	 * whose CDR is not a pairlist.
+	 * The metadata is discarded.
+	 * </p>
+	 */
+	private RExp readAltrepState(int flags) throws IOException {
+		int type = SerializationUtil.decodeType(flags);
+
+		if(type == SExpTypes.LISTSXP){
+			RPair attributes = readAttributes(flags);
 
-		double[] values = new double[length];
+			RExp tag = readTag(flags);
+			RExp value = readRExp();
 
-		for(int i = 0; i < length; i++){
-			double value = readDouble();
+			// Metadata
+			readRExp();
 
-			values[i] = value;
+			return new RPair(tag, value, attributes);
 		}
 
-		return new RDoubleVector(values, readAttributes(flags));
+		return readRExp(flags);
 	}
 
-	private RStringVector readStringVector(int flags) throws IOException {
-		int length = readInt();
+	@Override
+	RStringVector readStringVector(int flags) throws IOException {
+		int length = readShortLength(flags);
 
 		List<String> values = new ArrayList<>(length);
 
 		for(int i = 0; i < length; i++){
-			RString string = (RString)readRExp();
+			int stringFlags = readInt();
+
+			// String vector elements are always serialized in full
+			if(SerializationUtil.decodeType(stringFlags) != SExpTypes.CHARSXP){
+				throw new IllegalArgumentException();
+			}
 
-			values.add(string.getValue());
+			values.add(readStringValue(stringFlags));
 		}
 
 		return new RStringVector(values, readAttributes(flags));
 	}
 
-	private RExp readEllipsis(int flags) throws IOException {
+	@Override
+	RExp readEllipsis(int flags) throws IOException {
 		RPair attributes = readAttributes(flags);
 
 		RExp environment = readTag(flags);
@@ -377,88 +764,245 @@ public class RExpParser implements Closeable {
 		return null;
 	}
 
-	private RGenericVector readVector(int flags) throws IOException {
-		int length = readInt();
+	@Override
+	RGenericVector readVector(int flags) throws IOException {
+		Projection projection = this.projection;
 
-		List<RExp> values = new ArrayList<>(length);
+		// The projection applies to the elements of this list, and not to any other R expressions
+		this.projection = null;
 
-		for(int i = 0; i < length; i++){
-			RExp rexp = readRExp();
+		int length = readShortLength(flags);
 
-			values.add(rexp);
+		if(projection != null){
+			return readProjectedVector(flags, length, projection);
 		}
 
-		return new RGenericVector(values, readAttributes(flags));
-	}
+		List<RExp> values;
 
-	private RExp readBytecode(int flags) throws IOException {
-		int length = readInt();
+		if(this.pool != null){
+			values = readParallelValues(length);
+		} else
 
-		RExp[] reps = new RExp[length];
+		if(this.lazy && this.input.isSeekable()){
+			values = readLazyValues(length);
+		} else
 
-		return readBC1(reps);
-	}
+		{
+			values = new ArrayList<>(length);
 
-	private RExp readExternalPointer(int flags) throws IOException {
-		RExternalPtr externalPtr = new RExternalPtr(null);
+			for(int i = 0; i < length; i++){
+				RExp rexp = readRExp();
 
-		this.referenceTable.add(externalPtr);
+				values.add(rexp);
+			}
+		}
 
-		RExp protected_ = readRExp();
-		RExp tag = readRExp();
+		return new RGenericVector(values, readAttributes(flags));
+	}
 
-		RPair attributes = readAttributes(flags);
+	private RGenericVector readProjectedVector(int flags, int length, Projection projection) throws IOException {
+		List<RExp> values = new ArrayList<>();
 
-		externalPtr.setAttributes(attributes);
+		boolean[] selected = new boolean[length];
 
-		return externalPtr;
-	}
+		for(int i = 0; i < length; i++){
+			Projection elementProjection = projection.getElement(i);
 
-	private RRaw readRaw(int flags) throws IOException {
-		int length = readInt();
+			if(elementProjection == null){
+				skipRExp(false);
 
-		byte[] value = readByteArray(length);
+				continue;
+			}
 
-		return new RRaw(value, readAttributes(flags));
-	}
+			selected[i] = true;
 
-	private RExp readBC1(RExp[] reps) throws IOException {
-		RExp code = readRExp();
+			this.projection = (elementProjection != Projection.ALL ? elementProjection : null);
 
-		RExp[] constants = readBCConsts(reps);
+			values.add(readRExp());
+		}
 
-		return constants[0];
-	}
+		RPair attributes = readAttributes(flags);
 
-	private RExp[] readBCConsts(RExp[] reps) throws IOException {
-		int n = readInt();
+		for(RPair attribute = attributes; attribute != null; attribute = attribute.getNext()){
 
-		RExp[] pool = new RExp[n];
+			if(attribute.tagEquals("names")){
+				RStringVector names = (RStringVector)attribute.getValue();
 
-		for(int i = 0; i < n; i++){
-			int type = readInt();
+				List<String> selectedNames = new ArrayList<>(values.size());
 
-			switch(type){
-				case SExpTypes.LISTSXP:
-				case SExpTypes.LANGSXP:
-					pool[i] = readBCLang(type, reps);
-					break;
-				case SExpTypes.BCODESXP:
-					pool[i] = readBC1(reps);
-					break;
-				case SerializationTypes.ATTRLISTSXP:
-				case SerializationTypes.ATTRLANGSXP:
-				case SerializationTypes.BCREPREF:
-				case SerializationTypes.BCREPDEF:
-					pool[i] = readBCLang(type, reps);
-					break;
-				default:
-					pool[i] = readRExp();
-					break;
+				for(int i = 0; i < length; i++){
+
+					if(selected[i]){
+						selectedNames.add(names.getValue(i));
+					}
+				}
+
+				attribute.setValue(new RStringVector(selectedNames, names.getAttributes()));
 			}
 		}
 
-		return pool;
+		return new RGenericVector(values, attributes);
+	}
+
+	private RGenericVector readOutline(int flags) throws IOException {
+		int length = readShortLength(flags);
+
+		List<RExp> values = new ArrayList<>(length);
+
+		for(int i = 0; i < length; i++){
+			int elementFlags = readInt();
+
+			if(isList(elementFlags)){
+				values.add(readOutline(elementFlags));
+			} else
+
+			{
+				skipRExp(elementFlags, false);
+
+				values.add(null);
+			}
+		}
+
+		return new RGenericVector(values, readAttributes(flags));
+	}
+
+	/**
+	 * <p>
+	 * Decodes deferred elements concurrently.
+	 * This method must be called in a thread of the fork-join pool.
+	 * </p>
+	 */
+	private List<RExp> readParallelValues(int length) throws IOException {
+		LazyList values = readLazyValues(length);
+
+		List<ForkJoinTask<RExp>> tasks = new ArrayList<>();
+
+		for(int i = 0; i < length; i++){
+
+			if(values.isDeferred(i)){
+				int index = i;
+
+				tasks.add(ForkJoinTask.adapt(() -> values.resolve(index)));
+			}
+		}
+
+		ForkJoinTask.invokeAll(tasks);
+
+		return Arrays.asList(values.values);
+	}
+
+	private LazyList readLazyValues(int length) throws IOException {
+		LazyList values = new LazyList(length);
+
+		for(int i = 0; i < length; i++){
+			long position = this.input.getPosition();
+			int referenceCount = this.referenceTable.size();
+
+			try {
+				skipRExp(true);
+
+				if((this.input.getPosition() - position) >= RExpParser.LAZY_THRESHOLD){
+					values.defer(i, position, referenceCount);
+
+					continue;
+				}
+			} catch(NotSkippableException nse){
+				// Ignored
+			}
+
+			// Rewind, and decode eagerly
+			this.referenceTable.subList(referenceCount, this.referenceTable.size()).clear();
+
+			this.input.setPosition(position);
+
+			values.set(i, readRExp());
+		}
+
+		return values;
+	}
+
+	@Override
+	RExp readBytecode(int flags) throws IOException {
+		int length = readInt();
+
+		RExp[] reps = new RExp[length];
+
+		return readBC1(reps);
+	}
+
+	@Override
+	RExp readExternalPointer(int flags) throws IOException {
+		RExternalPtr externalPtr = new RExternalPtr(null);
+
+		this.referenceTable.add(externalPtr);
+
+		RExp protected_ = readRExp();
+		RExp tag = readRExp();
+
+		RPair attributes = readAttributes(flags);
+
+		externalPtr.setAttributes(attributes);
+
+		return externalPtr;
+	}
+
+	/**
+	 * <p>
+	 * Raw payloads are not copied into a single array, so that they can be streamed by the consumer.
+	 * </p>
+	 *
+	 * @see RRaw#getInputStream()
+	 */
+	@Override
+	RRaw readRaw(int flags) throws IOException {
+		long length = readLength();
+
+		ByteBuffer[] chunks = new ByteBuffer[Math.max(countChunks(length, RExpParser.RAW_CHUNK_SIZE), 1)];
+
+		for(int i = 0; i < chunks.length; i++){
+			chunks[i] = this.input.readByteBuffer(chunkLength(length, i, RExpParser.RAW_CHUNK_SIZE));
+		}
+
+		return new RRaw(chunks, readAttributes(flags));
+	}
+
+	private RExp readBC1(RExp[] reps) throws IOException {
+		RExp code = readRExp();
+
+		RExp[] constants = readBCConsts(reps);
+
+		return constants[0];
+	}
+
+	private RExp[] readBCConsts(RExp[] reps) throws IOException {
+		int n = readInt();
+
+		RExp[] pool = new RExp[n];
+
+		for(int i = 0; i < n; i++){
+			int type = readInt();
+
+			switch(type){
+				case SExpTypes.LISTSXP:
+				case SExpTypes.LANGSXP:
+					pool[i] = readBCLang(type, reps);
+					break;
+				case SExpTypes.BCODESXP:
+					pool[i] = readBC1(reps);
+					break;
+				case SerializationTypes.ATTRLISTSXP:
+				case SerializationTypes.ATTRLANGSXP:
+				case SerializationTypes.BCREPREF:
+				case SerializationTypes.BCREPDEF:
+					pool[i] = readBCLang(type, reps);
+					break;
+				default:
+					pool[i] = readRExp();
+					break;
+			}
+		}
+
+		return pool;
 	}
 
 	private RExp readBCLang(int type, RExp[] reps) throws IOException {
@@ -525,17 +1069,19 @@ public class RExpParser implements Closeable {
 		}
 	}
 
-	private S4Object readS4Object(int flags) throws IOException {
+	@Override
+	S4Object readS4Object(int flags) throws IOException {
 		return new S4Object(readAttributes(flags));
 	}
 
-	private RExp readNamespace() throws IOException {
-		int flags = readInt();
-		if(flags != 0){
+	@Override
+	RExp readNamespace(int flags) throws IOException {
+		int infoFlags = readInt();
+		if(infoFlags != 0){
 			throw new UnsupportedOperationException();
 		}
 
-		RStringVector name = readStringVector(flags);
+		RStringVector name = readStringVector(infoFlags);
 
 		RSymbol symbol = new RSymbol(name.getValue(0));
 
@@ -551,14 +1097,60 @@ public class RExpParser implements Closeable {
 		return namespace;
 	}
 
-	private RExp readReference(int flags) throws IOException {
-		int refIndex = SerializationUtil.unpackRefIndex(flags);
+	@Override
+	RExp readReference(int flags) throws IOException {
+		int refIndex = readRefIndex(flags);
+
+		return this.referenceTable.get(refIndex - 1);
+	}
+
+	@Override
+	RExp readSpecial(int type){
 
-		if(refIndex == 0){
-			refIndex = readInt();
+		switch(type){
+			case SerializationTypes.EMPTYENVSXP:
+				return REnvironment.EMPTY;
+			case SerializationTypes.MISSINGARGSXP:
+				return RSymbol.MISSING_ARG;
+			case SerializationTypes.NILVALUESXP:
+				return null;
+			default:
+				return null; // XXX
 		}
+	}
 
-		return this.referenceTable.get(refIndex - 1);
+	/**
+	 * <p>
+	 * Skips over the next R expression without decoding it.
+	 * </p>
+	 *
+	 * <p>
+	 * Symbols are decoded and registered in the reference table the same way as during regular parsing.
+	 * R expressions that would register any other objects in the reference table are either rejected (strict mode),
+	 * or decoded and then discarded (non-strict mode).
+	 * </p>
+	 *
+	 * @throws NotSkippableException If the R expression cannot be skipped over in strict mode.
+	 */
+	/**
+	 * <p>
+	 * Skips over the next R expression without decoding it.
+	 * </p>
+	 *
+	 * @throws NotSkippableException If the R expression cannot be skipped over in strict mode.
+	 *
+	 * @see Skipper
+	 */
+	private void skipRExp(boolean strict) throws IOException {
+		Skipper skipper = new Skipper(strict);
+
+		skipper.readRExp();
+	}
+
+	private void skipRExp(int flags, boolean strict) throws IOException {
+		Skipper skipper = new Skipper(strict);
+
+		skipper.readRExp(flags);
 	}
 
 	private RExp readTag(int flags) throws IOException {
@@ -583,10 +1175,6 @@ public class RExpParser implements Closeable {
 		return (RPair)readRExp();
 	}
 
-	private int readInt() throws IOException {
-		return this.input.readInt();
-	}
-
 	private double readDouble() throws IOException {
 		return this.input.readDouble();
 	}
@@ -595,20 +1183,586 @@ public class RExpParser implements Closeable {
 		return this.input.readByteArray(length);
 	}
 
+	private void readInts(int[] values) throws IOException {
+		this.input.readInts(values, 0, values.length);
+	}
+
+	private IntBuffer readIntBuffer(int length) throws IOException {
+		return this.input.readIntBuffer(length);
+	}
+
+	private DoubleBuffer readDoubleBuffer(int length) throws IOException {
+		return this.input.readDoubleBuffer(length);
+	}
+
+	private boolean isOffHeap(long length){
+		int offHeapThreshold = this.offHeapThreshold;
+
+		return (offHeapThreshold > -1 && length >= offHeapThreshold && length > 0) && !this.input.isSeekable();
+	}
+
+	private IntBuffer readDirectIntBuffer(int length) throws IOException {
+		IntBuffer result = (ByteBuffer.allocateDirect(length * 4).order(ByteOrder.nativeOrder())).asIntBuffer();
+
+		int[] values = new int[Math.min(length, RExpParser.TRANSFER_SIZE)];
+
+		for(int offset = 0; offset < length; offset += values.length){
+			int count = Math.min(length - offset, values.length);
+
+			this.input.readInts(values, 0, count);
+
+			result.put(values, 0, count);
+		}
+
+		result.flip();
+
+		return result;
+	}
+
+	private DoubleBuffer readDirectDoubleBuffer(int length) throws IOException {
+		DoubleBuffer result = (ByteBuffer.allocateDirect(length * 8).order(ByteOrder.nativeOrder())).asDoubleBuffer();
+
+		double[] values = new double[Math.min(length, RExpParser.TRANSFER_SIZE)];
+
+		for(int offset = 0; offset < length; offset += values.length){
+			int count = Math.min(length - offset, values.length);
+
+			this.input.readDoubles(values, 0, count);
+
+			result.put(values, 0, count);
+		}
+
+		result.flip();
+
+		return result;
+	}
+
+	/**
+	 * <p>
+	 * Compressed input is decompressed in a background thread.
+	 * </p>
+	 */
+	private InputStream maybeDecompress(PushbackInputStream is, UnaryOperator<InputStream> filter) throws IOException {
+		byte[] magic = new byte[RExpParser.XZ_MAGIC.length];
+
+		int length = ByteStreams.read(is, magic, 0, magic.length);
+
+		is.unread(magic, 0, length);
+
+		InputStream decompressedIs;
+
+		if(startsWith(magic, length, RExpParser.GZIP_MAGIC)){
+			decompressedIs = new GZIPInputStream(is, 64 * 1024);
+		} else
+
+		if(startsWith(magic, length, RExpParser.BZIP2_MAGIC)){
+			decompressedIs = new BZip2CompressorInputStream(is, true);
+		} else
+
+		if(startsWith(magic, length, RExpParser.XZ_MAGIC)){
+			decompressedIs = new XZCompressorInputStream(is, true);
+		} else
+
+		{
+			return is;
+		}
+
+		this.decompressedIs = new ReadAheadInputStream(filter.apply(decompressedIs));
+
+		return this.decompressedIs;
+	}
+
+	private class LazyList extends AbstractList<RExp> {
+
+		private RExp[] values = null;
+
+		private long[] positions = null;
+
+		private int[] referenceCounts = null;
+
+
+		private LazyList(int size){
+			this.values = new RExp[size];
+			this.positions = new long[size];
+			this.referenceCounts = new int[size];
+
+			Arrays.fill(this.positions, -1L);
+		}
+
+		@Override
+		public int size(){
+			return this.values.length;
+		}
+
+		@Override
+		synchronized
+		public RExp get(int index){
+			return resolve(index);
+		}
+
+		@Override
+		public RExp set(int index, RExp value){
+			RExp result = this.values[index];
+
+			this.values[index] = value;
+
+			return result;
+		}
+
+		private boolean isDeferred(int index){
+			return (this.positions[index] > -1L);
+		}
+
+		/**
+		 * <p>
+		 * Decodes the element if it is deferred.
+		 * </p>
+		 *
+		 * <p>
+		 * This method is not synchronized, so that different elements can be decoded concurrently.
+		 * The caller must ensure that the same element is not decoded concurrently.
+		 * </p>
+		 */
+		private RExp resolve(int index){
+			long position = this.positions[index];
+
+			if(position > -1L){
+				RExpParser parser = new RExpParser(RExpParser.this, position, this.referenceCounts[index]);
+
+				try {
+					this.values[index] = parser.readRExp();
+				} catch(IOException ioe){
+					throw new UncheckedIOException(ioe);
+				}
+
+				this.positions[index] = -1L;
+			}
+
+			return this.values[index];
+		}
+
+		private void defer(int index, long position, int referenceCount){
+			this.positions[index] = position;
+			this.referenceCounts[index] = referenceCount;
+		}
+	}
+
+	/**
+	 * <p>
+	 * Skips over R expressions without decoding them.
+	 * </p>
+	 *
+	 * <p>
+	 * Symbols are decoded and registered in the reference table of the parser the same way as during regular parsing.
+	 * R expressions that would register any other objects in the reference table are either rejected (strict mode),
+	 * or decoded by the parser and then discarded (non-strict mode).
+	 * </p>
+	 */
+	private class Skipper extends RExpDecoder<Void> {
+
+		private boolean strict = false;
+
+
+		private Skipper(boolean strict){
+			this.input = RExpParser.this.input;
+			this.strict = strict;
+		}
+
+		@Override
+		Void readSymbol() throws IOException {
+			RExpParser.this.readSymbol();
+
+			return null;
+		}
+
+		@Override
+		Void readPairList(int flags) throws IOException {
+
+			while(SerializationUtil.decodeType(flags) != SerializationTypes.NILVALUESXP){
+				skipAttributes(flags);
+				skipTag(flags);
+				readRExp();
+
+				flags = readInt();
+			}
+
+			return null;
+		}
+
+		@Override
+		Void readClosure(int flags) throws IOException {
+			return skipCons(flags);
+		}
+
+		@Override
+		Void readEnvironment(int flags) throws IOException {
+			return skipReferenceable(flags);
+		}
+
+		@Override
+		Void readPromise(int flags) throws IOException {
+			return skipCons(flags);
+		}
+
+		@Override
+		Void readFunctionCall(int flags) throws IOException {
+			return skipCons(flags);
+		}
+
+		@Override
+		Void readString(int flags) throws IOException {
+			int length = readInt();
+
+			if(length != -1){
+				this.input.skipByteArray(length);
+			}
+
+			return null;
+		}
+
+		@Override
+		Void readLogicalVector(int flags) throws IOException {
+			return readIntVector(flags);
+		}
+
+		@Override
+		Void readIntVector(int flags) throws IOException {
+			long length = readLength();
+
+			for(int i = 0, max = countChunks(length, RExpParser.CHUNK_SIZE); i < max; i++){
+				this.input.skipInts(chunkLength(length, i, RExpParser.CHUNK_SIZE));
+			}
+
+			skipAttributes(flags);
+
+			return null;
+		}
+
+		@Override
+		Void readRealVector(int flags) throws IOException {
+			long length = readLength();
+
+			for(int i = 0, max = countChunks(length, RExpParser.CHUNK_SIZE); i < max; i++){
+				this.input.skipDoubles(chunkLength(length, i, RExpParser.CHUNK_SIZE));
+			}
+
+			skipAttributes(flags);
+
+			return null;
+		}
+
+		@Override
+		Void readStringVector(int flags) throws IOException {
+			return readVector(flags);
+		}
+
+		@Override
+		Void readEllipsis(int flags) throws IOException {
+			return skipCons(flags);
+		}
+
+		@Override
+		Void readVector(int flags) throws IOException {
+			int length = readShortLength(flags);
+
+			for(int i = 0; i < length; i++){
+				readRExp();
+			}
+
+			skipAttributes(flags);
+
+			return null;
+		}
+
+		@Override
+		Void readBytecode(int flags) throws IOException {
+			return skipReferenceable(flags);
+		}
+
+		@Override
+		Void readExternalPointer(int flags) throws IOException {
+			return skipReferenceable(flags);
+		}
+
+		@Override
+		Void readRaw(int flags) throws IOException {
+			long length = readLength();
+
+			for(int i = 0, max = countChunks(length, RExpParser.RAW_CHUNK_SIZE); i < max; i++){
+				this.input.skipByteArray(chunkLength(length, i, RExpParser.RAW_CHUNK_SIZE));
+			}
+
+			skipAttributes(flags);
+
+			return null;
+		}
+
+		@Override
+		Void readS4Object(int flags) throws IOException {
+			skipAttributes(flags);
+
+			return null;
+		}
+
+		@Override
+		Void readAltrep(int flags) throws IOException {
+			// Info
+			readRExp();
+
+			// State
+			flags = readInt();
+
+			if(SerializationUtil.decodeType(flags) == SExpTypes.LISTSXP){
+				skipCons(flags);
+			} else
+
+			{
+				readRExp(flags);
+			}
+
+			// Attributes
+			readRExp();
+
+			return null;
+		}
+
+		@Override
+		Void readNamespace(int flags) throws IOException {
+			return skipReferenceable(flags);
+		}
+
+		@Override
+		Void readReference(int flags) throws IOException {
+			readRefIndex(flags);
+
+			return null;
+		}
+
+		@Override
+		Void readSpecial(int type){
+			return null;
+		}
+
+		private Void skipCons(int flags) throws IOException {
+			skipAttributes(flags);
+			skipTag(flags);
+			readRExp();
+			readRExp();
+
+			return null;
+		}
+
+		/**
+		 * @throws NotSkippableException In strict mode.
+		 */
+		private Void skipReferenceable(int flags) throws IOException {
+
+			if(this.strict){
+				throw new NotSkippableException();
+			}
+
+			RExpParser.this.readRExp(flags);
+
+			return null;
+		}
+
+		private void skipTag(int flags) throws IOException {
+
+			if(SerializationUtil.hasTag(flags)){
+				readRExp();
+			}
+		}
+
+		private void skipAttributes(int flags) throws IOException {
+
+			if(SerializationUtil.hasAttributes(flags)){
+				readRExp();
+			}
+		}
+	}
+
+	static
+	private class Projection {
+
+		private Map<Integer, Projection> elements = null;
+
+
+		private Projection(Map<Integer, Projection> elements){
+			this.elements = elements;
+		}
+
+		/**
+		 * @return The projection of the element, or <code>null</code> if the element should be skipped over.
+		 */
+		public Projection getElement(int index){
+			return this.elements.get(index);
+		}
+
+		static
+		private Projection create(RExp outline, Collection<String> paths){
+
+			if(!(outline instanceof RGenericVector)){
+				return null;
+			}
+
+			Projection result = new Projection(new HashMap<>());
+
+			for(String path : paths){
+				String[] names = path.split("/");
+
+				Projection projection = result;
+
+				RGenericVector list = (RGenericVector)outline;
+
+				for(int i = 0; i < names.length; i++){
+					RStringVector listNames = list.names();
+
+					int index = (listNames != null ? listNames.getDequotedValues().indexOf(names[i]) : -1);
+					if(index < 0){
+						break;
+					}
+
+					RExp element = list.getValue(index);
+
+					if((i == (names.length - 1)) || !(element instanceof RGenericVector)){
+						projection.elements.put(index, Projection.ALL);
+
+						break;
+					}
+
+					Projection elementProjection = projection.elements.get(index);
+					if(elementProjection == null){
+						elementProjection = new Projection(new HashMap<>());
+
+						projection.elements.put(index, elementProjection);
+					} else
+
+					if(elementProjection == Projection.ALL){
+						break;
+					}
+
+					projection = elementProjection;
+
+					list = (RGenericVector)element;
+				}
+			}
+
+			return result;
+		}
+
+		private static final Projection ALL = new Projection(null);
+	}
+
 	static
-	private InputStream maybeDecompress(PushbackInputStream is) throws IOException {
-		byte[] gzipMagic = new byte[2];
+	private class NotSkippableException extends RuntimeException {
 
-		ByteStreams.readFully(is, gzipMagic);
+		private NotSkippableException(){
+			super(null, null, false, false);
+		}
+	}
+
+	static
+	private boolean isList(int flags){
+		int type = SerializationUtil.decodeType(flags);
+
+		return (type == SExpTypes.VECSXP);
+	}
+
+	static
+	private boolean startsWith(byte[] bytes, int length, byte[] prefix){
+
+		if(length < prefix.length){
+			return false;
+		}
+
+		return Arrays.equals(prefix, Arrays.copyOf(bytes, prefix.length));
+	}
+
+	static
+	private RIntegerVector toFactorVector(RIntegerVector result){
+
+		if(!(result instanceof RFactorVector) && result.hasAttribute("class")){
+			RStringVector classNames = result._class();
+
+			if(classNames.indexOf("factor") > -1){
+				result = new RFactorVector(result.asIntBuffer(), result.getAttributes());
+			}
+		}
+
+		return result;
+	}
 
-		is.unread(gzipMagic);
+	static
+	private int toLength(double length){
+		int intLength = (int)length;
+
+		if(intLength != length){
+			throw new RExpException("Expected vector length, got " + length);
+		}
+
+		return intLength;
+	}
+
+	/**
+	 * <p>
+	 * Approximates the formatting of numbers by the <code>as.character</code> function.
+	 * </p>
+	 */
+	static
+	private String formatDeferredString(RNumberVector<?> vector, int index){
+
+		if(vector instanceof RIntegerVector){
+			int value = vector.getInt(index);
+
+			if(value == Integer.MIN_VALUE){
+				return null;
+			}
+
+			return Integer.toString(value);
+		}
+
+		double value = vector.getDouble(index);
+
+		if(Double.isNaN(value)){
+			return SerializationUtil.isNA(value) ? null : "NaN";
+		} else
+
+		if(Double.isInfinite(value)){
+			return (value > 0d) ? "Inf" : "-Inf";
+		}
 
-		if(Arrays.equals(RExpParser.GZIP_MAGIC, gzipMagic)){
-			return new GZIPInputStream(is);
+		BigDecimal decimal = (new BigDecimal(value)).round(new MathContext(15)).stripTrailingZeros();
+		if(decimal.signum() == 0){
+			return "0";
 		}
 
-		return is;
+		int exponent = decimal.precision() - decimal.scale() - 1;
+
+		String fixed = decimal.toPlainString();
+		String scientific = (decimal.movePointLeft(exponent)).toPlainString() + "e" + (exponent < 0 ? "-" : "+") + String.format("%02d", Math.abs(exponent));
+
+		// Prefer the fixed notation, unless the scientific notation is shorter
+		return (fixed.length() <= scientific.length()) ? fixed : scientific;
 	}
 
+	private static final int LAZY_THRESHOLD = 16 * 1024;
+
+	/**
+	 * The number of elements per chunk of a long integer or real vector (at most 1 GB of data).
+	 */
+	private static final int CHUNK_SIZE = (1 << 27);
+
+	/**
+	 * The number of bytes per chunk of a raw vector.
+	 */
+	private static final int RAW_CHUNK_SIZE = (1 << 30);
+
+	/**
+	 * The number of elements that are copied from the input to an off-heap buffer at a time.
+	 */
+	private static final int TRANSFER_SIZE = 8 * 1024;
+
 	private static final byte[] GZIP_MAGIC = {(byte)0x1f, (byte)0x8b};
+	private static final byte[] BZIP2_MAGIC = {'B', 'Z', 'h'};
+	private static final byte[] XZ_MAGIC = {(byte)0xfd, '7', 'z', 'X', 'Z', (byte)0x00};
 }
\ No newline at end of file
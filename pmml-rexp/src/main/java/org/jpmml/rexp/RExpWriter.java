@@ -21,6 +21,7 @@ package org.jpmml.rexp;
 import java.io.Closeable;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
@@ -28,6 +29,8 @@ public class RExpWriter implements Closeable {
 
 	private RDataOutput output = null;
 
+	private int version = 2;
+
 	private Map<Object, Integer> referenceTable = new LinkedHashMap<>();
 
 
@@ -64,16 +67,77 @@ public class RExpWriter implements Closeable {
 	}
 
 	public void write(RExp rexp) throws IOException {
-		this.output.writeInt(2);
+		int version = getVersion();
+
+		this.output.writeInt(version);
+		this.output.writeInt(RExpWriter.WRITER_VERSION);
+
+		switch(version){
+			case 2:
+				this.output.writeInt(RExpWriter.MIN_READER_VERSION_2);
+				break;
+			case 3:
+				{
+					this.output.writeInt(RExpWriter.MIN_READER_VERSION_3);
+
+					byte[] nativeEncoding = RExpWriter.NATIVE_ENCODING.getBytes(StandardCharsets.US_ASCII);
 
-		// XXX
-		this.output.writeInt(0);
-		this.output.writeInt(0);
+					this.output.writeInt(nativeEncoding.length);
+					this.output.writeByteArray(nativeEncoding);
+				}
+				break;
+			default:
+				throw new IllegalStateException();
+		}
 
 		rexp.write(this.output);
 	}
 
+	public int getVersion(){
+		return this.version;
+	}
+
+	/**
+	 * <p>
+	 * Sets the serialization format version.
+	 * </p>
+	 *
+	 * <p>
+	 * Version 2 is understood by all R versions since R 2.3.0.
+	 * Version 3 is the default since R 3.6.0, and additionally records the native encoding of the writer.
+	 * </p>
+	 */
+	public void setVersion(int version){
+
+		switch(version){
+			case 2:
+			case 3:
+				break;
+			default:
+				throw new IllegalArgumentException("Version " + version + " is not supported");
+		}
+
+		this.version = version;
+	}
+
 	public Map<Object, Integer> getReferenceTable(){
 		return this.referenceTable;
 	}
+
+	/**
+	 * R 4.3.0
+	 */
+	private static final int WRITER_VERSION = (4 << 16) + (3 << 8) + 0;
+
+	/**
+	 * R 2.3.0
+	 */
+	private static final int MIN_READER_VERSION_2 = (2 << 16) + (3 << 8) + 0;
+
+	/**
+	 * R 3.5.0
+	 */
+	private static final int MIN_READER_VERSION_3 = (3 << 16) + (5 << 8) + 0;
+
+	private static final String NATIVE_ENCODING = "UTF-8";
 }
\ No newline at end of file
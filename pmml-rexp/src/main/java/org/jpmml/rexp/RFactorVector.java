@@ -18,6 +18,7 @@
  */
 package org.jpmml.rexp;
 
+import java.nio.IntBuffer;
 import java.util.List;
 
 import com.google.common.base.Function;
@@ -30,6 +31,10 @@ public class RFactorVector extends RIntegerVector {
 		super(values, attributes);
 	}
 
+	public RFactorVector(IntBuffer values, RPair attributes){
+		super(values, attributes);
+	}
+
 	@Override
 	public DataType getDataType(){
 		return DataType.STRING;
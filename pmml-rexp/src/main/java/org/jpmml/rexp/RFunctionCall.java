@@ -19,6 +19,7 @@
 package org.jpmml.rexp;
 
 import java.util.Iterator;
+import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Objects;
 
@@ -30,6 +31,19 @@ public class RFunctionCall extends RPair {
 		setNext(arguments);
 	}
 
+	/**
+	 * @param function The name of the function.
+	 * @param arguments Untagged arguments. {@link RString} arguments denote symbols.
+	 */
+	public RFunctionCall(String function, List<? extends RExp> arguments){
+		this(null, new RString(function), createArguments(arguments), null);
+	}
+
+	@Override
+	int type(){
+		return SExpTypes.LANGSXP;
+	}
+
 	public boolean hasValue(String string){
 		RString value = (RString)getValue();
 
@@ -127,4 +141,26 @@ public class RFunctionCall extends RPair {
 
 		return sb.toString();
 	}
+
+	static
+	private RPair createArguments(List<? extends RExp> arguments){
+		RPair first = null;
+		RPair last = null;
+
+		for(RExp argument : arguments){
+			RPair pair = new RPair(null, argument, null);
+
+			if(first == null){
+				first = pair;
+				last = pair;
+			} else
+
+			{
+				last.setNext(pair);
+				last = pair;
+			}
+		}
+
+		return first;
+	}
 }
\ No newline at end of file
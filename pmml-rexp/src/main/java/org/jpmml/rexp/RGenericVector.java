@@ -51,6 +51,12 @@ public class RGenericVector extends RVector<RExp> {
 		for(int i = 0; i < length; i++){
 			RExp value = values.get(i);
 
+			if(value == null){
+				output.writeInt(SerializationTypes.NILVALUESXP);
+
+				continue;
+			}
+
 			value.write(output);
 		}
 	}
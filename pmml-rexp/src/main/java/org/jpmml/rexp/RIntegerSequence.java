@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-R
+ *
+ * JPMML-R is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-R is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-R.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.rexp;
+
+import java.io.IOException;
+import java.nio.IntBuffer;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * <p>
+ * An integer vector that represents an arithmetic sequence (eg. <code>1:n</code>) in constant memory.
+ * </p>
+ *
+ * <p>
+ * Corresponds to the <code>compact_intseq</code> ALTREP class.
+ * Values are computed on demand, and are only materialized when the vector is serialized,
+ * or when its values are requested as a buffer.
+ * </p>
+ */
+public class RIntegerSequence extends RIntegerVector {
+
+	private int length = 0;
+
+	private int start = 0;
+
+	private int step = 0;
+
+
+	public RIntegerSequence(int length, int start, int step, RPair attributes){
+		super((IntBuffer)null, attributes);
+
+		if(length < 0){
+			throw new IllegalArgumentException();
+		}
+
+		this.length = length;
+		this.start = start;
+		this.step = step;
+	}
+
+	@Override
+	void writeValues(RDataOutput output) throws IOException {
+		int length = this.length;
+
+		output.writeInt(length);
+
+		for(int i = 0; i < length; i++){
+			output.writeInt(getInt(i));
+		}
+	}
+
+	@Override
+	public int size(){
+		return this.length;
+	}
+
+	@Override
+	public Integer getValue(int index){
+		return getInt(index);
+	}
+
+	@Override
+	public int getInt(int index){
+		Objects.checkIndex(index, this.length);
+
+		return this.start + index * this.step;
+	}
+
+	@Override
+	public double getDouble(int index){
+		return getInt(index);
+	}
+
+	@Override
+	public RIntegerSequence slice(int offset, int length){
+		Objects.checkFromIndexSize(offset, length, this.length);
+
+		return new RIntegerSequence(length, this.start + offset * this.step, this.step, null);
+	}
+
+	/**
+	 * @return A read-only view of materialized values.
+	 */
+	@Override
+	public IntBuffer asIntBuffer(){
+		int[] values = new int[this.length];
+
+		for(int i = 0; i < values.length; i++){
+			values[i] = this.start + i * this.step;
+		}
+
+		return (IntBuffer.wrap(values)).asReadOnlyBuffer();
+	}
+
+	@Override
+	public List<Integer> getValues(){
+		return new SequenceList();
+	}
+
+	public int getStart(){
+		return this.start;
+	}
+
+	public int getStep(){
+		return this.step;
+	}
+
+	private class SequenceList extends AbstractList<Integer> implements RandomAccess {
+
+		@Override
+		public int size(){
+			return RIntegerSequence.this.size();
+		}
+
+		@Override
+		public Integer get(int index){
+			return RIntegerSequence.this.getValue(index);
+		}
+	}
+}
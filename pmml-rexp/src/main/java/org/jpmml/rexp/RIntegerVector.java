@@ -19,17 +19,17 @@
 package org.jpmml.rexp;
 
 import java.io.IOException;
+import java.nio.IntBuffer;
+import java.util.AbstractList;
 import java.util.Collections;
 import java.util.List;
+import java.util.RandomAccess;
 
-import com.google.common.base.Function;
-import com.google.common.collect.Lists;
-import com.google.common.primitives.Ints;
 import org.dmg.pmml.DataType;
 
 public class RIntegerVector extends RNumberVector<Integer> {
 
-	private int[] values = null;
+	private IntBuffer values = null;
 
 
 	public RIntegerVector(Number value, RPair attributes){
@@ -39,7 +39,7 @@ public class RIntegerVector extends RNumberVector<Integer> {
 	public RIntegerVector(List<Number> values, RPair attributes){
 		super(attributes);
 
-		this.values = values.stream()
+		int[] intValues = values.stream()
 			.mapToInt(value -> {
 
 				if(value == null){
@@ -49,9 +49,19 @@ public class RIntegerVector extends RNumberVector<Integer> {
 				return value.intValue();
 			})
 			.toArray();
+
+		this.values = IntBuffer.wrap(intValues);
 	}
 
 	public RIntegerVector(int[] values, RPair attributes){
+		this((values != null) ? IntBuffer.wrap(values) : null, attributes);
+	}
+
+	/**
+	 * @param values A buffer of values.
+	 * The buffer may be a view over memory that is not managed by the JVM heap (eg. a memory-mapped file region).
+	 */
+	public RIntegerVector(IntBuffer values, RPair attributes){
 		super(attributes);
 
 		this.values = values;
@@ -64,14 +74,14 @@ public class RIntegerVector extends RNumberVector<Integer> {
 
 	@Override
 	void writeValues(RDataOutput output) throws IOException {
-		int[] values = this.values;
+		IntBuffer values = this.values;
 
-		int lengthj = values.length;
+		int length = values.limit();
 
-		output.writeInt(lengthj);
+		output.writeInt(length);
 
-		for(int i = 0; i < lengthj; i++){
-			output.writeInt(values[i]);
+		for(int i = 0; i < length; i++){
+			output.writeInt(values.get(i));
 		}
 	}
 
@@ -82,12 +92,12 @@ public class RIntegerVector extends RNumberVector<Integer> {
 
 	@Override
 	public int size(){
-		return this.values.length;
+		return this.values.limit();
 	}
 
 	@Override
 	public Integer getValue(int index){
-		int value = this.values[index];
+		int value = this.values.get(index);
 
 		if(value == Integer.MIN_VALUE){
 			return null;
@@ -97,22 +107,58 @@ public class RIntegerVector extends RNumberVector<Integer> {
 	}
 
 	@Override
-	public List<Integer> getValues(){
-		Function<Integer, Integer> function = new Function<Integer, Integer>(){
+	public int getInt(int index){
+		return this.values.get(index);
+	}
 
-			@Override
-			public Integer apply(Integer value){
+	@Override
+	public double getDouble(int index){
+		int value = this.values.get(index);
 
-				if(value == Integer.MIN_VALUE){
-					return null;
-				}
+		if(value == Integer.MIN_VALUE){
+			return Double.NaN;
+		}
+
+		return value;
+	}
+
+	@Override
+	public RIntegerVector slice(int offset, int length){
+		IntBuffer values = this.values.duplicate();
+
+		values.limit(offset + length);
+		values.position(offset);
 
-				return value;
-			}
-		};
+		return new RIntegerVector(values.slice(), null);
+	}
 
-		return Lists.transform(Ints.asList(this.values), function);
+	/**
+	 * @return A read-only view of values.
+	 */
+	public IntBuffer asIntBuffer(){
+		return this.values.asReadOnlyBuffer();
+	}
+
+	/**
+	 * @return A read-only view of values.
+	 */
+	@Override
+	public List<Integer> getValues(){
+		return new ValueList();
 	}
 
 	public static final RIntegerVector EMPTY = new RIntegerVector(new int[0], null);
-}
\ No newline at end of file
+
+	private class ValueList extends AbstractList<Integer> implements RandomAccess {
+
+		@Override
+		public int size(){
+			return RIntegerVector.this.size();
+		}
+
+		@Override
+		public Integer get(int index){
+			return RIntegerVector.this.getValue(index);
+		}
+	}
+}
@@ -0,0 +1,233 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-R
+ *
+ * JPMML-R is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-R is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-R.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.rexp;
+
+import java.io.IOException;
+import java.util.AbstractList;
+import java.util.List;
+
+import org.dmg.pmml.DataType;
+
+/**
+ * <p>
+ * A two-dimensional view over a Fortran-ordered (ie. column-major) numeric vector.
+ * </p>
+ *
+ * <p>
+ * Columns and rows are views that share values with the underlying vector.
+ * Columns are contiguous, rows are strided.
+ * </p>
+ */
+public class RMatrix<E extends Number> {
+
+	private RNumberVector<E> values = null;
+
+	private int rows = 0;
+
+	private int columns = 0;
+
+
+	/**
+	 * <p>
+	 * Creates a view based on the <code>dim</code> attribute of the vector.
+	 * </p>
+	 */
+	public RMatrix(RNumberVector<E> values){
+		RIntegerVector dim = values.dim();
+
+		if(dim.size() != 2){
+			throw new IllegalArgumentException("Expected 2 dimensions, got " + dim.size() + " dimensions");
+		}
+
+		setValues(values, dim.getInt(0), dim.getInt(1));
+	}
+
+	public RMatrix(RNumberVector<E> values, int rows, int columns){
+		setValues(values, rows, columns);
+	}
+
+	public int getInt(int row, int column){
+		return this.values.getInt(index(row, column));
+	}
+
+	public double getDouble(int row, int column){
+		return this.values.getDouble(index(row, column));
+	}
+
+	public E getValue(int row, int column){
+		return this.values.getValue(index(row, column));
+	}
+
+	public RNumberVector<E> column(int column){
+
+		if(column < 0 || column >= this.columns){
+			throw new IndexOutOfBoundsException();
+		}
+
+		return this.values.slice(column * this.rows, this.rows);
+	}
+
+	public RNumberVector<E> row(int row){
+
+		if(row < 0 || row >= this.rows){
+			throw new IndexOutOfBoundsException();
+		}
+
+		return new StridedVector<>(this.values, row, this.rows, this.columns);
+	}
+
+	public RNumberVector<E> getValues(){
+		return this.values;
+	}
+
+	public int getRows(){
+		return this.rows;
+	}
+
+	public int getColumns(){
+		return this.columns;
+	}
+
+	private void setValues(RNumberVector<E> values, int rows, int columns){
+
+		if(values.size() != (rows * columns)){
+			throw new IllegalArgumentException("Expected " + (rows * columns) + " elements, got " + values.size() + " elements");
+		}
+
+		this.values = values;
+		this.rows = rows;
+		this.columns = columns;
+	}
+
+	private int index(int row, int column){
+
+		if(row < 0 || row >= this.rows || column < 0 || column >= this.columns){
+			throw new IndexOutOfBoundsException();
+		}
+
+		return (column * this.rows) + row;
+	}
+
+	static
+	private class StridedVector<E extends Number> extends RNumberVector<E> {
+
+		private RNumberVector<E> values = null;
+
+		private int offset = 0;
+
+		private int stride = 0;
+
+		private int size = 0;
+
+
+		private StridedVector(RNumberVector<E> values, int offset, int stride, int size){
+			super(null);
+
+			this.values = values;
+			this.offset = offset;
+			this.stride = stride;
+			this.size = size;
+		}
+
+		@Override
+		int type(){
+			return this.values.type();
+		}
+
+		@Override
+		void writeValues(RDataOutput output) throws IOException {
+			int length = size();
+
+			output.writeInt(length);
+
+			boolean real = (type() == SExpTypes.REALSXP);
+
+			for(int i = 0; i < length; i++){
+
+				if(real){
+					output.writeDouble(getDouble(i));
+				} else
+
+				{
+					output.writeInt(getInt(i));
+				}
+			}
+		}
+
+		@Override
+		public DataType getDataType(){
+			return this.values.getDataType();
+		}
+
+		@Override
+		public int size(){
+			return this.size;
+		}
+
+		@Override
+		public int getInt(int index){
+			return this.values.getInt(index(index));
+		}
+
+		@Override
+		public double getDouble(int index){
+			return this.values.getDouble(index(index));
+		}
+
+		@Override
+		public E getValue(int index){
+			return this.values.getValue(index(index));
+		}
+
+		@Override
+		public List<E> getValues(){
+			return new AbstractList<E>(){
+
+				@Override
+				public int size(){
+					return StridedVector.this.size();
+				}
+
+				@Override
+				public E get(int index){
+					return StridedVector.this.getValue(index);
+				}
+			};
+		}
+
+		@Override
+		public StridedVector<E> slice(int offset, int length){
+
+			if(offset < 0 || length < 0 || (offset + length) > this.size){
+				throw new IndexOutOfBoundsException();
+			}
+
+			return new StridedVector<>(this.values, this.offset + (offset * this.stride), this.stride, length);
+		}
+
+		private int index(int index){
+
+			if(index < 0 || index >= this.size){
+				throw new IndexOutOfBoundsException();
+			}
+
+			return this.offset + (index * this.stride);
+		}
+	}
+}
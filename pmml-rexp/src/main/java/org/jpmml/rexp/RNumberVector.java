@@ -24,4 +24,51 @@ public class RNumberVector<E extends Number> extends RVector<E> {
 	public RNumberVector(RPair attributes){
 		super(attributes);
 	}
+
+	/**
+	 * @return The value as a primitive <code>int</code>, or {@link Integer#MIN_VALUE} if it is <code>NA</code>.
+	 */
+	abstract
+	public int getInt(int index);
+
+	/**
+	 * @return The value as a primitive <code>double</code>, or {@link Double#NaN} if it is <code>NA</code>.
+	 */
+	abstract
+	public double getDouble(int index);
+
+	/**
+	 * @return The number of values.
+	 * Unlike {@link #size()}, this is not limited to the <code>int</code> range.
+	 */
+	public long longSize(){
+		return size();
+	}
+
+	/**
+	 * @see #getInt(int)
+	 */
+	public int getInt(long index){
+		return getInt(Math.toIntExact(index));
+	}
+
+	/**
+	 * @see #getDouble(int)
+	 */
+	public double getDouble(long index){
+		return getDouble(Math.toIntExact(index));
+	}
+
+	/**
+	 * <p>
+	 * Creates a view of a contiguous range of values.
+	 * The view shares values with this vector, and does not have any attributes.
+	 * </p>
+	 *
+	 * <p>
+	 * A column of a Fortran-ordered (ie. column-major) matrix is a contiguous range of values.
+	 * </p>
+	 */
+	abstract
+	public RNumberVector<E> slice(int offset, int length);
 }
\ No newline at end of file
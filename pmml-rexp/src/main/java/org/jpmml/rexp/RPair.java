@@ -45,10 +45,14 @@ public class RPair extends RExp {
 		RPair attributes = getAttributes();
 		RPair next = getNext();
 
-		int flags = SExpTypes.LISTSXP;
+		int flags = type();
 
 		if(attributes != null){
 			flags = SerializationUtil.setHasAttributes(flags);
+
+			if(hasAttribute("class")){
+				flags = SerializationUtil.setIsObject(flags);
+			}
 		} // End if
 
 		if(tag != null){
@@ -62,29 +66,21 @@ public class RPair extends RExp {
 		} // End if
 
 		if(tag != null){
-			RString string = (RString)tag;
-
-			RExpWriter writer = output.getWriter();
-
-			Map<Object, Integer> referenceTable = writer.getReferenceTable();
-
-			Integer index = referenceTable.get(string.getValue());
-			if(index == null){
-				referenceTable.put(string.getValue(), referenceTable.size() + 1);
-
-				output.writeInt(SExpTypes.SYMSXP);
-
-				string.write(output);
-			} else
+			writeSymbol((RString)tag, output);
+		} // End if
 
-			{
-				output.writeInt(SerializationTypes.REFSXP);
+		// Pairlist values are never bare CHARSXPs, so a string value must be a symbol
+		if(value instanceof RString){
+			writeSymbol((RString)value, output);
+		} else
 
-				output.writeInt(index);
-			}
-		}
+		if(value != null){
+			value.write(output);
+		} else
 
-		value.write(output);
+		{
+			output.writeInt(SerializationTypes.NILVALUESXP);
+		} // End if
 
 		if(next != null){
 			next.write(output);
@@ -95,6 +91,10 @@ public class RPair extends RExp {
 		}
 	}
 
+	int type(){
+		return SExpTypes.LISTSXP;
+	}
+
 	public RPair getValue(int index){
 		RPair result = this;
 
@@ -143,4 +143,26 @@ public class RPair extends RExp {
 	void setNext(RPair next){
 		this.next = next;
 	}
+
+	static
+	private void writeSymbol(RString symbol, RDataOutput output) throws IOException {
+		RExpWriter writer = output.getWriter();
+
+		Map<Object, Integer> referenceTable = writer.getReferenceTable();
+
+		Integer index = referenceTable.get(symbol.getValue());
+		if(index == null){
+			referenceTable.put(symbol.getValue(), referenceTable.size() + 1);
+
+			output.writeInt(SExpTypes.SYMSXP);
+
+			symbol.write(output);
+		} else
+
+		{
+			output.writeInt(SerializationTypes.REFSXP);
+
+			output.writeInt(index);
+		}
+	}
 }
\ No newline at end of file
@@ -41,7 +41,6 @@ import org.jpmml.converter.DiscreteFeature;
 import org.jpmml.converter.ExceptionUtil;
 import org.jpmml.converter.Feature;
 import org.jpmml.converter.FeatureImportanceMap;
-import org.jpmml.converter.FortranMatrixUtil;
 import org.jpmml.converter.ModelUtil;
 import org.jpmml.converter.Schema;
 import org.jpmml.converter.SchemaException;
@@ -134,7 +133,9 @@ public class RPartConverter extends TreeModelConverter<RGenericVector> implement
 
 		RIntegerVector rowNames = frame.getIntegerAttribute("row.names");
 
-		if((rowNames.getValues()).indexOf(Integer.MIN_VALUE) > -1){
+		IntIndex rowNameIndex = new IntIndex(rowNames);
+
+		if(rowNameIndex.indexOf(Integer.MIN_VALUE) > -1){
 			throw new IllegalArgumentException();
 		}
 
@@ -153,9 +154,9 @@ public class RPartConverter extends TreeModelConverter<RGenericVector> implement
 
 		switch(method.asScalar()){
 			case "anova":
-				return encodeRegression(frame, rowNames, var, n, splitInfo, splits, csplit, schema);
+				return encodeRegression(frame, rowNames, rowNameIndex, var, n, splitInfo, splits, csplit, schema);
 			case "class":
-				return encodeClassification(frame, rowNames, var, n, splitInfo, splits, csplit, schema);
+				return encodeClassification(frame, rowNames, rowNameIndex, var, n, splitInfo, splits, csplit, schema);
 			default:
 				throw new RExpException("Method " + ExceptionUtil.formatParameter(method.asScalar()) + " is not supported");
 		}
@@ -185,7 +186,7 @@ public class RPartConverter extends TreeModelConverter<RGenericVector> implement
 		return result;
 	}
 
-	private TreeModel encodeRegression(RGenericVector frame, RIntegerVector rowNames, RVector<?> var, RIntegerVector n, int[][] splitInfo, RNumberVector<?> splits, RIntegerVector csplit, Schema schema){
+	private TreeModel encodeRegression(RGenericVector frame, RIntegerVector rowNames, IntIndex rowNameIndex, RVector<?> var, RIntegerVector n, int[][] splitInfo, RNumberVector<?> splits, RIntegerVector csplit, Schema schema){
 		RNumberVector<?> yval = frame.getNumericElement("yval");
 
 		ScoreEncoder scoreEncoder = new ScoreEncoder(){
@@ -203,14 +204,14 @@ public class RPartConverter extends TreeModelConverter<RGenericVector> implement
 			}
 		};
 
-		Node root = encodeNode(True.INSTANCE, 1, rowNames, var, n, splitInfo, splits, csplit, scoreEncoder, schema);
+		Node root = encodeNode(True.INSTANCE, 1, rowNameIndex, var, n, splitInfo, splits, csplit, scoreEncoder, schema);
 
 		TreeModel treeModel = new TreeModel(MiningFunction.REGRESSION, ModelUtil.createMiningSchema(schema), root);
 
 		return configureTreeModel(treeModel);
 	}
 
-	private TreeModel encodeClassification(RGenericVector frame, RIntegerVector rowNames, RVector<?> var, RIntegerVector n, int[][] splitInfo, RNumberVector<?> splits, RIntegerVector csplit, Schema schema){
+	private TreeModel encodeClassification(RGenericVector frame, RIntegerVector rowNames, IntIndex rowNameIndex, RVector<?> var, RIntegerVector n, int[][] splitInfo, RNumberVector<?> splits, RIntegerVector csplit, Schema schema){
 		RDoubleVector yval2 = frame.getDoubleElement("yval2");
 
 		CategoricalLabel categoricalLabel = schema.requireCategoricalLabel();
@@ -219,35 +220,14 @@ public class RPartConverter extends TreeModelConverter<RGenericVector> implement
 
 		boolean hasScoreDistribution = hasScoreDistribution();
 
-		ScoreEncoder scoreEncoder = new ScoreEncoder(){
-
-			private List<Integer> classes = null;
-
-			private List<List<? extends Number>> recordCounts = null;
-
-
-			{
-				int rows = rowNames.size();
-				int columns = 1 + (2 * categories.size()) + 1;
-
-				List<Integer> classes = ValueUtil.asIntegers(FortranMatrixUtil.getColumn(yval2.getValues(), rows, columns, 0));
-
-				this.classes = new ArrayList<>(classes);
-
-				if(hasScoreDistribution){
-					this.recordCounts = new ArrayList<>();
+		// Columns "class", counts, probabilities and "nodeprob"
+		RMatrix<Double> yval2Matrix = new RMatrix<>(yval2, rowNames.size(), 1 + (2 * categories.size()) + 1);
 
-					for(int i = 0; i < categories.size(); i++){
-						List<? extends Number> recordCounts = FortranMatrixUtil.getColumn(yval2.getValues(), rows, columns, 1 + i);
-
-						this.recordCounts.add(new ArrayList<>(recordCounts));
-					}
-				}
-			}
+		ScoreEncoder scoreEncoder = new ScoreEncoder(){
 
 			@Override
 			public Node encode(Node node, int offset){
-				Object score = categories.get(this.classes.get(offset) - 1);
+				Object score = categories.get(yval2Matrix.getInt(offset, 0) - 1);
 				Integer recordCount = n.getValue(offset);
 
 				node
@@ -260,11 +240,9 @@ public class RPartConverter extends TreeModelConverter<RGenericVector> implement
 					List<ScoreDistribution> scoreDistributions = node.getScoreDistributions();
 
 					for(int i = 0; i < categories.size(); i++){
-						List<? extends Number> recordCounts = this.recordCounts.get(i);
-
 						ScoreDistribution scoreDistribution = new ScoreFrequency()
 							.setValue(categories.get(i))
-							.setRecordCount(recordCounts.get(offset));
+							.setRecordCount(yval2Matrix.getDouble(offset, 1 + i));
 
 						scoreDistributions.add(scoreDistribution);
 					}
@@ -274,7 +252,7 @@ public class RPartConverter extends TreeModelConverter<RGenericVector> implement
 			}
 		};
 
-		Node root = encodeNode(True.INSTANCE, 1, rowNames, var, n, splitInfo, splits, csplit, scoreEncoder, schema);
+		Node root = encodeNode(True.INSTANCE, 1, rowNameIndex, var, n, splitInfo, splits, csplit, scoreEncoder, schema);
 
 		TreeModel treeModel = new TreeModel(MiningFunction.CLASSIFICATION, ModelUtil.createMiningSchema(schema), root);
 
@@ -310,8 +288,8 @@ public class RPartConverter extends TreeModelConverter<RGenericVector> implement
 		return treeModel;
 	}
 
-	private Node encodeNode(Predicate predicate, int rowName, RIntegerVector rowNames, RVector<?> var, RIntegerVector n, int[][] splitInfo, RNumberVector<?> splits, RIntegerVector csplit, ScoreEncoder scoreEncoder, Schema schema){
-		int offset = getIndex(rowNames, rowName);
+	private Node encodeNode(Predicate predicate, int rowName, IntIndex rowNameIndex, RVector<?> var, RIntegerVector n, int[][] splitInfo, RNumberVector<?> splits, RIntegerVector csplit, ScoreEncoder scoreEncoder, Schema schema){
+		int offset = getIndex(rowNameIndex, rowName);
 
 		Integer id = Integer.valueOf(rowName);
 
@@ -331,10 +309,10 @@ public class RPartConverter extends TreeModelConverter<RGenericVector> implement
 		Integer majorityDir = null;
 
 		if(this.useSurrogate == 2){
-			int leftOffset = getIndex(rowNames, leftRowName);
-			int rightOffset = getIndex(rowNames, rightRowName);
+			int leftOffset = getIndex(rowNameIndex, leftRowName);
+			int rightOffset = getIndex(rowNameIndex, rightRowName);
 
-			majorityDir = Double.compare(n.getValue(leftOffset), n.getValue(rightOffset));
+			majorityDir = Integer.compare(n.getInt(leftOffset), n.getInt(rightOffset));
 		}
 
 		Feature feature = features.get(splitVar - 1);
@@ -373,8 +351,8 @@ public class RPartConverter extends TreeModelConverter<RGenericVector> implement
 			rightPredicate = rightCompoundPredicate;
 		}
 
-		Node leftChild = encodeNode(leftPredicate, leftRowName, rowNames, var, n, splitInfo, splits, csplit, scoreEncoder, schema);
-		Node rightChild = encodeNode(rightPredicate, rightRowName, rowNames, var, n, splitInfo, splits, csplit, scoreEncoder, schema);
+		Node leftChild = encodeNode(leftPredicate, leftRowName, rowNameIndex, var, n, splitInfo, splits, csplit, scoreEncoder, schema);
+		Node rightChild = encodeNode(rightPredicate, rightRowName, rowNameIndex, var, n, splitInfo, splits, csplit, scoreEncoder, schema);
 
 		if(this.useSurrogate == 2){
 
@@ -403,17 +381,12 @@ public class RPartConverter extends TreeModelConverter<RGenericVector> implement
 		Predicate leftPredicate;
 		Predicate rightPredicate;
 
-		RIntegerVector splitsDim = splits.dim();
-
-		int splitRows = splitsDim.getValue(0);
-		int splitColumns = splitsDim.getValue(1);
+		RMatrix<?> splitsMatrix = new RMatrix<>(splits);
 
-		List<? extends Number> ncat = FortranMatrixUtil.getColumn(splits.getValues(), splitRows, splitColumns, 1);
-		List<? extends Number> index = FortranMatrixUtil.getColumn(splits.getValues(), splitRows, splitColumns, 3);
+		// Columns "ncat" and "index"
+		int splitType = splitsMatrix.getInt(splitOffset, 1);
 
-		int splitType = ValueUtil.asInt(ncat.get(splitOffset));
-
-		Number splitValue = index.get(splitOffset);
+		Number splitValue = splitsMatrix.getValue(splitOffset, 3);
 
 		if(Math.abs(splitType) == 1){
 			SimplePredicate.Operator leftOperator;
@@ -436,12 +409,9 @@ public class RPartConverter extends TreeModelConverter<RGenericVector> implement
 		{
 			DiscreteFeature discreteFeature = (DiscreteFeature)feature;
 
-			RIntegerVector csplitDim = csplit.dim();
-
-			int csplitRows = csplitDim.getValue(0);
-			int csplitColumns = csplitDim.getValue(1);
+			RMatrix<Integer> csplitMatrix = new RMatrix<>(csplit);
 
-			List<Integer> csplitRow = FortranMatrixUtil.getRow(csplit.getValues(), csplitRows, csplitColumns, ValueUtil.asInt(splitValue) - 1);
+			RNumberVector<Integer> csplitRow = csplitMatrix.row(ValueUtil.asInt(splitValue) - 1);
 
 			List<?> values = discreteFeature.getValues();
 
@@ -519,8 +489,8 @@ public class RPartConverter extends TreeModelConverter<RGenericVector> implement
 	}
 
 	static
-	private int getIndex(RIntegerVector rowNames, int rowName){
-		int index = rowNames.indexOf(rowName);
+	private int getIndex(IntIndex rowNameIndex, int rowName){
+		int index = rowNameIndex.indexOf(rowName);
 		if(index < 0){
 			throw new IllegalArgumentException();
 		}
@@ -529,12 +499,12 @@ public class RPartConverter extends TreeModelConverter<RGenericVector> implement
 	}
 
 	static
-	private <E> List<E> selectValues(List<E> values, List<Integer> valueFlags, int flag){
+	private <E> List<E> selectValues(List<E> values, RNumberVector<Integer> valueFlags, int flag){
 		List<E> result = new ArrayList<>(values.size());
 
 		for(int i = 0; i < values.size(); i++){
 			E value = values.get(i);
-			Integer valueFlag = valueFlags.get(i);
+			int valueFlag = valueFlags.getInt(i);
 
 			if(valueFlag == flag){
 				result.add(value);
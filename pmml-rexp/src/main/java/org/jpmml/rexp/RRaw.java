@@ -18,22 +18,188 @@
  */
 package org.jpmml.rexp;
 
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
 public class RRaw extends RExp {
 
-	private byte[] value = null;
+	private ByteBuffer[] chunks = null;
+
+	private int chunkShift = 0;
+
+	private long length = 0L;
 
 
 	public RRaw(byte[] value, RPair attributes){
+		this(new ByteBuffer[]{ByteBuffer.wrap(value)}, attributes);
+	}
+
+	/**
+	 * @param chunks Buffers of bytes.
+	 * All buffers except the last one must have the same size, which must be a power of two.
+	 * The buffers may be views over memory that is not managed by the JVM heap (eg. a memory-mapped file region).
+	 */
+	public RRaw(ByteBuffer[] chunks, RPair attributes){
 		super(attributes);
 
-		setValue(value);
+		this.chunks = chunks;
+		this.chunkShift = ChunkUtil.checkChunks(chunks);
+		this.length = ChunkUtil.sumChunks(chunks);
+	}
+
+	/**
+	 * @return The number of bytes.
+	 */
+	public long longSize(){
+		return this.length;
 	}
 
+	public byte getByte(long index){
+		ChunkUtil.checkIndex(index, this.length);
+
+		ByteBuffer chunk = this.chunks[(int)(index >>> this.chunkShift)];
+
+		return chunk.get((int)(index & ((1L << this.chunkShift) - 1)));
+	}
+
+	/**
+	 * <p>
+	 * Gets the bytes as a single array.
+	 * Prefer {@link #getInputStream()} for large payloads, as it does not copy bytes.
+	 * </p>
+	 *
+	 * @throws RExpException If the payload is too long to fit into an array.
+	 */
 	public byte[] getValue(){
-		return this.value;
+		ByteBuffer[] chunks = this.chunks;
+
+		if(chunks.length == 1){
+			ByteBuffer chunk = chunks[0];
+
+			if(chunk.hasArray() && chunk.arrayOffset() == 0 && (chunk.array()).length == chunk.limit()){
+				return chunk.array();
+			}
+		}
+
+		byte[] result = new byte[ChunkUtil.toIntSize(this.length)];
+
+		int offset = 0;
+
+		for(ByteBuffer chunk : chunks){
+			int length = chunk.limit();
+
+			(chunk.duplicate()).get(result, offset, length);
+
+			offset += length;
+		}
+
+		return result;
 	}
 
-	private void setValue(byte[] value){
-		this.value = value;
+	/**
+	 * @return A stream of bytes, which reads directly from the underlying buffers.
+	 */
+	public InputStream getInputStream(){
+		ByteBuffer[] chunks = new ByteBuffer[this.chunks.length];
+
+		for(int i = 0; i < chunks.length; i++){
+			chunks[i] = (this.chunks[i]).duplicate();
+
+			chunks[i].position(0);
+		}
+
+		return new ChunkInputStream(chunks);
+	}
+
+	static
+	private class ChunkInputStream extends InputStream {
+
+		private ByteBuffer[] chunks = null;
+
+		private int index = 0;
+
+
+		private ChunkInputStream(ByteBuffer[] chunks){
+			this.chunks = chunks;
+		}
+
+		@Override
+		public int read(){
+			ByteBuffer chunk = nextChunk();
+
+			if(chunk == null){
+				return -1;
+			}
+
+			return (chunk.get() & 0xFF);
+		}
+
+		@Override
+		public int read(byte[] bytes, int offset, int length){
+
+			if(length == 0){
+				return 0;
+			}
+
+			ByteBuffer chunk = nextChunk();
+
+			if(chunk == null){
+				return -1;
+			}
+
+			length = Math.min(length, chunk.remaining());
+
+			chunk.get(bytes, offset, length);
+
+			return length;
+		}
+
+		@Override
+		public long skip(long length){
+			long result = 0L;
+
+			while(result < length){
+				ByteBuffer chunk = nextChunk();
+
+				if(chunk == null){
+					break;
+				}
+
+				int count = (int)Math.min(length - result, chunk.remaining());
+
+				chunk.position(chunk.position() + count);
+
+				result += count;
+			}
+
+			return result;
+		}
+
+		@Override
+		public int available(){
+			ByteBuffer chunk = nextChunk();
+
+			if(chunk == null){
+				return 0;
+			}
+
+			return chunk.remaining();
+		}
+
+		private ByteBuffer nextChunk(){
+			ByteBuffer[] chunks = this.chunks;
+
+			while(this.index < chunks.length){
+				ByteBuffer chunk = chunks[this.index];
+
+				if(chunk.hasRemaining()){
+					return chunk;
+				}
+
+				this.index++;
+			}
+
+			return null;
+		}
 	}
-}
\ No newline at end of file
+}
@@ -19,6 +19,7 @@
 package org.jpmml.rexp;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 
 public class RString extends RExp {
 
@@ -35,17 +36,27 @@ public class RString extends RExp {
 	public void write(RDataOutput output) throws IOException {
 		String value = getValue();
 
-		output.writeInt(SExpTypes.CHARSXP);
+		int flags = SExpTypes.CHARSXP;
 
 		if(value == null){
+			output.writeInt(flags);
 			output.writeInt(-1);
 		} else
 
 		{
 			value = output.escape(value);
 
-			byte[] bytes = value.getBytes();
+			byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
 
+			if(bytes.length == value.length()){
+				flags = SerializationUtil.setASCIICharset(flags);
+			} else
+
+			{
+				flags = SerializationUtil.setUTF8Charset(flags);
+			}
+
+			output.writeInt(flags);
 			output.writeInt(bytes.length);
 			output.writeByteArray(bytes);
 		}
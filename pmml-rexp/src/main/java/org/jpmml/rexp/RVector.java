@@ -19,6 +19,7 @@
 package org.jpmml.rexp;
 
 import java.io.IOException;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 
@@ -29,6 +30,9 @@ import org.jpmml.converter.ExceptionUtil;
 abstract
 public class RVector<E> extends RExp implements Iterable<E> {
 
+	private volatile NameIndex nameIndex = null;
+
+
 	public RVector(RPair attributes){
 		super(attributes);
 	}
@@ -59,6 +63,10 @@ public class RVector<E> extends RExp implements Iterable<E> {
 
 		if(attributes != null){
 			flags = SerializationUtil.setHasAttributes(flags);
+
+			if(hasAttribute("class")){
+				flags = SerializationUtil.setIsObject(flags);
+			}
 		}
 
 		output.writeInt(flags);
@@ -132,13 +140,9 @@ public class RVector<E> extends RExp implements Iterable<E> {
 			return false;
 		}
 
-		RStringVector names = names();
-
-		List<String> values = names.getDequotedValues();
-
-		int index = values.indexOf(name);
+		NameIndex nameIndex = getNameIndex();
 
-		return (index > -1);
+		return nameIndex.containsKey(name);
 	}
 
 	private E findElement(String name, boolean required){
@@ -147,12 +151,10 @@ public class RVector<E> extends RExp implements Iterable<E> {
 			return null;
 		}
 
-		RStringVector names = names();
-
-		List<String> values = names.getDequotedValues();
+		NameIndex nameIndex = getNameIndex();
 
-		int index = values.indexOf(name);
-		if(index > -1){
+		Integer index = nameIndex.get(name);
+		if(index != null){
 			return getValue(index);
 		} // End if
 
@@ -162,4 +164,55 @@ public class RVector<E> extends RExp implements Iterable<E> {
 
 		return null;
 	}
+
+	/**
+	 * <p>
+	 * Maps dequoted names to element indices.
+	 * The index is built on first access, and rebuilt whenever the <code>names</code> attribute is replaced.
+	 * </p>
+	 */
+	private NameIndex getNameIndex(){
+		RStringVector names = names();
+
+		NameIndex nameIndex = this.nameIndex;
+
+		if(nameIndex == null || nameIndex.getNames() != names){
+			nameIndex = new NameIndex(names);
+
+			this.nameIndex = nameIndex;
+		}
+
+		return nameIndex;
+	}
+
+	static
+	private class NameIndex extends HashMap<String, Integer> {
+
+		private RStringVector names = null;
+
+
+		private NameIndex(RStringVector names){
+			super(2 * names.size());
+
+			this.names = names;
+
+			List<String> values = names.getValues();
+			List<String> dequotedValues = names.getDequotedValues();
+
+			for(int i = 0; i < values.size(); i++){
+
+				// NA names cannot be looked up
+				if(values.get(i) == null){
+					continue;
+				}
+
+				// The first element wins
+				putIfAbsent(dequotedValues.get(i), i);
+			}
+		}
+
+		public RStringVector getNames(){
+			return this.names;
+		}
+	}
 }
\ No newline at end of file
@@ -19,7 +19,9 @@
 package org.jpmml.rexp;
 
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 import com.google.common.math.DoubleMath;
 import com.google.common.primitives.UnsignedLong;
@@ -47,7 +49,6 @@ import org.jpmml.converter.DiscreteFeature;
 import org.jpmml.converter.ExceptionUtil;
 import org.jpmml.converter.Feature;
 import org.jpmml.converter.FeatureImportanceMap;
-import org.jpmml.converter.FortranMatrixUtil;
 import org.jpmml.converter.ModelUtil;
 import org.jpmml.converter.Schema;
 import org.jpmml.converter.ValueUtil;
@@ -239,24 +240,24 @@ public class RandomForestConverter extends TreeModelConverter<RGenericVector> im
 		int rows = nrnodes.asScalar();
 		int columns = ValueUtil.asInt(ntree.asScalar());
 
-		Schema segmentSchema = schema.toAnonymousSchema();
-
-		List<TreeModel> treeModels = new ArrayList<>();
-
-		for(int i = 0; i < columns; i++){
-			TreeModel treeModel = encodeTreeModel(
-					MiningFunction.REGRESSION,
-					scoreEncoder,
-					FortranMatrixUtil.getColumn(leftDaughter.getValues(), rows, columns, i),
-					FortranMatrixUtil.getColumn(rightDaughter.getValues(), rows, columns, i),
-					FortranMatrixUtil.getColumn(nodepred.getValues(), rows, columns, i),
-					FortranMatrixUtil.getColumn(bestvar.getValues(), rows, columns, i),
-					FortranMatrixUtil.getColumn(xbestsplit.getValues(), rows, columns, i),
-					segmentSchema
-				);
-
-			treeModels.add(treeModel);
-		}
+		RMatrix<?> leftDaughterMatrix = new RMatrix<>(leftDaughter, rows, columns);
+		RMatrix<?> rightDaughterMatrix = new RMatrix<>(rightDaughter, rows, columns);
+		RMatrix<Double> nodepredMatrix = new RMatrix<>(nodepred, rows, columns);
+		RMatrix<?> bestvarMatrix = new RMatrix<>(bestvar, rows, columns);
+		RMatrix<Double> xbestsplitMatrix = new RMatrix<>(xbestsplit, rows, columns);
+
+		Schema segmentSchema = toSegmentSchema(schema);
+
+		List<TreeModel> treeModels = encodeTreeModels(columns, i -> encodeTreeModel(
+			MiningFunction.REGRESSION,
+			scoreEncoder,
+			leftDaughterMatrix.column(i),
+			rightDaughterMatrix.column(i),
+			nodepredMatrix.column(i),
+			bestvarMatrix.column(i),
+			xbestsplitMatrix.column(i),
+			segmentSchema
+		), i -> selectSplitFeatures(bestvarMatrix.column(i), segmentSchema));
 
 		MiningModel miningModel = new MiningModel(MiningFunction.REGRESSION, ModelUtil.createMiningSchema(schema))
 			.setSegmentation(MiningModelUtil.createSegmentation(Segmentation.MultipleModelMethod.AVERAGE, Segmentation.MissingPredictionTreatment.RETURN_MISSING, treeModels));
@@ -285,26 +286,24 @@ public class RandomForestConverter extends TreeModelConverter<RGenericVector> im
 			}
 		};
 
-		Schema segmentSchema = schema.toAnonymousSchema();
-
-		List<TreeModel> treeModels = new ArrayList<>();
-
-		for(int i = 0; i < columns; i++){
-			List<? extends Number> daughters = FortranMatrixUtil.getColumn(treemap.getValues(), 2 * rows, columns, i);
-
-			TreeModel treeModel = encodeTreeModel(
-					MiningFunction.CLASSIFICATION,
-					scoreEncoder,
-					FortranMatrixUtil.getColumn(daughters, rows, 2, 0),
-					FortranMatrixUtil.getColumn(daughters, rows, 2, 1),
-					FortranMatrixUtil.getColumn(nodepred.getValues(), rows, columns, i),
-					FortranMatrixUtil.getColumn(bestvar.getValues(), rows, columns, i),
-					FortranMatrixUtil.getColumn(xbestsplit.getValues(), rows, columns, i),
-					segmentSchema
-				);
-
-			treeModels.add(treeModel);
-		}
+		// The treemap array has two columns (left and right daughters) per tree
+		RMatrix<?> treemapMatrix = new RMatrix<>(treemap, rows, 2 * columns);
+		RMatrix<Integer> nodepredMatrix = new RMatrix<>(nodepred, rows, columns);
+		RMatrix<?> bestvarMatrix = new RMatrix<>(bestvar, rows, columns);
+		RMatrix<Double> xbestsplitMatrix = new RMatrix<>(xbestsplit, rows, columns);
+
+		Schema segmentSchema = toSegmentSchema(schema);
+
+		List<TreeModel> treeModels = encodeTreeModels(columns, i -> encodeTreeModel(
+			MiningFunction.CLASSIFICATION,
+			scoreEncoder,
+			treemapMatrix.column(2 * i),
+			treemapMatrix.column((2 * i) + 1),
+			nodepredMatrix.column(i),
+			bestvarMatrix.column(i),
+			xbestsplitMatrix.column(i),
+			segmentSchema
+		), i -> selectSplitFeatures(bestvarMatrix.column(i), segmentSchema));
 
 		MiningModel miningModel = new MiningModel(MiningFunction.CLASSIFICATION, ModelUtil.createMiningSchema(categoricalLabel))
 			.setSegmentation(MiningModelUtil.createSegmentation(Segmentation.MultipleModelMethod.MAJORITY_VOTE, Segmentation.MissingPredictionTreatment.RETURN_MISSING, treeModels))
@@ -313,7 +312,7 @@ public class RandomForestConverter extends TreeModelConverter<RGenericVector> im
 		return miningModel;
 	}
 
-	private <P extends Number> TreeModel encodeTreeModel(MiningFunction miningFunction, ScoreEncoder<P> scoreEncoder, List<? extends Number> leftDaughter, List<? extends Number> rightDaughter, List<P> nodepred, List<? extends Number> bestvar, List<Double> xbestsplit, Schema schema){
+	private <P extends Number> TreeModel encodeTreeModel(MiningFunction miningFunction, ScoreEncoder<P> scoreEncoder, RNumberVector<?> leftDaughter, RNumberVector<?> rightDaughter, RNumberVector<P> nodepred, RNumberVector<?> bestvar, RNumberVector<Double> xbestsplit, Schema schema){
 		RGenericVector randomForest = getObject();
 
 		Node root = encodeNode(True.INSTANCE, 0, scoreEncoder, leftDaughter, rightDaughter, bestvar, xbestsplit, nodepred, new CategoryManager(), schema);
@@ -331,12 +330,27 @@ public class RandomForestConverter extends TreeModelConverter<RGenericVector> im
 		return treeModel;
 	}
 
-	private <P extends Number> Node encodeNode(Predicate predicate, int i, ScoreEncoder<P> scoreEncoder, List<? extends Number> leftDaughter, List<? extends Number> rightDaughter, List<? extends Number> bestvar, List<Double> xbestsplit, List<P> nodepred, CategoryManager categoryManager, Schema schema){
+	private Set<Feature> selectSplitFeatures(RNumberVector<?> bestvar, Schema schema){
+		Set<Feature> result = new LinkedHashSet<>();
+
+		// Terminal nodes and unused rows have no split variable
+		for(int i = 0; i < bestvar.size(); i++){
+			int var = bestvar.getInt(i);
+
+			if(var != 0){
+				result.add(schema.getFeature(var - 1));
+			}
+		}
+
+		return result;
+	}
+
+	private <P extends Number> Node encodeNode(Predicate predicate, int i, ScoreEncoder<P> scoreEncoder, RNumberVector<?> leftDaughter, RNumberVector<?> rightDaughter, RNumberVector<?> bestvar, RNumberVector<Double> xbestsplit, RNumberVector<P> nodepred, CategoryManager categoryManager, Schema schema){
 		Integer id = Integer.valueOf(i + 1);
 
-		int var = ValueUtil.asInt(bestvar.get(i));
+		int var = bestvar.getInt(i);
 		if(var == 0){
-			P prediction = nodepred.get(i);
+			P prediction = nodepred.getValue(i);
 
 			Node result = new LeafNode(scoreEncoder.encode(prediction), predicate)
 				.setId(id);
@@ -352,7 +366,7 @@ public class RandomForestConverter extends TreeModelConverter<RGenericVector> im
 
 		Feature feature = schema.getFeature(var - 1);
 
-		Double split = xbestsplit.get(i);
+		double split = xbestsplit.getDouble(i);
 
 		if(feature instanceof BooleanFeature){
 			BooleanFeature booleanFeature = (BooleanFeature)feature;
@@ -395,14 +409,14 @@ public class RandomForestConverter extends TreeModelConverter<RGenericVector> im
 
 		List<Node> nodes = result.getNodes();
 
-		int left = ValueUtil.asInt(leftDaughter.get(i));
+		int left = leftDaughter.getInt(i);
 		if(left != 0){
 			Node leftChild = encodeNode(leftPredicate, left - 1, scoreEncoder, leftDaughter, rightDaughter, bestvar, xbestsplit, nodepred, leftCategoryManager, schema);
 
 			nodes.add(leftChild);
 		}
 
-		int right = ValueUtil.asInt(rightDaughter.get(i));
+		int right = rightDaughter.getInt(i);
 		if(right != 0){
 			Node rightChild = encodeNode(rightPredicate, right - 1, scoreEncoder, leftDaughter, rightDaughter, bestvar, xbestsplit, nodepred, rightCategoryManager, schema);
 
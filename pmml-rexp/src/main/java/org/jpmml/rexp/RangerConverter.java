@@ -18,8 +18,9 @@
  */
 package org.jpmml.rexp;
 
-import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.dmg.pmml.DataField;
@@ -50,6 +51,7 @@ import org.jpmml.converter.Schema;
 import org.jpmml.converter.ValueUtil;
 import org.jpmml.converter.mining.MiningModelUtil;
 
+@ElementPaths({"forest", "treetype", "variable.levels", "importance.mode", "variable.importance"})
 public class RangerConverter extends TreeModelConverter<RGenericVector> implements HasFeatureImportances {
 
 	boolean hasDependentVar = false;
@@ -273,17 +275,37 @@ public class RangerConverter extends TreeModelConverter<RGenericVector> implemen
 		RGenericVector splitValues = forest.getGenericElement("split.values");
 		RGenericVector terminalClassCounts = forest.getGenericElement("terminal.class.counts", false);
 
-		Schema segmentSchema = schema.toAnonymousSchema();
+		Schema segmentSchema = toSegmentSchema(schema);
 
-		List<TreeModel> treeModels = new ArrayList<>();
+		List<TreeModel> treeModels = encodeTreeModels(ValueUtil.asInt(numTrees.asScalar()),
+			i -> encodeTreeModel(miningFunction, scoreEncoder, childNodeIDs.getGenericValue(i), splitVarIDs.getNumericValue(i), splitValues.getNumericValue(i), (terminalClassCounts != null ? terminalClassCounts.getGenericValue(i) : null), segmentSchema),
+			i -> selectSplitFeatures(childNodeIDs.getGenericValue(i), splitVarIDs.getNumericValue(i), segmentSchema)
+		);
 
-		for(int i = 0; i < ValueUtil.asInt(numTrees.asScalar()); i++){
-			TreeModel treeModel = encodeTreeModel(miningFunction, scoreEncoder, childNodeIDs.getGenericValue(i), splitVarIDs.getNumericValue(i), splitValues.getNumericValue(i), (terminalClassCounts != null ? terminalClassCounts.getGenericValue(i) : null), segmentSchema);
+		return treeModels;
+	}
+
+	private Set<Feature> selectSplitFeatures(RGenericVector childNodeIDs, RNumberVector<?> splitVarIDs, Schema schema){
+		RNumberVector<?> leftChildIDs = childNodeIDs.getNumericValue(0);
+		RNumberVector<?> rightChildIDs = childNodeIDs.getNumericValue(1);
+
+		Set<Feature> result = new LinkedHashSet<>();
 
-			treeModels.add(treeModel);
+		// All nodes are reachable
+		for(int i = 0; i < splitVarIDs.size(); i++){
+			int leftIndex = leftChildIDs.getInt(i);
+			int rightIndex = rightChildIDs.getInt(i);
+
+			if(leftIndex == 0 && rightIndex == 0){
+				continue;
+			}
+
+			int splitVarIndex = splitVarIDs.getInt(i);
+
+			result.add(schema.getFeature(this.hasDependentVar ? (splitVarIndex - 1) : splitVarIndex));
 		}
 
-		return treeModels;
+		return result;
 	}
 
 	private TreeModel encodeTreeModel(MiningFunction miningFunction, ScoreEncoder scoreEncoder, RGenericVector childNodeIDs, RNumberVector<?> splitVarIDs, RNumberVector<?> splitValues, RGenericVector terminalClassCounts, Schema schema){
@@ -0,0 +1,239 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-R
+ *
+ * JPMML-R is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-R is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-R.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.rexp;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.io.ByteStreams;
+
+/**
+ * <p>
+ * An input stream that reads the underlying input stream ahead of time in a background thread.
+ * </p>
+ *
+ * <p>
+ * The data is passed between threads using a bounded ring of chunk buffers.
+ * This is mostly useful for overlapping the decompression of a compressed stream with the parsing of its content.
+ * </p>
+ */
+public class ReadAheadInputStream extends InputStream {
+
+	private InputStream is = null;
+
+	private BlockingQueue<Chunk> freeChunks = null;
+
+	private BlockingQueue<Chunk> filledChunks = null;
+
+	private Chunk chunk = null;
+
+	private int chunkPosition = 0;
+
+	private Thread thread = null;
+
+	private volatile long readTime = 0L;
+
+
+	public ReadAheadInputStream(InputStream is){
+		this(is, 4, 1024 * 1024);
+	}
+
+	public ReadAheadInputStream(InputStream is, int chunkCount, int chunkSize){
+		this.is = is;
+
+		this.freeChunks = new ArrayBlockingQueue<>(chunkCount);
+		this.filledChunks = new ArrayBlockingQueue<>(chunkCount + 1);
+
+		for(int i = 0; i < chunkCount; i++){
+			this.freeChunks.add(new Chunk(new byte[chunkSize]));
+		}
+
+		Thread thread = new Thread(this::fill, "jpmml-r-readahead");
+		thread.setDaemon(true);
+
+		this.thread = thread;
+
+		thread.start();
+	}
+
+	@Override
+	public int read() throws IOException {
+		Chunk chunk = ensureChunk();
+
+		if(chunk == null){
+			return -1;
+		}
+
+		return (chunk.buffer[this.chunkPosition++] & 0xff);
+	}
+
+	@Override
+	public int read(byte[] bytes, int offset, int length) throws IOException {
+
+		if(length == 0){
+			return 0;
+		}
+
+		Chunk chunk = ensureChunk();
+
+		if(chunk == null){
+			return -1;
+		}
+
+		int count = Math.min(chunk.length - this.chunkPosition, length);
+
+		System.arraycopy(chunk.buffer, this.chunkPosition, bytes, offset, count);
+
+		this.chunkPosition += count;
+
+		return count;
+	}
+
+	@Override
+	public int available(){
+		Chunk chunk = this.chunk;
+
+		if(chunk == null || chunk.length < 0){
+			return 0;
+		}
+
+		return (chunk.length - this.chunkPosition);
+	}
+
+	/**
+	 * <p>
+	 * Stops the background thread.
+	 * The underlying input stream is closed by the background thread itself.
+	 * </p>
+	 */
+	@Override
+	public void close(){
+		this.thread.interrupt();
+	}
+
+	/**
+	 * @return The time (in milliseconds) spent reading the underlying input stream.
+	 */
+	public long getReadTime(){
+		return TimeUnit.NANOSECONDS.toMillis(this.readTime);
+	}
+
+	private Chunk ensureChunk() throws IOException {
+		Chunk chunk = this.chunk;
+
+		if(chunk != null){
+
+			if(chunk.length < 0){
+
+				Exception exception = chunk.exception;
+
+				if(exception instanceof IOException){
+					throw (IOException)exception;
+				} else
+
+				if(exception != null){
+					throw new IOException(exception);
+				}
+
+				return null;
+			} // End if
+
+			if(this.chunkPosition < chunk.length){
+				return chunk;
+			}
+
+			this.freeChunks.add(chunk);
+		}
+
+		try {
+			chunk = this.filledChunks.take();
+		} catch(InterruptedException ie){
+			Thread.currentThread().interrupt();
+
+			throw new InterruptedIOException();
+		}
+
+		this.chunk = chunk;
+		this.chunkPosition = 0;
+
+		return ensureChunk();
+	}
+
+	private void fill(){
+		InputStream is = this.is;
+
+		try {
+			while(true){
+				Chunk chunk = this.freeChunks.take();
+
+				long begin = System.nanoTime();
+				int length = ByteStreams.read(is, chunk.buffer, 0, chunk.buffer.length);
+				long end = System.nanoTime();
+
+				this.readTime += (end - begin);
+
+				if(length > 0){
+					chunk.length = length;
+
+					this.filledChunks.put(chunk);
+				} // End if
+
+				if(length < chunk.buffer.length){
+					this.filledChunks.put(new Chunk(null));
+
+					break;
+				}
+			}
+		} catch(InterruptedException ie){
+			// Ignored
+		} catch(IOException | RuntimeException e){
+			Chunk chunk = new Chunk(null);
+			chunk.exception = e;
+
+			// The queue has one slot reserved for the end-of-stream chunk
+			this.filledChunks.offer(chunk);
+		} finally {
+
+			try {
+				is.close();
+			} catch(IOException ioe){
+				// Ignored
+			}
+		}
+	}
+
+	static
+	private class Chunk {
+
+		private byte[] buffer = null;
+
+		private int length = -1;
+
+		private Exception exception = null;
+
+
+		private Chunk(byte[] buffer){
+			this.buffer = buffer;
+		}
+	}
+}
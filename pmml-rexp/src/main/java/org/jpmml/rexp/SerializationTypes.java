@@ -23,6 +23,7 @@ package org.jpmml.rexp;
  */
 public interface SerializationTypes {
 
+	int ALTREP_SXP = 238;
 	int ATTRLISTSXP = 239;
 	int ATTRLANGSXP = 240;
 	int BASEENVSXP = 241;
@@ -18,6 +18,10 @@
  */
 package org.jpmml.rexp;
 
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
 public class SerializationUtil {
 
 	private SerializationUtil(){
@@ -43,6 +47,11 @@ public class SerializationUtil {
 		return hasBit(flags, SerializationUtil.IS_OBJECT_BIT_MASK);
 	}
 
+	static
+	public int setIsObject(int flags){
+		return setHasBit(flags, SerializationUtil.IS_OBJECT_BIT_MASK);
+	}
+
 	static
 	public boolean hasAttributes(int flags){
 		return hasBit(flags, SerializationUtil.HAS_ATTR_BIT_MASK);
@@ -78,11 +87,98 @@ public class SerializationUtil {
 		return hasLevelBit(flags, SerializationUtil.UTF8_BIT_MASK);
 	}
 
+	static
+	public int setUTF8Charset(int flags){
+		return setHasLevelBit(flags, SerializationUtil.UTF8_BIT_MASK);
+	}
+
+	static
+	public boolean isASCIICharset(int flags){
+		return hasLevelBit(flags, SerializationUtil.ASCII_BIT_MASK);
+	}
+
+	static
+	public int setASCIICharset(int flags){
+		return setHasLevelBit(flags, SerializationUtil.ASCII_BIT_MASK);
+	}
+
+	/**
+	 * @return The charset of a <code>CHARSXP</code>. Defaults to the platform charset.
+	 */
+	static
+	public Charset decodeCharset(int flags){
+
+		if(isBytesCharset(flags)){
+			return StandardCharsets.US_ASCII;
+		} else
+
+		if(isLatin1Charset(flags)){
+			return StandardCharsets.ISO_8859_1;
+		} else
+
+		if(isUTF8Charset(flags)){
+			return StandardCharsets.UTF_8;
+		}
+
+		return Charset.defaultCharset();
+	}
+
+	/**
+	 * <p>
+	 * Reads the length of a vector.
+	 * A long vector (ie. one with more than {@link Integer#MAX_VALUE} elements) is encoded as <code>-1</code>,
+	 * followed by the upper and the lower 32 bits of its length.
+	 * </p>
+	 */
+	static
+	public long readLength(RDataInput input) throws IOException {
+		int length = input.readInt();
+
+		if(length == -1){
+			long upper = input.readInt();
+			long lower = input.readInt();
+
+			return (upper << 32) | (lower & 0xFFFFFFFFL);
+		}
+
+		return length;
+	}
+
+	static
+	public void writeLength(RDataOutput output, long length) throws IOException {
+
+		if(length > Integer.MAX_VALUE){
+			output.writeInt(-1);
+			output.writeInt((int)(length >>> 32));
+			output.writeInt((int)length);
+		} else
+
+		{
+			output.writeInt((int)length);
+		}
+	}
+
+	/**
+	 * <p>
+	 * Distinguishes R's <code>NA_real_</code> from other <code>NaN</code> values.
+	 * Like R, only the lower 32 bits of the payload are checked, because arithmetic may set the quiet bit.
+	 * </p>
+	 */
+	static
+	public boolean isNA(double value){
+		return Double.isNaN(value) && ((int)Double.doubleToRawLongBits(value) == SerializationUtil.NA_REAL_LOWER_WORD);
+	}
+
 	static
 	private boolean hasLevelBit(int flags, int mask){
 		return hasBit(decodeLevels(flags), mask);
 	}
 
+	static
+	private int setHasLevelBit(int flags, int mask){
+		return (flags | (mask << 12));
+	}
+
 	static
 	private boolean hasBit(int flags, int mask){
 		return (flags & mask) == mask;
@@ -93,6 +189,10 @@ public class SerializationUtil {
 		return (flags | mask);
 	}
 
+	public static final double NA_REAL = Double.longBitsToDouble(0x7FF00000000007A2L);
+
+	private static final int NA_REAL_LOWER_WORD = 1954;
+
 	private static final int IS_OBJECT_BIT_MASK = (1 << 8);
 	private static final int HAS_ATTR_BIT_MASK = (1 << 9);
 	private static final int HAS_TAG_BIT_MASK = (1 << 10);
@@ -0,0 +1,216 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-R
+ *
+ * JPMML-R is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-R is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-R.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.rexp;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * <p>
+ * A cache of decoded CHARSXP values, keyed by their raw bytes and character set.
+ * </p>
+ *
+ * <p>
+ * Repeated strings decode to the same {@link String} instance.
+ * ASCII strings are decoded without a charset decoder, and are matched regardless of their declared character set.
+ * Long strings are decoded, but are not cached.
+ * </p>
+ *
+ * <p>
+ * This class is not thread-safe.
+ * </p>
+ */
+class StringPool {
+
+	private Entry[] entries = new Entry[StringPool.INITIAL_CAPACITY];
+
+	private int size = 0;
+
+	private byte[] buffer = new byte[64];
+
+
+	/**
+	 * <p>
+	 * Reads the next <code>length</code> bytes of input into a reusable buffer, and decodes them.
+	 * </p>
+	 */
+	public String read(RDataInput input, int length, Charset charset) throws IOException {
+		byte[] buffer = this.buffer;
+
+		if(buffer.length < length){
+			buffer = new byte[Math.max(length, buffer.length * 2)];
+
+			this.buffer = buffer;
+		}
+
+		input.readBytes(buffer, 0, length);
+
+		return decode(buffer, length, charset);
+	}
+
+	public String decode(byte[] bytes, int length, Charset charset){
+		boolean ascii = true;
+
+		int hash = 1;
+
+		for(int i = 0; i < length; i++){
+			byte b = bytes[i];
+
+			ascii &= (b >= 0);
+
+			hash = (31 * hash) + b;
+		}
+
+		if(!ascii){
+			hash = (31 * hash) + charset.hashCode();
+		} // End if
+
+		if(length > StringPool.MAX_LENGTH){
+			return toString(bytes, length, ascii, charset);
+		}
+
+		Entry[] entries = this.entries;
+
+		int mask = (entries.length - 1);
+
+		int slot = (hash ^ (hash >>> 16)) & mask;
+
+		while(true){
+			Entry entry = entries[slot];
+
+			if(entry == null){
+				break;
+			} // End if
+
+			if(entry.hash == hash && entry.matches(bytes, length, ascii, charset)){
+				return entry.value;
+			}
+
+			slot = (slot + 1) & mask;
+		}
+
+		String value = toString(bytes, length, ascii, charset);
+
+		if(this.size < StringPool.MAX_SIZE){
+			entries[slot] = new Entry(hash, value, ascii ? null : Arrays.copyOf(bytes, length), ascii ? null : charset);
+
+			this.size++;
+
+			if((this.size * 2) > entries.length){
+				resize();
+			}
+		}
+
+		return value;
+	}
+
+	public int size(){
+		return this.size;
+	}
+
+	private void resize(){
+		Entry[] entries = this.entries;
+
+		Entry[] resizedEntries = new Entry[entries.length * 2];
+
+		int mask = (resizedEntries.length - 1);
+
+		for(Entry entry : entries){
+
+			if(entry == null){
+				continue;
+			}
+
+			int slot = (entry.hash ^ (entry.hash >>> 16)) & mask;
+
+			while(resizedEntries[slot] != null){
+				slot = (slot + 1) & mask;
+			}
+
+			resizedEntries[slot] = entry;
+		}
+
+		this.entries = resizedEntries;
+	}
+
+	static
+	private String toString(byte[] bytes, int length, boolean ascii, Charset charset){
+
+		if(ascii){
+			// ISO-8859-1 decoding is a plain copy into a compact string
+			return new String(bytes, 0, length, StandardCharsets.ISO_8859_1);
+		}
+
+		return new String(bytes, 0, length, charset);
+	}
+
+	static
+	private class Entry {
+
+		private int hash = 0;
+
+		private String value = null;
+
+		/**
+		 * The raw bytes of a non-ASCII value, or <code>null</code>.
+		 */
+		private byte[] bytes = null;
+
+		private Charset charset = null;
+
+
+		private Entry(int hash, String value, byte[] bytes, Charset charset){
+			this.hash = hash;
+			this.value = value;
+			this.bytes = bytes;
+			this.charset = charset;
+		}
+
+		private boolean matches(byte[] bytes, int length, boolean ascii, Charset charset){
+
+			if(ascii){
+
+				if(this.bytes != null || this.value.length() != length){
+					return false;
+				}
+
+				for(int i = 0; i < length; i++){
+
+					if(this.value.charAt(i) != bytes[i]){
+						return false;
+					}
+				}
+
+				return true;
+			} else
+
+			{
+				return (this.bytes != null) && (this.charset).equals(charset) && Arrays.equals(this.bytes, 0, this.bytes.length, bytes, 0, length);
+			}
+		}
+	}
+
+	private static final int INITIAL_CAPACITY = 256;
+
+	private static final int MAX_LENGTH = 256;
+
+	private static final int MAX_SIZE = (1 << 20);
+}
@@ -18,139 +18,540 @@
  */
 package org.jpmml.rexp;
 
-import java.io.BufferedReader;
 import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 
+/**
+ * <p>
+ * Reads the ASCII serialization format.
+ * </p>
+ *
+ * <p>
+ * The input is tokenized at the byte level.
+ * Integer and real values are parsed directly from the input buffer, without creating intermediate {@link String} objects.
+ * </p>
+ */
 abstract
 public class TextInput implements RDataInput {
 
-	private BufferedReader reader = null;
+	private InputStream is = null;
+
+	private byte[] buffer = new byte[TextInput.BUFFER_CAPACITY];
+
+	private int position = 0;
+
+	private int limit = 0;
 
 
 	public TextInput(InputStream is) throws IOException {
-		BufferedReader reader = new BufferedReader(new InputStreamReader(is));
+		this.is = is;
 
-		int first = reader.read();
+		int first = read();
 		if(first != 'A'){
 			throw new IllegalArgumentException();
 		}
 
-		int second = reader.read();
+		int second = read();
 		if(second != '\n'){
 			throw new IllegalArgumentException();
 		}
-
-		this.reader = reader;
 	}
 
 	@Override
 	public void close() throws IOException {
-		this.reader.close();
+		this.is.close();
 	}
 
 	@Override
 	public int readInt() throws IOException {
-		String line = this.reader.readLine();
+		int length = readWord();
 
-		if(line == null){
-			throw new EOFException();
-		} else
+		return parseInt(this.buffer, this.position - length, length);
+	}
 
-		if(("NA").equals(line)){
-			return Integer.MIN_VALUE;
+	@Override
+	public double readDouble() throws IOException {
+		int length = readWord();
+
+		return parseDouble(this.buffer, this.position - length, length);
+	}
+
+	@Override
+	public byte[] readByteArray(int length) throws IOException {
+		byte[] bytes = new byte[length];
+
+		readBytes(bytes, 0, length);
+
+		return bytes;
+	}
+
+	/**
+	 * <p>
+	 * Reads a string, which is preceded by whitespace, and which may contain C-style escape sequences.
+	 * The length is the number of bytes after unescaping.
+	 * </p>
+	 *
+	 * @throws IOException If the string is longer than the length.
+	 */
+	@Override
+	public void readBytes(byte[] bytes, int offset, int length) throws IOException {
+
+		if(length == 0){
+			return;
 		}
 
-		return Integer.parseInt(line);
+		skipWhitespace();
+
+		for(int i = 0; i < length; i++){
+			int b = read();
+
+			if(b == '\\'){
+				b = readEscape();
+			} else
+
+			if(b == -1){
+				throw new EOFException();
+			}
+
+			bytes[offset + i] = (byte)b;
+		}
+
+		checkWordEnd();
 	}
 
 	@Override
-	public double readDouble() throws IOException {
-		String line = this.reader.readLine();
+	public void readInts(int[] values, int offset, int length) throws IOException {
+		byte[] buffer = this.buffer;
 
-		if(line == null){
-			throw new EOFException();
+		for(int i = 0; i < length; i++){
+			int wordLength = readWord();
+
+			// The buffer may have been re-allocated
+			buffer = this.buffer;
+
+			values[offset + i] = parseInt(buffer, this.position - wordLength, wordLength);
 		}
+	}
 
-		return Double.parseDouble(line);
+	@Override
+	public void readDoubles(double[] values, int offset, int length) throws IOException {
+		byte[] buffer = this.buffer;
+
+		for(int i = 0; i < length; i++){
+			int wordLength = readWord();
+
+			buffer = this.buffer;
+
+			values[offset + i] = parseDouble(buffer, this.position - wordLength, wordLength);
+		}
 	}
 
 	@Override
-	public byte[] readByteArray(int length) throws IOException {
-		String line = this.reader.readLine();
+	public void skipInts(int length) throws IOException {
+
+		for(int i = 0; i < length; i++){
+			readWord();
+		}
+	}
+
+	@Override
+	public void skipDoubles(int length) throws IOException {
 
-		if(line == null){
+		for(int i = 0; i < length; i++){
+			readWord();
+		}
+	}
+
+	@Override
+	public void skipByteArray(int length) throws IOException {
+
+		if(length == 0){
+			return;
+		}
+
+		skipWhitespace();
+
+		for(int i = 0; i < length; i++){
+			int b = read();
+
+			if(b == '\\'){
+				readEscape();
+			} else
+
+			if(b == -1){
+				throw new EOFException();
+			}
+		}
+
+		checkWordEnd();
+	}
+
+	private int read() throws IOException {
+
+		if(this.position == this.limit && !fill()){
+			return -1;
+		}
+
+		return (this.buffer[this.position++] & 0xFF);
+	}
+
+	/**
+	 * @see #read()
+	 */
+	private int peek() throws IOException {
+
+		if(this.position == this.limit && !fill()){
+			return -1;
+		}
+
+		return (this.buffer[this.position] & 0xFF);
+	}
+
+	private void skipWhitespace() throws IOException {
+
+		while(true){
+			int b = peek();
+
+			if(b == -1 || !isWhitespace(b)){
+				break;
+			}
+
+			this.position++;
+		}
+	}
+
+	private void checkWordEnd() throws IOException {
+		int b = peek();
+
+		if(b != -1 && !isWhitespace(b)){
+			throw new IOException("Expected end of string, got byte 0x" + Integer.toHexString(b));
+		}
+	}
+
+	/**
+	 * <p>
+	 * Reads the next whitespace-delimited word.
+	 * The word is kept in a contiguous range of the buffer, which ends at the current position.
+	 * </p>
+	 *
+	 * @return The length of the word.
+	 */
+	private int readWord() throws IOException {
+		skipWhitespace();
+
+		if(peek() == -1){
 			throw new EOFException();
+		}
+
+		int start = this.position;
+
+		while(true){
+			byte[] buffer = this.buffer;
+
+			int position = this.position;
+			int limit = this.limit;
+
+			while(position < limit && !isWhitespace(buffer[position])){
+				position++;
+			}
+
+			this.position = position;
+
+			if(position < limit){
+				break;
+			}
+
+			// Move the partial word to the beginning of the buffer, and read more input after it
+			int length = (position - start);
+
+			if(start > 0){
+				System.arraycopy(buffer, start, buffer, 0, length);
+			} else
+
+			if(length == buffer.length){
+				this.buffer = buffer = Arrays.copyOf(buffer, buffer.length * 2);
+			}
+
+			start = 0;
+
+			this.position = length;
+			this.limit = length;
+
+			int count = this.is.read(buffer, length, buffer.length - length);
+			if(count < 0){
+				break;
+			}
+
+			this.limit = length + count;
+		}
+
+		return (this.position - start);
+	}
+
+	private int readEscape() throws IOException {
+		int b = read();
+
+		switch(b){
+			case 'n':
+				return '\n';
+			case 't':
+				return '\t';
+			case 'v':
+				return 0x0B;
+			case 'b':
+				return '\b';
+			case 'r':
+				return '\r';
+			case 'f':
+				return '\f';
+			case 'a':
+				return 0x07;
+			case '0':
+			case '1':
+			case '2':
+			case '3':
+			case '4':
+			case '5':
+			case '6':
+			case '7':
+				{
+					int value = (b - '0');
+
+					for(int i = 1; i < 3; i++){
+						int next = peek();
+
+						if(next < '0' || next > '7'){
+							break;
+						}
+
+						value = (value << 3) + (next - '0');
+
+						this.position++;
+					}
+
+					return value;
+				}
+			case -1:
+				throw new EOFException();
+			default:
+				// Backslash, question mark and quotes
+				return b;
+		}
+	}
+
+	private boolean fill() throws IOException {
+		int count = this.is.read(this.buffer, 0, this.buffer.length);
+
+		if(count <= 0){
+			return false;
+		}
+
+		this.position = 0;
+		this.limit = count;
+
+		return true;
+	}
+
+	static
+	int parseInt(byte[] bytes, int offset, int length){
+
+		if(length == 2 && bytes[offset] == 'N' && bytes[offset + 1] == 'A'){
+			return Integer.MIN_VALUE;
+		}
+
+		int i = offset;
+		int end = offset + length;
+
+		boolean negative = false;
+
+		if(i < end && (bytes[i] == '-' || bytes[i] == '+')){
+			negative = (bytes[i] == '-');
+
+			i++;
 		} // End if
 
-		if(line.indexOf('\\') > -1){
-			line = decode(line);
+		if(i == end || (end - i) > 10){
+			throw new NumberFormatException(toString(bytes, offset, length));
 		}
 
-		byte[] bytes = line.getBytes();
-		if(bytes.length != length){
-			throw new IOException();
+		long value = 0L;
+
+		for(; i < end; i++){
+			int digit = bytes[i] - '0';
+
+			if(digit < 0 || digit > 9){
+				throw new NumberFormatException(toString(bytes, offset, length));
+			}
+
+			value = (value * 10L) + digit;
 		}
 
-		return bytes;
+		value = (negative ? -value : value);
+
+		if(value < Integer.MIN_VALUE || value > Integer.MAX_VALUE){
+			throw new NumberFormatException(toString(bytes, offset, length));
+		}
+
+		return (int)value;
 	}
 
+	/**
+	 * <p>
+	 * Parses R and Java representations of real values.
+	 * </p>
+	 *
+	 * <p>
+	 * Decimal values with at most 15 significant digits and a small exponent are parsed exactly using a single floating-point operation.
+	 * All other values are delegated to {@link Double#parseDouble(String)}.
+	 * </p>
+	 */
 	static
-	public String decode(String string){
-		StringBuilder sb = new StringBuilder();
+	double parseDouble(byte[] bytes, int offset, int length){
+		int i = offset;
+		int end = offset + length;
 
-		int i = 0;
+		boolean negative = false;
 
-		while(i < string.length()){
-			char currChar = string.charAt(i);
+		if(i < end && (bytes[i] == '-' || bytes[i] == '+')){
+			negative = (bytes[i] == '-');
 
-			if(currChar == '\\'){
-				int nextChar = string.charAt(i + 1);
+			i++;
+		}
 
-				if(nextChar >= '0' && nextChar <= '8'){
-					int octalValue = (nextChar - '0');
+		long mantissa = 0L;
+		int digits = 0;
+		int scale = 0;
 
-					int j = 0;
+		boolean fraction = false;
+		boolean significant = false;
+		boolean valid = (i < end);
 
-					while((j < 2) && (i + 2 + j) < string.length()){
-						nextChar = string.charAt(i + 2 + j);
+		for(; i < end; i++){
+			int b = bytes[i];
 
-						if(nextChar >= '0' && nextChar <= '8'){
-							octalValue = (octalValue << 3) + (nextChar - '0');
+			if(b >= '0' && b <= '9'){
+				significant = true;
 
-							j++;
-						} else
+				if(mantissa == 0L && b == '0'){
 
-						{
-							break;
-						}
+					if(fraction){
+						scale--;
 					}
 
-					sb.append((char)octalValue);
+					continue;
+				} // End if
 
-					i += (2 + j);
-				} else
+				if(digits < 18){
+					mantissa = (mantissa * 10L) + (b - '0');
 
-				if(nextChar == '\\'){
-					sb.append('\\');
+					digits++;
 
-					i += 2;
+					if(fraction){
+						scale--;
+					}
 				} else
 
 				{
-					throw new IllegalArgumentException();
+					valid = false;
+
+					break;
 				}
 			} else
 
+			if(b == '.' && !fraction){
+				fraction = true;
+			} else
+
 			{
-				sb.append(currChar);
+				break;
+			}
+		}
+
+		if(valid && significant && i < end && (bytes[i] == 'e' || bytes[i] == 'E')){
+			i++;
+
+			boolean negativeExponent = false;
+
+			if(i < end && (bytes[i] == '-' || bytes[i] == '+')){
+				negativeExponent = (bytes[i] == '-');
 
 				i++;
 			}
+
+			int exponent = 0;
+
+			valid = (i < end);
+
+			for(; i < end; i++){
+				int digit = bytes[i] - '0';
+
+				if(digit < 0 || digit > 9 || exponent > 1000){
+					valid = false;
+
+					break;
+				}
+
+				exponent = (exponent * 10) + digit;
+			}
+
+			scale += (negativeExponent ? -exponent : exponent);
+		} // End if
+
+		if(valid && significant && i == end && mantissa <= TextInput.MAX_EXACT_MANTISSA && scale >= -22 && scale <= 22){
+			double value = mantissa;
+
+			if(scale < 0){
+				value /= TextInput.POWERS_OF_TEN[-scale];
+			} else
+
+			{
+				value *= TextInput.POWERS_OF_TEN[scale];
+			}
+
+			return (negative ? -value : value);
 		}
 
-		return sb.toString();
+		return parseSpecialDouble(bytes, offset, length);
 	}
-}
\ No newline at end of file
+
+	static
+	private double parseSpecialDouble(byte[] bytes, int offset, int length){
+		String string = toString(bytes, offset, length);
+
+		switch(string){
+			case "NA":
+				return SerializationUtil.NA_REAL;
+			case "Inf":
+				return Double.POSITIVE_INFINITY;
+			case "-Inf":
+				return Double.NEGATIVE_INFINITY;
+			default:
+				return Double.parseDouble(string);
+		}
+	}
+
+	static
+	private String toString(byte[] bytes, int offset, int length){
+		return new String(bytes, offset, length, StandardCharsets.US_ASCII);
+	}
+
+	static
+	private boolean isWhitespace(int b){
+		return (b == ' ' || b == '\n' || b == '\r' || b == '\t' || b == 0x0B || b == '\f');
+	}
+
+	private static final int BUFFER_CAPACITY = 64 * 1024;
+
+	/**
+	 * The largest integer that can be represented exactly, and whose all products and quotients with powers of ten up to 10^22 are correctly rounded.
+	 */
+	private static final long MAX_EXACT_MANTISSA = (1L << 53);
+
+	private static final double[] POWERS_OF_TEN = {
+		1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+		1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+	};
+}
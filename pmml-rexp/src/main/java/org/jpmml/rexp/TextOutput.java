@@ -56,7 +56,15 @@ public class TextOutput implements RDataOutput {
 
 	@Override
 	public void writeDouble(double value) throws IOException {
-		this.writer.write(String.valueOf(value));
+
+		if(SerializationUtil.isNA(value)){
+			this.writer.write("NA");
+		} else
+
+		{
+			this.writer.write(String.valueOf(value));
+		}
+
 		this.writer.write('\n');
 	}
 
@@ -18,36 +18,226 @@
  */
 package org.jpmml.rexp;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import org.dmg.pmml.Predicate;
 import org.dmg.pmml.SimplePredicate;
+import org.dmg.pmml.tree.TreeModel;
+import org.jpmml.converter.BooleanFeature;
+import org.jpmml.converter.ContinuousFeature;
+import org.jpmml.converter.DiscreteFeature;
 import org.jpmml.converter.Feature;
 import org.jpmml.converter.PredicateManager;
+import org.jpmml.converter.Schema;
 
 abstract
 public class TreeModelConverter<R extends RExp> extends ModelConverter<R> {
 
 	private PredicateManager predicateManager = new PredicateManager();
 
+	private int parallelism = 1;
+
+	private boolean streaming = false;
+
 
 	public TreeModelConverter(R object){
 		super(object);
+
+		setParallelism(getOption("parallelism", 1));
+	}
+
+	/**
+	 * <p>
+	 * Encodes a sequence of trees.
+	 * </p>
+	 *
+	 * <p>
+	 * If the parallelism is greater than one, then trees are encoded concurrently in a dedicated fork-join pool.
+	 * The function must not modify any state that is shared between trees, except via {@link #createPredicate(Feature, List)} and {@link #createSimplePredicate(Feature, SimplePredicate.Operator, Object)}.
+	 * Features should be taken from a schema that has been prepared using {@link #toSegmentSchema(Schema)}.
+	 * The order of trees in the result is always the order of tree indices.
+	 * </p>
+	 *
+	 * <p>
+	 * If streaming is enabled, then trees are not encoded here at all.
+	 * The result holds {@link DeferredTreeModel} placeholders, which are encoded one by one during marshalling.
+	 * The split feature function is applied instead, so that the placeholders can declare which fields their trees use.
+	 * It must return the features of all splits that are reachable from the root node.
+	 * </p>
+	 *
+	 * @param function A function that encodes the tree at the specified index.
+	 * @param splitFeatureFunction A function that selects the split features of the tree at the specified index.
+	 *
+	 * @see #setStreaming(boolean)
+	 */
+	public List<TreeModel> encodeTreeModels(int count, IntFunction<TreeModel> function, IntFunction<? extends Collection<? extends Feature>> splitFeatureFunction){
+
+		if(isStreaming()){
+			List<Set<String>> activeFieldNames = map(count, i -> {
+				Collection<? extends Feature> features = splitFeatureFunction.apply(i);
+
+				return features.stream()
+					.map(Feature::getName)
+					.collect(Collectors.toCollection(LinkedHashSet::new));
+			});
+
+			List<TreeModel> result = new ArrayList<>(count);
+
+			for(int i = 0; i < count; i++){
+				result.add(new DeferredTreeModel(i, function, activeFieldNames.get(i)));
+			}
+
+			return result;
+		}
+
+		return map(count, function);
+	}
+
+	private <E> List<E> map(int count, IntFunction<E> function){
+		int parallelism = getParallelism();
+
+		if(parallelism <= 1 || count <= 1){
+			List<E> result = new ArrayList<>(count);
+
+			for(int i = 0; i < count; i++){
+				result.add(function.apply(i));
+			}
+
+			return result;
+		}
+
+		ForkJoinPool pool = new ForkJoinPool(Math.min(parallelism, count));
+
+		try {
+			ForkJoinTask<List<E>> task = pool.submit(() -> {
+				return IntStream.range(0, count).parallel()
+					.mapToObj(function)
+					.collect(Collectors.toList());
+			});
+
+			return task.join();
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * <p>
+	 * Creates an anonymous schema for encoding trees.
+	 * </p>
+	 *
+	 * <p>
+	 * All features other than boolean and discrete features are converted to continuous features upfront,
+	 * because {@link Feature#toContinuousFeature()} may register fields with the encoder, which is not safe to do concurrently.
+	 * This is done irrespective of parallelism, so that the encoding is the same for any number of threads.
+	 * </p>
+	 */
+	public Schema toSegmentSchema(Schema schema){
+		Schema segmentSchema = schema.toAnonymousSchema();
+
+		List<? extends Feature> features = segmentSchema.getFeatures();
+
+		List<Feature> resolvedFeatures = new ArrayList<>(features.size());
+
+		for(Feature feature : features){
+
+			if((feature instanceof BooleanFeature) || (feature instanceof DiscreteFeature) || (feature instanceof ContinuousFeature)){
+				resolvedFeatures.add(feature);
+			} else
+
+			{
+				resolvedFeatures.add(feature.toContinuousFeature());
+			}
+		}
+
+		return new Schema(segmentSchema.getEncoder(), segmentSchema.getLabel(), resolvedFeatures);
 	}
 
 	public Predicate createPredicate(Feature feature, List<?> values){
 		PredicateManager predicateManager = getPredicateManager();
 
-		return predicateManager.createPredicate(feature, values);
+		synchronized(predicateManager){
+			return predicateManager.createPredicate(feature, values);
+		}
 	}
 
 	public Predicate createSimplePredicate(Feature feature, SimplePredicate.Operator operator, Object value){
 		PredicateManager predicateManager = getPredicateManager();
 
-		return predicateManager.createSimplePredicate(feature, operator, value);
+		synchronized(predicateManager){
+			return predicateManager.createSimplePredicate(feature, operator, value);
+		}
 	}
 
 	public PredicateManager getPredicateManager(){
 		return this.predicateManager;
 	}
+
+	public int getParallelism(){
+		return this.parallelism;
+	}
+
+	public void setParallelism(int parallelism){
+
+		if(parallelism < 1){
+			throw new IllegalArgumentException("Expected a positive parallelism, got " + parallelism);
+		}
+
+		this.parallelism = parallelism;
+	}
+
+	public boolean isStreaming(){
+		return this.streaming;
+	}
+
+	/**
+	 * <p>
+	 * Enables or disables the streaming of tree models.
+	 * </p>
+	 *
+	 * <p>
+	 * In streaming mode, the memory usage of tree models is bounded by one tree model instead of all of them.
+	 * Placeholders keep the R model object and this converter reachable, so the overall memory usage is bounded by their size plus the size of the largest tree model.
+	 * Predicates are not interned.
+	 * </p>
+	 *
+	 * <p>
+	 * The PMML object must be marshalled using a marshaller that has a {@link DeferredTreeModelListener} attached.
+	 * Every such marshalling encodes all tree models anew.
+	 * Other marshallers write empty placeholders instead of tree models.
+	 * </p>
+	 */
+	public void setStreaming(boolean streaming){
+		this.streaming = streaming;
+
+		this.predicateManager = (streaming ? new TransientPredicateManager() : new PredicateManager());
+	}
+
+	/**
+	 * <p>
+	 * A predicate manager that does not intern predicates.
+	 * </p>
+	 *
+	 * <p>
+	 * In streaming mode, every tree is encoded anew for every marshalling.
+	 * Interned predicates would stay reachable after their trees have been marshalled, and accumulate up to the size of the whole ensemble.
+	 * </p>
+	 */
+	static
+	private class TransientPredicateManager extends PredicateManager {
+
+		@Override
+		public Predicate intern(Predicate predicate){
+			return predicate;
+		}
+	}
 }
\ No newline at end of file
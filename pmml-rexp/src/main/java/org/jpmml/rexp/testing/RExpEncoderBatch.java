@@ -29,12 +29,15 @@ import org.jpmml.rexp.Converter;
 import org.jpmml.rexp.ConverterFactory;
 import org.jpmml.rexp.RExp;
 import org.jpmml.rexp.RExpParser;
+import org.jpmml.rexp.TreeModelConverter;
 
 abstract
 public class RExpEncoderBatch extends ModelEncoderBatch {
 
 	private Class<? extends Converter<? extends RExp>> converterClazz = null;
 
+	private Integer parallelism = null;
+
 
 	public RExpEncoderBatch(String algorithm, String dataset, Predicate<ResultField> columnFilter, Equivalence<Object> equivalence){
 		super(algorithm, dataset, columnFilter, equivalence);
@@ -82,6 +85,13 @@ public class RExpEncoderBatch extends ModelEncoderBatch {
 			converter = converterFactory.newConverter(rexp);
 		}
 
+		Integer parallelism = getParallelism();
+		if(parallelism != null){
+			TreeModelConverter<?> treeModelConverter = (TreeModelConverter<?>)converter;
+
+			treeModelConverter.setParallelism(parallelism);
+		}
+
 		return converter;
 	}
 
@@ -92,4 +102,12 @@ public class RExpEncoderBatch extends ModelEncoderBatch {
 	void setConverterClazz(Class<? extends Converter<? extends RExp>> converterClazz){
 		this.converterClazz = converterClazz;
 	}
+
+	public Integer getParallelism(){
+		return this.parallelism;
+	}
+
+	void setParallelism(Integer parallelism){
+		this.parallelism = parallelism;
+	}
 }
\ No newline at end of file
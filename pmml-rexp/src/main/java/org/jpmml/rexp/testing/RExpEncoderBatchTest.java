@@ -44,6 +44,16 @@ public class RExpEncoderBatchTest extends ModelEncoderBatchTest {
 		return batch;
 	}
 
+	public RExpEncoderBatch createParallelBatch(String algorithm, String dataset, int parallelism){
+		Predicate<ResultField> columnFilter = (resultField -> true);
+		Equivalence<Object> equivalence = getEquivalence();
+
+		RExpEncoderBatch batch = createBatch(algorithm, dataset, columnFilter, equivalence);
+		batch.setParallelism(parallelism);
+
+		return batch;
+	}
+
 	@Override
 	public RExpEncoderBatch createBatch(String algorithm, String dataset, Predicate<ResultField> columnFilter, Equivalence<Object> equivalence){
 		RExpEncoderBatch result = new RExpEncoderBatch(algorithm, dataset, columnFilter, equivalence){
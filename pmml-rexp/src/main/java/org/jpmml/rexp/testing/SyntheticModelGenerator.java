@@ -0,0 +1,1134 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-R
+ *
+ * JPMML-R is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-R is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-R.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.rexp.testing;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.jpmml.rexp.RBooleanVector;
+import org.jpmml.rexp.RDoubleVector;
+import org.jpmml.rexp.RExp;
+import org.jpmml.rexp.RFactorVector;
+import org.jpmml.rexp.RFunctionCall;
+import org.jpmml.rexp.RGenericVector;
+import org.jpmml.rexp.RIntegerVector;
+import org.jpmml.rexp.RString;
+import org.jpmml.rexp.RStringVector;
+
+/**
+ * <p>
+ * Generates randomly grown, but structurally valid, tree ensemble model objects.
+ * </p>
+ *
+ * <p>
+ * The generated model objects contain only those elements and attributes that the corresponding converters need.
+ * They can be serialized using {@link org.jpmml.rexp.RExpWriter}, in order to obtain RDS files of arbitrary size without having R installed.
+ * </p>
+ *
+ * <p>
+ * Features are named <code>x1</code>, <code>x2</code>, etc.
+ * If the cardinality is greater than one, then every second feature (ie. <code>x2</code>, <code>x4</code>, etc.) is a factor.
+ * Trees are complete binary trees.
+ * </p>
+ */
+public class SyntheticModelGenerator {
+
+	private int trees = 10;
+
+	private int depth = 5;
+
+	private int features = 10;
+
+	private int cardinality = 0;
+
+	private int classes = 2;
+
+	private long seed = 42L;
+
+
+	public SyntheticModelGenerator(){
+	}
+
+	public RGenericVector generate(String algorithm){
+
+		switch(algorithm){
+			case "gbm":
+				return generateGBM();
+			case "iForest":
+				return generateIForest();
+			case "randomForest":
+				return generateRandomForest();
+			case "ranger":
+				return generateRanger();
+			case "rpart":
+				return generateRPart();
+			default:
+				throw new IllegalArgumentException("Algorithm " + algorithm + " is not supported");
+		}
+	}
+
+	public RGenericVector generateGBM(){
+		Random random = new Random(getSeed());
+
+		int classes = getClasses();
+
+		String distribution;
+
+		switch(classes){
+			case 0:
+				distribution = "gaussian";
+				break;
+			case 2:
+				distribution = "bernoulli";
+				break;
+			default:
+				distribution = "multinomial";
+				break;
+		}
+
+		// The multinomial distribution has one tree per class per iteration
+		int trees = getTrees() * ("multinomial".equals(distribution) ? classes : 1);
+
+		List<RExp> treeValues = new ArrayList<>(trees);
+		List<RExp> cSplits = new ArrayList<>();
+
+		for(int i = 0; i < trees; i++){
+			Tree tree = growTree(random, true, false);
+
+			int size = tree.size + tree.countSplits();
+
+			int[] splitVar = new int[size];
+			double[] splitCodePred = new double[size];
+			int[] leftNode = new int[size];
+			int[] rightNode = new int[size];
+			int[] missingNode = new int[size];
+			double[] errorReduction = new double[size];
+			double[] weight = new double[size];
+			double[] prediction = new double[size];
+
+			int[] cursor = new int[1];
+
+			encodeGBMNode(tree, 0, cursor, splitVar, splitCodePred, leftNode, rightNode, missingNode, errorReduction, weight, prediction, cSplits);
+
+			RGenericVector treeValue = new RGenericVector(Arrays.asList(
+				new RIntegerVector(splitVar, null),
+				new RDoubleVector(splitCodePred, null),
+				new RIntegerVector(leftNode, null),
+				new RIntegerVector(rightNode, null),
+				new RIntegerVector(missingNode, null),
+				new RDoubleVector(errorReduction, null),
+				new RDoubleVector(weight, null),
+				new RDoubleVector(prediction, null)
+			), null);
+
+			treeValues.add(treeValue);
+		}
+
+		List<RExp> varLevels = new ArrayList<>();
+		double[] varType = new double[getFeatures()];
+
+		for(int i = 0; i < getFeatures(); i++){
+
+			if(isFactor(i)){
+				varLevels.add(new RStringVector(getLevels(), null));
+
+				varType[i] = getCardinality();
+			} else
+
+			{
+				varLevels.add(new RDoubleVector(new double[]{0d, 2.5d, 5d, 7.5d, 10d}, null));
+
+				varType[i] = 0d;
+			}
+		}
+
+		Map<String, RExp> elements = new LinkedHashMap<>();
+		elements.put("initF", new RDoubleVector(random.nextGaussian(), null));
+		elements.put("trees", new RGenericVector(treeValues, null));
+		elements.put("c.splits", new RGenericVector(cSplits, null));
+		elements.put("distribution", createList(Collections.singletonMap("name", new RStringVector(distribution, null))));
+		elements.put("n.trees", new RDoubleVector(getTrees(), null));
+		elements.put("var.levels", new RGenericVector(varLevels, null));
+		elements.put("var.names", new RStringVector(getFeatureNames(), null));
+		elements.put("var.type", new RDoubleVector(varType, null));
+		elements.put("response.name", new RStringVector("y", null));
+
+		if(("multinomial").equals(distribution)){
+			elements.put("classes", new RStringVector(getClassLevels(), null));
+			elements.put("num.classes", new RIntegerVector(classes, null));
+		}
+
+		return setClass(createList(elements), "gbm");
+	}
+
+	public RGenericVector generateIForest(){
+		Random random = new Random(getSeed());
+
+		List<Tree> trees = growTrees(random, false, false);
+
+		int rows = getMaxSize(trees);
+		int columns = trees.size();
+
+		int[] nodeStatus = new int[rows * columns];
+		int[] leftDaughter = new int[rows * columns];
+		int[] rightDaughter = new int[rows * columns];
+		int[] splitAtt = new int[rows * columns];
+		double[] splitPoint = new double[rows * columns];
+		int[] nSam = new int[rows * columns];
+
+		for(int i = 0; i < columns; i++){
+			Tree tree = trees.get(i);
+
+			for(int j = 0; j < tree.size; j++){
+				int offset = (i * rows) + j;
+
+				nSam[offset] = tree.count[j];
+
+				if(tree.isLeaf(j)){
+					nodeStatus[offset] = -1;
+				} else
+
+				{
+					nodeStatus[offset] = -3;
+					leftDaughter[offset] = (tree.left[j] + 1);
+					rightDaughter[offset] = (tree.right[j] + 1);
+					splitAtt[offset] = (tree.var[j] + 1);
+					splitPoint[offset] = tree.split[j];
+				}
+			}
+		}
+
+		Map<String, RExp> treeElements = new LinkedHashMap<>();
+		treeElements.put("xrow", new RIntegerVector(SyntheticModelGenerator.SAMPLE_SIZE, null));
+		treeElements.put("nrnodes", new RIntegerVector(rows, null));
+		treeElements.put("ntree", new RIntegerVector(columns, null));
+		treeElements.put("nodeStatus", createMatrix(nodeStatus, rows, columns));
+		treeElements.put("lDaughter", createMatrix(leftDaughter, rows, columns));
+		treeElements.put("rDaughter", createMatrix(rightDaughter, rows, columns));
+		treeElements.put("splitAtt", createMatrix(splitAtt, rows, columns));
+		treeElements.put("splitPoint", createMatrix(splitPoint, rows, columns));
+		treeElements.put("nSam", createMatrix(nSam, rows, columns));
+
+		Map<String, RExp> elements = new LinkedHashMap<>();
+		elements.put("trees", createList(treeElements));
+		elements.put("ntree", new RDoubleVector(columns, null));
+		elements.put("xcols", new RStringVector(getFeatureNames(), null));
+		elements.put("colisfactor", new RBooleanVector(Collections.nCopies(getFeatures(), Boolean.FALSE), null));
+
+		return setClass(createList(elements), "iForest");
+	}
+
+	public RGenericVector generateRandomForest(){
+		Random random = new Random(getSeed());
+
+		if(getCardinality() > SyntheticModelGenerator.MAX_RANDOMFOREST_CARDINALITY){
+			throw new IllegalStateException("Factors with more than " + SyntheticModelGenerator.MAX_RANDOMFOREST_CARDINALITY + " levels are not supported");
+		}
+
+		boolean classification = (getClasses() > 0);
+
+		List<Tree> trees = growTrees(random, true, false);
+
+		int rows = getMaxSize(trees);
+		int columns = trees.size();
+
+		int[] ndbigtree = new int[columns];
+		int[] nodestatus = new int[rows * columns];
+		int[] leftDaughter = new int[rows * columns];
+		int[] rightDaughter = new int[rows * columns];
+		int[] bestvar = new int[rows * columns];
+		double[] xbestsplit = new double[rows * columns];
+		double[] nodepred = new double[rows * columns];
+
+		for(int i = 0; i < columns; i++){
+			Tree tree = trees.get(i);
+
+			ndbigtree[i] = tree.size;
+
+			for(int j = 0; j < tree.size; j++){
+				int offset = (i * rows) + j;
+
+				if(tree.isLeaf(j)){
+					nodestatus[offset] = -1;
+					nodepred[offset] = (classification ? (tree.label[j] + 1) : tree.value[j]);
+				} else
+
+				{
+					nodestatus[offset] = (classification ? 1 : -3);
+					leftDaughter[offset] = (tree.left[j] + 1);
+					rightDaughter[offset] = (tree.right[j] + 1);
+					bestvar[offset] = (tree.var[j] + 1);
+
+					if(tree.isFactorSplit(j)){
+						boolean[] leftLevels = tree.leftLevels[j];
+
+						// Bit i is set if level i is sent to the left
+						long bits = 0L;
+
+						for(int k = 0; k < leftLevels.length; k++){
+
+							if(leftLevels[k]){
+								bits |= (1L << k);
+							}
+						}
+
+						xbestsplit[offset] = bits;
+					} else
+
+					{
+						xbestsplit[offset] = tree.split[j];
+					}
+				}
+			}
+		}
+
+		int[] ncat = new int[getFeatures()];
+		List<RExp> xlevelValues = new ArrayList<>();
+
+		for(int i = 0; i < getFeatures(); i++){
+
+			if(isFactor(i)){
+				ncat[i] = getCardinality();
+
+				xlevelValues.add(new RStringVector(getLevels(), null));
+			} else
+
+			{
+				ncat[i] = 1;
+
+				xlevelValues.add(new RDoubleVector(0d, null));
+			}
+		}
+
+		RIntegerVector ncatVector = new RIntegerVector(ncat, null);
+		ncatVector.addAttribute("names", new RStringVector(getFeatureNames(), null));
+
+		RGenericVector xlevels = new RGenericVector(xlevelValues, null);
+		xlevels.addAttribute("names", new RStringVector(getFeatureNames(), null));
+
+		Map<String, RExp> forestElements = new LinkedHashMap<>();
+		forestElements.put("ndbigtree", new RIntegerVector(ndbigtree, null));
+		forestElements.put("nodestatus", createMatrix(nodestatus, rows, columns));
+
+		if(classification){
+			int[] treemap = new int[rows * 2 * columns];
+
+			for(int i = 0; i < columns; i++){
+				System.arraycopy(leftDaughter, i * rows, treemap, (2 * i) * rows, rows);
+				System.arraycopy(rightDaughter, i * rows, treemap, ((2 * i) + 1) * rows, rows);
+			}
+
+			int[] intNodepred = new int[nodepred.length];
+
+			for(int i = 0; i < nodepred.length; i++){
+				intNodepred[i] = (int)nodepred[i];
+			}
+
+			forestElements.put("bestvar", createMatrix(bestvar, rows, columns));
+			forestElements.put("treemap", createMatrix(treemap, rows, 2, columns));
+			forestElements.put("nodepred", createMatrix(intNodepred, rows, columns));
+			forestElements.put("xbestsplit", createMatrix(xbestsplit, rows, columns));
+			forestElements.put("pid", new RDoubleVector(new double[getClasses()], null));
+			forestElements.put("cutoff", new RDoubleVector(createConstant(getClasses(), 1d / getClasses()), null));
+			forestElements.put("ncat", ncatVector);
+			forestElements.put("maxcat", new RIntegerVector(Math.max(getCardinality(), 1), null));
+			forestElements.put("nrnodes", new RIntegerVector(rows, null));
+			forestElements.put("ntree", new RDoubleVector(columns, null));
+			forestElements.put("nclass", new RIntegerVector(getClasses(), null));
+			forestElements.put("xlevels", xlevels);
+		} else
+
+		{
+			forestElements.put("leftDaughter", createMatrix(leftDaughter, rows, columns));
+			forestElements.put("rightDaughter", createMatrix(rightDaughter, rows, columns));
+			forestElements.put("nodepred", createMatrix(nodepred, rows, columns));
+			forestElements.put("bestvar", createMatrix(bestvar, rows, columns));
+			forestElements.put("xbestsplit", createMatrix(xbestsplit, rows, columns));
+			forestElements.put("ncat", ncatVector);
+			forestElements.put("nrnodes", new RIntegerVector(rows, null));
+			forestElements.put("ntree", new RDoubleVector(columns, null));
+			forestElements.put("xlevels", xlevels);
+		}
+
+		Map<String, RExp> elements = new LinkedHashMap<>();
+		elements.put("type", new RStringVector(classification ? "classification" : "regression", null));
+		elements.put("ntree", new RDoubleVector(columns, null));
+		elements.put("forest", createList(forestElements));
+
+		if(classification){
+			int[] y = new int[SyntheticModelGenerator.SAMPLE_SIZE];
+
+			for(int i = 0; i < y.length; i++){
+				y[i] = (i % getClasses()) + 1;
+			}
+
+			elements.put("y", createFactor(y, getClassLevels()));
+		} else
+
+		{
+			double[] y = new double[SyntheticModelGenerator.SAMPLE_SIZE];
+
+			for(int i = 0; i < y.length; i++){
+				y[i] = random.nextGaussian();
+			}
+
+			elements.put("y", new RDoubleVector(y, null));
+		}
+
+		return setClass(createList(elements), "randomForest");
+	}
+
+	public RGenericVector generateRanger(){
+		Random random = new Random(getSeed());
+
+		boolean classification = (getClasses() > 0);
+
+		List<Tree> trees = growTrees(random, true, true);
+
+		List<RExp> childNodeIDs = new ArrayList<>(trees.size());
+		List<RExp> splitVarIDs = new ArrayList<>(trees.size());
+		List<RExp> splitValues = new ArrayList<>(trees.size());
+
+		for(Tree tree : trees){
+			double[] leftChildIDs = new double[tree.size];
+			double[] rightChildIDs = new double[tree.size];
+			double[] splitVarIDValues = new double[tree.size];
+			double[] splitValueValues = new double[tree.size];
+
+			for(int j = 0; j < tree.size; j++){
+
+				if(tree.isLeaf(j)){
+					splitValueValues[j] = (classification ? (tree.label[j] + 1) : tree.value[j]);
+				} else
+
+				{
+					leftChildIDs[j] = tree.left[j];
+					rightChildIDs[j] = tree.right[j];
+					splitVarIDValues[j] = tree.var[j];
+
+					if(tree.isFactorSplit(j)){
+						boolean[] leftLevels = tree.leftLevels[j];
+
+						// The number of leading levels that are sent to the left
+						int count = 0;
+
+						while(count < leftLevels.length && leftLevels[count]){
+							count++;
+						}
+
+						splitValueValues[j] = count;
+					} else
+
+					{
+						splitValueValues[j] = tree.split[j];
+					}
+				}
+			}
+
+			childNodeIDs.add(new RGenericVector(Arrays.asList(new RDoubleVector(leftChildIDs, null), new RDoubleVector(rightChildIDs, null)), null));
+			splitVarIDs.add(new RDoubleVector(splitVarIDValues, null));
+			splitValues.add(new RDoubleVector(splitValueValues, null));
+		}
+
+		String treeType = (classification ? "Classification" : "Regression");
+
+		Map<String, RExp> forestElements = new LinkedHashMap<>();
+		forestElements.put("num.trees", new RDoubleVector(trees.size(), null));
+		forestElements.put("child.nodeIDs", new RGenericVector(childNodeIDs, null));
+		forestElements.put("split.varIDs", new RGenericVector(splitVarIDs, null));
+		forestElements.put("split.values", new RGenericVector(splitValues, null));
+		forestElements.put("is.ordered", new RBooleanVector(Collections.nCopies(getFeatures(), Boolean.TRUE), null));
+
+		if(classification){
+			forestElements.put("class.values", new RDoubleVector(createSequence(getClasses()), null));
+			forestElements.put("levels", new RStringVector(getClassLevels(), null));
+		}
+
+		forestElements.put("independent.variable.names", new RStringVector(getFeatureNames(), null));
+		forestElements.put("treetype", new RStringVector(treeType, null));
+
+		Map<String, RExp> variableLevels = new LinkedHashMap<>();
+
+		for(int i = 0; i < getFeatures(); i++){
+
+			if(isFactor(i)){
+				variableLevels.put(getFeatureName(i), new RStringVector(getLevels(), null));
+			}
+		}
+
+		Map<String, RExp> elements = new LinkedHashMap<>();
+		elements.put("forest", setClass(createList(forestElements), "ranger.forest"));
+		elements.put("num.trees", new RDoubleVector(trees.size(), null));
+		elements.put("num.independent.variables", new RDoubleVector(getFeatures(), null));
+		elements.put("treetype", new RStringVector(treeType, null));
+		elements.put("variable.levels", createList(variableLevels));
+
+		return setClass(createList(elements), "ranger");
+	}
+
+	public RGenericVector generateRPart(){
+		Random random = new Random(getSeed());
+
+		boolean classification = (getClasses() > 0);
+
+		Tree tree = growTree(random, true, false);
+
+		int splits = tree.countSplits();
+
+		int factorSplits = 0;
+
+		for(int j = 0; j < tree.size; j++){
+
+			if(tree.isFactorSplit(j)){
+				factorSplits++;
+			}
+		}
+
+		List<String> var = new ArrayList<>(tree.size);
+		int[] n = new int[tree.size];
+		double[] wt = new double[tree.size];
+		double[] dev = new double[tree.size];
+		double[] yval = new double[tree.size];
+		double[] complexity = new double[tree.size];
+		int[] ncompete = new int[tree.size];
+		int[] nsurrogate = new int[tree.size];
+		int[] rowNames = new int[tree.size];
+
+		List<String> splitNames = new ArrayList<>(splits);
+		double[] splitValues = new double[splits * 5];
+		int[] csplit = new int[factorSplits * Math.max(getCardinality(), 1)];
+
+		// Columns "class", counts, probabilities and "nodeprob"
+		int yval2Columns = 1 + (2 * getClasses()) + 1;
+
+		double[] yval2 = new double[tree.size * yval2Columns];
+
+		encodeRPartNode(tree, 0, 1, random, new int[]{0, 0, 0}, var, n, wt, dev, yval, complexity, rowNames, yval2, splitNames, splitValues, splits, csplit, factorSplits);
+
+		Map<String, RExp> frameElements = new LinkedHashMap<>();
+		frameElements.put("var", new RStringVector(var, null));
+		frameElements.put("n", new RIntegerVector(n, null));
+		frameElements.put("wt", new RDoubleVector(wt, null));
+		frameElements.put("dev", new RDoubleVector(dev, null));
+		frameElements.put("yval", new RDoubleVector(yval, null));
+		frameElements.put("complexity", new RDoubleVector(complexity, null));
+		frameElements.put("ncompete", new RIntegerVector(ncompete, null));
+		frameElements.put("nsurrogate", new RIntegerVector(nsurrogate, null));
+
+		if(classification){
+			frameElements.put("yval2", createMatrix(yval2, tree.size, yval2Columns));
+		}
+
+		RGenericVector frame = setClass(createList(frameElements), "data.frame");
+		frame.addAttribute("row.names", new RIntegerVector(rowNames, null));
+
+		RDoubleVector splitMatrix = createMatrix(splitValues, splits, 5);
+		splitMatrix.addAttribute("dimnames", new RGenericVector(Arrays.asList(new RStringVector(splitNames, null), new RStringVector(Arrays.asList("count", "ncat", "improve", "index", "adj"), null)), null));
+
+		Map<String, RExp> controlElements = new LinkedHashMap<>();
+		controlElements.put("minsplit", new RDoubleVector(20d, null));
+		controlElements.put("minbucket", new RDoubleVector(7d, null));
+		controlElements.put("cp", new RDoubleVector(0.01d, null));
+		controlElements.put("maxcompete", new RDoubleVector(0d, null));
+		controlElements.put("maxsurrogate", new RDoubleVector(0d, null));
+		controlElements.put("usesurrogate", new RDoubleVector(2d, null));
+		controlElements.put("surrogatestyle", new RDoubleVector(0d, null));
+		controlElements.put("maxdepth", new RDoubleVector(30d, null));
+		controlElements.put("xval", new RDoubleVector(0d, null));
+
+		Map<String, RExp> elements = new LinkedHashMap<>();
+		elements.put("frame", frame);
+		elements.put("terms", createTerms(classification));
+		elements.put("method", new RStringVector(classification ? "class" : "anova", null));
+		elements.put("control", createList(controlElements));
+		elements.put("splits", splitMatrix);
+
+		if(factorSplits > 0){
+			elements.put("csplit", createMatrix(csplit, factorSplits, getCardinality()));
+		}
+
+		RGenericVector rpart = setClass(createList(elements), "rpart");
+
+		if(getCardinality() > 1){
+			Map<String, RExp> xlevels = new LinkedHashMap<>();
+
+			for(int i = 0; i < getFeatures(); i++){
+
+				if(isFactor(i)){
+					xlevels.put(getFeatureName(i), new RStringVector(getLevels(), null));
+				}
+			}
+
+			rpart.addAttribute("xlevels", createList(xlevels));
+		} // End if
+
+		if(classification){
+			rpart.addAttribute("ylevels", new RStringVector(getClassLevels(), null));
+		}
+
+		return rpart;
+	}
+
+	public int getTrees(){
+		return this.trees;
+	}
+
+	public void setTrees(int trees){
+
+		if(trees < 1){
+			throw new IllegalArgumentException();
+		}
+
+		this.trees = trees;
+	}
+
+	public int getDepth(){
+		return this.depth;
+	}
+
+	/**
+	 * @param depth The number of splits between the root node and a leaf node.
+	 */
+	public void setDepth(int depth){
+
+		if(depth < 0 || depth > SyntheticModelGenerator.MAX_DEPTH){
+			throw new IllegalArgumentException();
+		}
+
+		this.depth = depth;
+	}
+
+	public int getFeatures(){
+		return this.features;
+	}
+
+	public void setFeatures(int features){
+
+		if(features < 1){
+			throw new IllegalArgumentException();
+		}
+
+		this.features = features;
+	}
+
+	public int getCardinality(){
+		return this.cardinality;
+	}
+
+	/**
+	 * @param cardinality The number of levels of factor features, or <code>0</code> for no factor features.
+	 */
+	public void setCardinality(int cardinality){
+
+		if(cardinality < 0 || cardinality == 1){
+			throw new IllegalArgumentException();
+		}
+
+		this.cardinality = cardinality;
+	}
+
+	public int getClasses(){
+		return this.classes;
+	}
+
+	/**
+	 * @param classes The number of target categories, or <code>0</code> for regression.
+	 */
+	public void setClasses(int classes){
+
+		if(classes < 0 || classes == 1){
+			throw new IllegalArgumentException();
+		}
+
+		this.classes = classes;
+	}
+
+	public long getSeed(){
+		return this.seed;
+	}
+
+	public void setSeed(long seed){
+		this.seed = seed;
+	}
+
+	private boolean isFactor(int index){
+		return (getCardinality() > 1) && (index % 2 == 1);
+	}
+
+	private String getFeatureName(int index){
+		return "x" + (index + 1);
+	}
+
+	private List<String> getFeatureNames(){
+		List<String> result = new ArrayList<>(getFeatures());
+
+		for(int i = 0; i < getFeatures(); i++){
+			result.add(getFeatureName(i));
+		}
+
+		return result;
+	}
+
+	private List<String> getLevels(){
+		List<String> result = new ArrayList<>(getCardinality());
+
+		for(int i = 0; i < getCardinality(); i++){
+			result.add("level" + (i + 1));
+		}
+
+		return result;
+	}
+
+	private List<String> getClassLevels(){
+		List<String> result = new ArrayList<>(getClasses());
+
+		for(int i = 0; i < getClasses(); i++){
+			result.add("class" + (i + 1));
+		}
+
+		return result;
+	}
+
+	private List<Tree> growTrees(Random random, boolean factors, boolean prefixSplits){
+		List<Tree> result = new ArrayList<>(getTrees());
+
+		for(int i = 0; i < getTrees(); i++){
+			result.add(growTree(random, factors, prefixSplits));
+		}
+
+		return result;
+	}
+
+	private Tree growTree(Random random, boolean factors, boolean prefixSplits){
+		Tree tree = new Tree((2 << getDepth()) - 1);
+
+		growNode(tree, random, 0, SyntheticModelGenerator.SAMPLE_SIZE, factors && (getCardinality() > 1), prefixSplits, new boolean[getFeatures()]);
+
+		return tree;
+	}
+
+	/**
+	 * @param usedFactors Factors that have already been split on along the path from the root node.
+	 * Every factor is split on at most once per path, so that both child nodes always receive a non-empty subset of levels.
+	 */
+	private int growNode(Tree tree, Random random, int depth, int count, boolean factors, boolean prefixSplits, boolean[] usedFactors){
+		int index = tree.size++;
+
+		tree.count[index] = count;
+		tree.value[index] = random.nextGaussian();
+		tree.label[index] = (getClasses() > 0 ? random.nextInt(getClasses()) : 0);
+
+		if(depth >= getDepth()){
+			return index;
+		}
+
+		int var = random.nextInt(getFeatures());
+
+		if(isFactor(var) && (!factors || usedFactors[var])){
+			// Fall back to the preceding continuous feature
+			var--;
+		}
+
+		tree.var[index] = var;
+
+		if(isFactor(var)){
+			boolean[] leftLevels = new boolean[getCardinality()];
+
+			if(prefixSplits){
+				int levels = 1 + random.nextInt(leftLevels.length - 1);
+
+				Arrays.fill(leftLevels, 0, levels, true);
+			} else
+
+			{
+				// Send the first level to the left and the last level to the right, all other levels at random
+				leftLevels[0] = true;
+
+				for(int k = 1; k < (leftLevels.length - 1); k++){
+					leftLevels[k] = random.nextBoolean();
+				}
+			}
+
+			tree.leftLevels[index] = leftLevels;
+
+			usedFactors[var] = true;
+		} else
+
+		{
+			tree.split[index] = Math.round(random.nextDouble() * 1000d) / 100d;
+		}
+
+		int leftCount = Math.max(1, (int)(count * (0.2d + 0.6d * random.nextDouble())));
+		int rightCount = Math.max(1, count - leftCount);
+
+		tree.left[index] = growNode(tree, random, depth + 1, leftCount, factors, prefixSplits, usedFactors);
+		tree.right[index] = growNode(tree, random, depth + 1, rightCount, factors, prefixSplits, usedFactors);
+
+		if(isFactor(var)){
+			usedFactors[var] = false;
+		}
+
+		return index;
+	}
+
+	private int encodeGBMNode(Tree tree, int j, int[] cursor, int[] splitVar, double[] splitCodePred, int[] leftNode, int[] rightNode, int[] missingNode, double[] errorReduction, double[] weight, double[] prediction, List<RExp> cSplits){
+		int index = cursor[0]++;
+
+		weight[index] = tree.count[j];
+		prediction[index] = tree.value[j];
+
+		if(tree.isLeaf(j)){
+			splitVar[index] = -1;
+			splitCodePred[index] = tree.value[j];
+			leftNode[index] = -1;
+			rightNode[index] = -1;
+			missingNode[index] = -1;
+
+			return index;
+		}
+
+		splitVar[index] = tree.var[j];
+
+		if(tree.isFactorSplit(j)){
+			boolean[] leftLevels = tree.leftLevels[j];
+
+			int[] cSplit = new int[leftLevels.length];
+
+			for(int k = 0; k < leftLevels.length; k++){
+				cSplit[k] = (leftLevels[k] ? -1 : 1);
+			}
+
+			splitCodePred[index] = cSplits.size();
+
+			cSplits.add(new RIntegerVector(cSplit, null));
+		} else
+
+		{
+			splitCodePred[index] = tree.split[j];
+		}
+
+		errorReduction[index] = tree.count[j];
+
+		leftNode[index] = encodeGBMNode(tree, tree.left[j], cursor, splitVar, splitCodePred, leftNode, rightNode, missingNode, errorReduction, weight, prediction, cSplits);
+		rightNode[index] = encodeGBMNode(tree, tree.right[j], cursor, splitVar, splitCodePred, leftNode, rightNode, missingNode, errorReduction, weight, prediction, cSplits);
+
+		// The missing value node is a leaf node that predicts the same value as its parent node
+		int missing = cursor[0]++;
+
+		splitVar[missing] = -1;
+		splitCodePred[missing] = tree.value[j];
+		leftNode[missing] = -1;
+		rightNode[missing] = -1;
+		missingNode[missing] = -1;
+		prediction[missing] = tree.value[j];
+
+		missingNode[index] = missing;
+
+		return index;
+	}
+
+	/**
+	 * @param offsets The next free row offsets in the frame, splits and csplit matrices, respectively.
+	 */
+	private void encodeRPartNode(Tree tree, int j, int rowName, Random random, int[] offsets, List<String> var, int[] n, double[] wt, double[] dev, double[] yval, double[] complexity, int[] rowNames, double[] yval2, List<String> splitNames, double[] splitValues, int splits, int[] csplit, int factorSplits){
+		boolean classification = (getClasses() > 0);
+
+		int offset = offsets[0]++;
+
+		rowNames[offset] = rowName;
+		n[offset] = tree.count[j];
+		wt[offset] = tree.count[j];
+		dev[offset] = Math.abs(tree.value[j]) * tree.count[j];
+		complexity[offset] = 0.01d;
+
+		if(classification){
+			int classes = getClasses();
+
+			int rows = rowNames.length;
+
+			double[] counts = new double[classes];
+
+			// Give the majority of records to the predicted class, and spread the rest evenly
+			for(int k = 0; k < classes; k++){
+				counts[k] = (tree.count[j] / (2 * classes));
+			}
+
+			counts[tree.label[j]] += (tree.count[j] - (classes * (tree.count[j] / (2 * classes))));
+
+			yval[offset] = (tree.label[j] + 1);
+
+			yval2[offset] = (tree.label[j] + 1);
+
+			for(int k = 0; k < classes; k++){
+				yval2[offset + (1 + k) * rows] = counts[k];
+				yval2[offset + (1 + classes + k) * rows] = counts[k] / tree.count[j];
+			}
+
+			yval2[offset + (1 + 2 * classes) * rows] = (double)tree.count[j] / SyntheticModelGenerator.SAMPLE_SIZE;
+		} else
+
+		{
+			yval[offset] = tree.value[j];
+		} // End if
+
+		if(tree.isLeaf(j)){
+			var.add("<leaf>");
+
+			return;
+		}
+
+		String name = getFeatureName(tree.var[j]);
+
+		var.add(name);
+
+		int splitOffset = offsets[1]++;
+
+		splitNames.add(name);
+
+		// Columns "count", "ncat", "improve", "index" and "adj"
+		splitValues[splitOffset] = tree.count[j];
+		splitValues[splitOffset + 2 * splits] = Math.round(random.nextDouble() * 1000d) / 100d;
+		splitValues[splitOffset + 4 * splits] = 0d;
+
+		if(tree.isFactorSplit(j)){
+			boolean[] leftLevels = tree.leftLevels[j];
+
+			int csplitOffset = offsets[2]++;
+
+			for(int k = 0; k < leftLevels.length; k++){
+				csplit[csplitOffset + k * factorSplits] = (leftLevels[k] ? 1 : 3);
+			}
+
+			splitValues[splitOffset + 1 * splits] = leftLevels.length;
+			splitValues[splitOffset + 3 * splits] = (csplitOffset + 1);
+		} else
+
+		{
+			splitValues[splitOffset + 1 * splits] = -1d;
+			splitValues[splitOffset + 3 * splits] = tree.split[j];
+		}
+
+		encodeRPartNode(tree, tree.left[j], 2 * rowName, random, offsets, var, n, wt, dev, yval, complexity, rowNames, yval2, splitNames, splitValues, splits, csplit, factorSplits);
+		encodeRPartNode(tree, tree.right[j], (2 * rowName) + 1, random, offsets, var, n, wt, dev, yval, complexity, rowNames, yval2, splitNames, splitValues, splits, csplit, factorSplits);
+	}
+
+	/**
+	 * <p>
+	 * Creates the terms object of the <code>y ~ x1 + x2 + ...</code> formula.
+	 * </p>
+	 */
+	private RFunctionCall createTerms(boolean classification){
+		List<String> featureNames = getFeatureNames();
+
+		List<String> variableNames = new ArrayList<>();
+		variableNames.add("y");
+		variableNames.addAll(featureNames);
+
+		RExp rhs = new RString(featureNames.get(0));
+
+		for(int i = 1; i < featureNames.size(); i++){
+			rhs = new RFunctionCall("+", Arrays.asList(rhs, new RString(featureNames.get(i))));
+		}
+
+		RFunctionCall terms = new RFunctionCall("~", Arrays.asList(new RString("y"), rhs));
+
+		List<RExp> variables = new ArrayList<>();
+
+		for(String variableName : variableNames){
+			variables.add(new RString(variableName));
+		}
+
+		// Rows are variables, columns are terms
+		int[] factors = new int[variableNames.size() * featureNames.size()];
+
+		for(int i = 0; i < featureNames.size(); i++){
+			factors[(i * variableNames.size()) + (i + 1)] = 1;
+		}
+
+		RIntegerVector factorMatrix = createMatrix(factors, variableNames.size(), featureNames.size());
+		factorMatrix.addAttribute("dimnames", new RGenericVector(Arrays.asList(new RStringVector(variableNames, null), new RStringVector(featureNames, null)), null));
+
+		List<String> dataClasses = new ArrayList<>();
+		dataClasses.add(classification ? "factor" : "numeric");
+
+		for(int i = 0; i < featureNames.size(); i++){
+			dataClasses.add(isFactor(i) ? "factor" : "numeric");
+		}
+
+		RStringVector dataClassVector = new RStringVector(dataClasses, null);
+		dataClassVector.addAttribute("names", new RStringVector(variableNames, null));
+
+		terms.addAttribute("variables", new RFunctionCall("list", variables));
+		terms.addAttribute("factors", factorMatrix);
+		terms.addAttribute("term.labels", new RStringVector(featureNames, null));
+		terms.addAttribute("order", new RIntegerVector(createConstant(featureNames.size(), 1), null));
+		terms.addAttribute("intercept", new RIntegerVector(1, null));
+		terms.addAttribute("response", new RIntegerVector(1, null));
+		terms.addAttribute("class", new RStringVector(Arrays.asList("terms", "formula"), null));
+		terms.addAttribute("dataClasses", dataClassVector);
+
+		return terms;
+	}
+
+	static
+	private int getMaxSize(List<Tree> trees){
+		return trees.stream()
+			.mapToInt(tree -> tree.size)
+			.max()
+			.orElse(0);
+	}
+
+	static
+	private int[] createConstant(int length, int value){
+		int[] result = new int[length];
+
+		Arrays.fill(result, value);
+
+		return result;
+	}
+
+	static
+	private double[] createConstant(int length, double value){
+		double[] result = new double[length];
+
+		Arrays.fill(result, value);
+
+		return result;
+	}
+
+	static
+	private double[] createSequence(int length){
+		double[] result = new double[length];
+
+		for(int i = 0; i < length; i++){
+			result[i] = (i + 1);
+		}
+
+		return result;
+	}
+
+	static
+	private RGenericVector createList(Map<String, ? extends RExp> elements){
+		RGenericVector result = new RGenericVector(new ArrayList<>(elements.values()), null);
+		result.addAttribute("names", new RStringVector(new ArrayList<>(elements.keySet()), null));
+
+		return result;
+	}
+
+	static
+	private RFactorVector createFactor(int[] values, List<String> levels){
+		RFactorVector result = new RFactorVector(values, null);
+		result.addAttribute("levels", new RStringVector(levels, null));
+
+		return setClass(result, "factor");
+	}
+
+	static
+	private RIntegerVector createMatrix(int[] values, int... dim){
+		RIntegerVector result = new RIntegerVector(values, null);
+		result.addAttribute("dim", new RIntegerVector(dim, null));
+
+		return result;
+	}
+
+	static
+	private RDoubleVector createMatrix(double[] values, int... dim){
+		RDoubleVector result = new RDoubleVector(values, null);
+		result.addAttribute("dim", new RIntegerVector(dim, null));
+
+		return result;
+	}
+
+	static
+	private <E extends RExp> E setClass(E rexp, String... classes){
+		rexp.addAttribute("class", new RStringVector(Arrays.asList(classes), null));
+
+		return rexp;
+	}
+
+	static
+	private class Tree {
+
+		private int size = 0;
+
+		private int[] var = null;
+
+		private double[] split = null;
+
+		private boolean[][] leftLevels = null;
+
+		private int[] left = null;
+
+		private int[] right = null;
+
+		private int[] count = null;
+
+		private double[] value = null;
+
+		private int[] label = null;
+
+
+		private Tree(int capacity){
+			this.var = new int[capacity];
+			this.split = new double[capacity];
+			this.leftLevels = new boolean[capacity][];
+			this.left = new int[capacity];
+			this.right = new int[capacity];
+			this.count = new int[capacity];
+			this.value = new double[capacity];
+			this.label = new int[capacity];
+
+			Arrays.fill(this.var, -1);
+			Arrays.fill(this.left, -1);
+			Arrays.fill(this.right, -1);
+		}
+
+		public boolean isLeaf(int index){
+			return (this.var[index] == -1);
+		}
+
+		public boolean isFactorSplit(int index){
+			return (this.leftLevels[index] != null);
+		}
+
+		public int countSplits(){
+			int result = 0;
+
+			for(int i = 0; i < this.size; i++){
+
+				if(!isLeaf(i)){
+					result++;
+				}
+			}
+
+			return result;
+		}
+	}
+
+	private static final int SAMPLE_SIZE = 1000;
+
+	private static final int MAX_DEPTH = 24;
+
+	private static final int MAX_RANDOMFOREST_CARDINALITY = 53;
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-R
+ *
+ * JPMML-R is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-R is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-R.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.rexp.visitors;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.jpmml.model.visitors.FieldNameFilterer;
+
+/**
+ * <p>
+ * A field renamer that applies many renamings in a single traversal.
+ * </p>
+ *
+ * <p>
+ * The result is the same as applying one {@link org.jpmml.model.visitors.FieldRenamer} per renaming in iteration order.
+ * Chained renamings (<code>a -&gt; b</code>, <code>b -&gt; c</code>) are collapsed into direct ones (<code>a -&gt; c</code>, <code>b -&gt; c</code>) upfront.
+ * </p>
+ */
+public class MultiFieldRenamer extends FieldNameFilterer {
+
+	private Map<String, String> mappings = null;
+
+
+	public MultiFieldRenamer(Map<String, String> renamings){
+		this.mappings = compose(renamings);
+	}
+
+	@Override
+	public String filter(String name){
+
+		if(name == null){
+			return null;
+		}
+
+		return this.mappings.getOrDefault(name, name);
+	}
+
+	public Map<String, String> getMappings(){
+		return Collections.unmodifiableMap(this.mappings);
+	}
+
+	/**
+	 * <p>
+	 * Composes an ordered sequence of renamings into a single mapping from original names to final names.
+	 * </p>
+	 */
+	static
+	public Map<String, String> compose(Map<String, String> renamings){
+		Map<String, String> result = new LinkedHashMap<>();
+
+		Collection<Map.Entry<String, String>> entries = renamings.entrySet();
+		for(Map.Entry<String, String> entry : entries){
+			String from = entry.getKey();
+			String to = entry.getValue();
+
+			boolean renamed = false;
+
+			Collection<Map.Entry<String, String>> mappings = result.entrySet();
+			for(Map.Entry<String, String> mapping : mappings){
+
+				if(from.equals(mapping.getValue())){
+					mapping.setValue(to);
+				}
+
+				renamed |= from.equals(mapping.getKey());
+			}
+
+			// A field that has already been renamed does not go by its original name anymore
+			if(!renamed){
+				result.put(from, to);
+			}
+		}
+
+		return result;
+	}
+}
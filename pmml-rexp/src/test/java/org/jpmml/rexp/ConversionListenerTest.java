@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-R
+ *
+ * JPMML-R is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-R is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-R.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.rexp;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jpmml.rexp.testing.SyntheticModelGenerator;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class ConversionListenerTest {
+
+	@Test
+	public void encodePMML(){
+		SyntheticModelGenerator generator = new SyntheticModelGenerator();
+		generator.setTrees(3);
+		generator.setDepth(3);
+
+		Converter<RGenericVector> converter = Converter.newConverter(generator.generate("randomForest"));
+
+		List<String> stages = new ArrayList<>();
+
+		converter.setConversionListener((stage, elapsedTime, allocatedBytes, peakHeapBytes) -> {
+			assertTrue(elapsedTime >= 0L);
+			assertTrue(allocatedBytes >= -1L);
+			assertTrue(peakHeapBytes >= -1L);
+
+			stages.add(stage);
+		});
+
+		converter.encodePMML();
+
+		assertEquals(Arrays.asList("createEncoder", "encodeSchema", "encodeModel", "encodeFeatureImportances", "encodePMML"), stages);
+	}
+
+	@Test
+	public void measurePeakHeap(){
+		assumeTrue(InstrumentationUtil.getPeakHeapBytes() > -1L);
+
+		Map<String, Long> peakHeapBytes = new LinkedHashMap<>();
+
+		ConversionListener conversionListener = (stage, elapsedTime, allocatedBytes, stagePeakHeapBytes) -> peakHeapBytes.put(stage, stagePeakHeapBytes);
+
+		int length = 32 * 1024 * 1024;
+
+		byte[] bytes = InstrumentationUtil.measure(conversionListener, "outer", () -> {
+			byte[] result = InstrumentationUtil.measure(conversionListener, "inner", () -> new byte[length]);
+
+			// Resets the peak usage
+			InstrumentationUtil.measure(conversionListener, "empty", () -> {
+			});
+
+			return result;
+		});
+
+		assertEquals(length, bytes.length);
+
+		assertEquals(Arrays.asList("inner", "empty", "outer"), new ArrayList<>(peakHeapBytes.keySet()));
+
+		assertTrue(peakHeapBytes.get("inner") >= length);
+
+		// The enclosing stage covers its nested stages
+		assertTrue(peakHeapBytes.get("outer") >= peakHeapBytes.get("inner"));
+	}
+}
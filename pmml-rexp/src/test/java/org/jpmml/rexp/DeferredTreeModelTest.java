@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-R
+ *
+ * JPMML-R is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-R is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-R.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.rexp;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.Marshaller;
+import org.dmg.pmml.Header;
+import org.dmg.pmml.PMML;
+import org.dmg.pmml.Visitor;
+import org.dmg.pmml.VisitorAction;
+import org.dmg.pmml.tree.TreeModel;
+import org.jpmml.model.JAXBUtil;
+import org.jpmml.model.visitors.AbstractVisitor;
+import org.jpmml.rexp.testing.SyntheticModelGenerator;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DeferredTreeModelTest {
+
+	@Test
+	public void streamGBM() throws Exception {
+
+		for(int classes : new int[]{0, 2, 3}){
+			checkStreaming("gbm", classes);
+		}
+	}
+
+	@Test
+	public void streamIForest() throws Exception {
+		checkStreaming("iForest", 0);
+	}
+
+	@Test
+	public void streamRandomForest() throws Exception {
+
+		for(int classes : new int[]{0, 3}){
+			checkStreaming("randomForest", classes);
+		}
+	}
+
+	@Test
+	public void streamRanger() throws Exception {
+
+		for(int classes : new int[]{0, 3}){
+			checkStreaming("ranger", classes);
+		}
+	}
+
+	static
+	private void checkStreaming(String algorithm, int classes) throws Exception {
+		SyntheticModelGenerator generator = new SyntheticModelGenerator();
+		generator.setTrees(5);
+		generator.setDepth(4);
+		generator.setFeatures(6);
+		generator.setCardinality(4);
+		generator.setClasses(classes);
+
+		JAXBContext context = JAXBUtil.getContext();
+
+		String expected;
+
+		{
+			TreeModelConverter<?> converter = (TreeModelConverter<?>)Converter.newConverter(generator.generate(algorithm));
+
+			PMML pmml = converter.encodePMML();
+
+			// The header contains a timestamp
+			Header header = pmml.requireHeader();
+			header.setTimestamp(null);
+
+			ByteArrayOutputStream os = new ByteArrayOutputStream();
+
+			Marshaller marshaller = context.createMarshaller();
+
+			marshaller.marshal(pmml, os);
+
+			expected = os.toString(StandardCharsets.UTF_8.name());
+		}
+
+		String actual;
+
+		{
+			TreeModelConverter<?> converter = (TreeModelConverter<?>)Converter.newConverter(generator.generate(algorithm));
+			converter.setStreaming(true);
+
+			PMML pmml = converter.encodePMML();
+
+			// The header contains a timestamp
+			Header header = pmml.requireHeader();
+			header.setTimestamp(null);
+
+			ByteArrayOutputStream os = new ByteArrayOutputStream();
+
+			Marshaller marshaller = context.createMarshaller();
+			marshaller.setListener(new DeferredTreeModelListener());
+
+			marshaller.marshal(pmml, os);
+
+			actual = os.toString(StandardCharsets.UTF_8.name());
+
+			// Placeholders are restored after marshalling
+			assertTrue(hasPlaceholders(pmml));
+		}
+
+		assertTrue(expected.contains("<SimplePredicate "));
+		assertTrue(expected.contains("<DataField "));
+
+		assertEquals(expected, actual);
+	}
+
+	static
+	private boolean hasPlaceholders(PMML pmml){
+		boolean[] result = {false};
+
+		Visitor visitor = new AbstractVisitor(){
+
+			@Override
+			public VisitorAction visit(TreeModel treeModel){
+				result[0] |= (treeModel instanceof DeferredTreeModel);
+
+				return super.visit(treeModel);
+			}
+		};
+
+		visitor.applyTo(pmml);
+
+		return result[0];
+	}
+}
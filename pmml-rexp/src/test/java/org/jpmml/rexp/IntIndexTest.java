@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-R
+ *
+ * JPMML-R is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-R is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-R.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.rexp;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class IntIndexTest {
+
+	@Test
+	public void indexOf(){
+		IntIndex index = new IntIndex(new RIntegerVector(new int[]{1, 2, 3, 6, 7, 12, 13, 3}, null));
+
+		assertEquals(0, index.indexOf(1));
+		assertEquals(2, index.indexOf(3));
+		assertEquals(6, index.indexOf(13));
+
+		assertEquals(-1, index.indexOf(4));
+		assertEquals(-1, index.indexOf(Integer.MIN_VALUE));
+
+		int size = 100000;
+
+		int[] values = new int[size];
+
+		for(int i = 0; i < size; i++){
+			values[i] = (size - i) * 2;
+		}
+
+		index = new IntIndex(new RIntegerVector(values, null));
+
+		for(int i = 0; i < size; i++){
+			assertEquals(i, index.indexOf(values[i]));
+			assertEquals(-1, index.indexOf(values[i] + 1));
+		}
+
+		index = new IntIndex(new RIntegerVector(new int[0], null));
+
+		assertEquals(-1, index.indexOf(0));
+	}
+}
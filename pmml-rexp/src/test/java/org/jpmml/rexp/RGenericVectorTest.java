@@ -25,6 +25,9 @@ import java.util.List;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class RGenericVectorTest {
@@ -52,4 +55,41 @@ public class RGenericVectorTest {
 		assertTrue(genericVector.hasAttribute("class"));
 		assertTrue(genericVector.hasAttribute("names"));
 	}
+
+	@Test
+	public void getElement(){
+		RIntegerVector first = new RIntegerVector(Collections.emptyList(), null);
+		RDoubleVector second = new RDoubleVector(Collections.emptyList(), null);
+		RStringVector third = new RStringVector(Collections.emptyList(), null);
+
+		RGenericVector genericVector = new RGenericVector(Arrays.asList(first, second, third), null);
+
+		assertThrows(RExpException.class, () -> genericVector.hasElement("A"));
+
+		genericVector.addAttribute("names", new RStringVector(Arrays.asList("A", "`B C`", "A"), null));
+
+		assertTrue(genericVector.hasElement("A"));
+		assertTrue(genericVector.hasElement("B C"));
+		assertFalse(genericVector.hasElement("`B C`"));
+
+		assertSame(first, genericVector.getElement("A"));
+		assertSame(second, genericVector.getElement("B C"));
+
+		assertNull(genericVector.getElement("D", false));
+		assertThrows(RExpException.class, () -> genericVector.getElement("D"));
+	}
+
+	@Test
+	public void getElementNA(){
+		RIntegerVector first = new RIntegerVector(Collections.emptyList(), null);
+		RDoubleVector second = new RDoubleVector(Collections.emptyList(), null);
+
+		RGenericVector genericVector = new RGenericVector(Arrays.asList(first, second), null);
+		genericVector.addAttribute("names", new RStringVector(Arrays.asList(null, "B"), null));
+
+		assertFalse(genericVector.hasElement("A"));
+		assertTrue(genericVector.hasElement("B"));
+
+		assertSame(second, genericVector.getElement("B"));
+	}
 }
\ No newline at end of file
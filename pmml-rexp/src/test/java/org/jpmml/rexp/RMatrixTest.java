@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-R
+ *
+ * JPMML-R is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-R is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-R.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.rexp;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class RMatrixTest {
+
+	@Test
+	public void integerMatrix(){
+		RIntegerVector values = new RIntegerVector(new int[]{1, 2, 3, 4, 5, 6}, null);
+
+		RMatrix<Integer> matrix = new RMatrix<>(values, 2, 3);
+
+		assertEquals(3, matrix.getInt(0, 1));
+		assertEquals(6d, matrix.getDouble(1, 2));
+
+		RNumberVector<Integer> column = matrix.column(1);
+
+		assertEquals(Arrays.asList(3, 4), column.getValues());
+
+		RNumberVector<Integer> row = matrix.row(1);
+
+		assertEquals(3, row.size());
+		assertEquals(Arrays.asList(2, 4, 6), row.getValues());
+
+		row = row.slice(1, 2);
+
+		assertEquals(Arrays.asList(4, 6), row.getValues());
+		assertEquals(0, row.slice(2, 0).size());
+
+		assertThrows(IndexOutOfBoundsException.class, () -> matrix.column(3));
+		assertThrows(IndexOutOfBoundsException.class, () -> matrix.row(2));
+		assertThrows(IllegalArgumentException.class, () -> new RMatrix<>(values, 4, 2));
+	}
+
+	@Test
+	public void doubleMatrix(){
+		RDoubleVector values = new RDoubleVector(new double[]{1d, 2d, 3d, 4d}, null);
+
+		RMatrix<Double> matrix = new RMatrix<>(values, 2, 2);
+
+		assertEquals(Arrays.asList(3d, 4d), matrix.column(1).getValues());
+		assertEquals(Arrays.asList(1d, 3d), matrix.row(0).getValues());
+		assertEquals(3, matrix.row(0).getInt(1));
+	}
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-R
+ *
+ * JPMML-R is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-R is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-R.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.rexp;
+
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RNumberVectorTest {
+
+	@Test
+	public void integerVector(){
+		RIntegerVector integerVector = new RIntegerVector(new int[]{1, 2, Integer.MIN_VALUE, 4, 5, 6}, null);
+
+		assertEquals(1, integerVector.getInt(0));
+		assertEquals(Integer.MIN_VALUE, integerVector.getInt(2));
+
+		assertEquals(1d, integerVector.getDouble(0));
+		assertTrue(Double.isNaN(integerVector.getDouble(2)));
+
+		RIntegerVector column = integerVector.slice(3, 3);
+
+		assertEquals(3, column.size());
+		assertEquals(4, column.getInt(0));
+		assertEquals(Arrays.asList(4, 5, 6), column.getValues());
+
+		column = integerVector.slice(0, 3);
+
+		assertEquals(Arrays.asList(1, 2, null), column.getValues());
+
+		IntBuffer buffer = integerVector.asIntBuffer();
+
+		assertTrue(buffer.isReadOnly());
+		assertEquals(6, buffer.remaining());
+	}
+
+	@Test
+	public void doubleVector(){
+		RDoubleVector doubleVector = new RDoubleVector(new double[]{1d, 2.5d, Double.NaN, 4d}, null);
+
+		assertEquals(1, doubleVector.getInt(0));
+		assertEquals(Integer.MIN_VALUE, doubleVector.getInt(2));
+
+		assertThrows(RExpException.class, () -> doubleVector.getInt(1));
+
+		assertEquals(2.5d, doubleVector.getDouble(1));
+
+		RDoubleVector column = doubleVector.slice(2, 2);
+
+		assertEquals(2, column.size());
+		assertEquals(4d, column.getDouble(1));
+		assertEquals(Arrays.asList(Double.NaN, 4d), column.getValues());
+
+		DoubleBuffer buffer = doubleVector.asDoubleBuffer();
+
+		assertTrue(buffer.isReadOnly());
+		assertEquals(4, buffer.remaining());
+	}
+
+	@Test
+	public void chunkedVector(){
+		IntBuffer[] intChunks = {IntBuffer.wrap(new int[]{1, 2, 3, 4}), IntBuffer.wrap(new int[]{5, Integer.MIN_VALUE, 7, 8}), IntBuffer.wrap(new int[]{9})};
+
+		RChunkedIntegerVector integerVector = new RChunkedIntegerVector(intChunks, null);
+
+		assertEquals(9L, integerVector.longSize());
+		assertEquals(9, integerVector.size());
+		assertEquals(5, integerVector.getInt(4L));
+		assertEquals(9, integerVector.getInt(8));
+		assertTrue(Double.isNaN(integerVector.getDouble(5L)));
+
+		assertThrows(IndexOutOfBoundsException.class, () -> integerVector.getInt(9L));
+
+		assertEquals(Arrays.asList(3, 4, 5, null), (integerVector.slice(2, 4)).getValues());
+		assertEquals(Arrays.asList(1, 2, 3, 4, 5, null, 7, 8, 9), integerVector.getValues());
+
+		DoubleBuffer[] doubleChunks = {DoubleBuffer.wrap(new double[]{0.5d, 1d}), DoubleBuffer.wrap(new double[]{1.5d, 2d})};
+
+		RChunkedDoubleVector doubleVector = new RChunkedDoubleVector(doubleChunks, null);
+
+		assertEquals(4L, doubleVector.longSize());
+		assertEquals(1.5d, doubleVector.getDouble(2L));
+		assertEquals(2, doubleVector.getInt(3L));
+
+		assertThrows(RExpException.class, () -> doubleVector.getInt(0L));
+
+		assertEquals(4, (doubleVector.asDoubleBuffer()).remaining());
+
+		assertThrows(IllegalArgumentException.class, () -> new RChunkedDoubleVector(new DoubleBuffer[]{DoubleBuffer.allocate(3), DoubleBuffer.allocate(3)}, null));
+	}
+
+	@Test
+	public void booleanVector(){
+		RBooleanVector booleanVector = new RBooleanVector(new int[]{0, 1, Integer.MIN_VALUE}, null);
+
+		assertEquals(0, booleanVector.getInt(0));
+		assertEquals(1, booleanVector.getInt(1));
+		assertEquals(Integer.MIN_VALUE, booleanVector.getInt(2));
+
+		assertEquals(3, (booleanVector.asIntBuffer()).remaining());
+	}
+}
@@ -18,13 +18,27 @@
  */
 package org.jpmml.rexp;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
-
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import com.google.common.io.ByteStreams;
+import com.google.common.primitives.Bytes;
+import org.apache.commons.compress.compressors.bzip2.BZip2CompressorOutputStream;
+import org.apache.commons.compress.compressors.xz.XZCompressorOutputStream;
 import org.jpmml.model.DirectByteArrayOutputStream;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -41,6 +55,18 @@ public class SerializeTest {
 		checkRealVector(rdsClone(realVec, true));
 	}
 
+	@Test
+	public void rdsAsciiRealVector() throws IOException {
+		// The output of serialize(c(-Inf, Inf, NA, NaN), connection = NULL, ascii = TRUE) in R 4.4.1
+		String string = "A\n3\n263169\n197888\n5\nUTF-8\n14\n4\n-Inf\nInf\nNA\nNaN\n";
+
+		RDoubleVector realVec = (RDoubleVector)unserialize(new ByteArrayInputStream(string.getBytes(StandardCharsets.US_ASCII)));
+
+		checkRealVector(realVec);
+		checkRealVector(rdsClone(realVec));
+		checkRealVector(rdsClone(realVec, true));
+	}
+
 	@Test
 	public void rdsIntegerVector() throws IOException {
 		RIntegerVector integerVec = (RIntegerVector)unserialize("IntegerVector");
@@ -86,12 +112,582 @@ public class SerializeTest {
 		checkDataFrame(rdsClone(dataFrame, true));
 	}
 
+	@Test
+	public void rdsCompressedFile() throws IOException {
+		byte[] bytes;
+
+		try(InputStream is = new GZIPInputStream(SerializeTest.class.getResourceAsStream("/rds/DataFrame.rds"))){
+			bytes = ByteStreams.toByteArray(is);
+		}
+
+		checkDataFrame((RGenericVector)unserialize(new ByteArrayInputStream(bytes)));
+
+		DirectByteArrayOutputStream buffer = new DirectByteArrayOutputStream(10 * 1024);
+
+		try(OutputStream os = new GZIPOutputStream(buffer)){
+			os.write(bytes);
+		}
+
+		checkDataFrame((RGenericVector)unserialize(buffer.getInputStream()));
+
+		buffer = new DirectByteArrayOutputStream(10 * 1024);
+
+		try(OutputStream os = new BZip2CompressorOutputStream(buffer)){
+			os.write(bytes);
+		}
+
+		checkDataFrame((RGenericVector)unserialize(buffer.getInputStream()));
+
+		buffer = new DirectByteArrayOutputStream(10 * 1024);
+
+		try(OutputStream os = new XZCompressorOutputStream(buffer)){
+			os.write(bytes);
+		}
+
+		checkDataFrame((RGenericVector)unserialize(buffer.getInputStream()));
+	}
+
+	@Test
+	public void rdsMappedFile(@TempDir Path tmpDir) throws IOException {
+		double[] realValues = new double[10 * 1024];
+		int[] integerValues = new int[10 * 1024];
+
+		for(int i = 0; i < realValues.length; i++){
+			realValues[i] = (i / 10d);
+			integerValues[i] = (i % 3 == 0 ? Integer.MIN_VALUE : i);
+		}
+
+		RGenericVector list = new RGenericVector(Arrays.asList(new RDoubleVector(realValues, null), new RIntegerVector(integerValues, null)), null);
+		list.addAttribute("names", new RStringVector(Arrays.asList("real", "integer"), null));
+
+		Path path = tmpDir.resolve("MappedFile.rds");
+
+		try(OutputStream os = Files.newOutputStream(path)){
+			serialize(list, os, false);
+		}
+
+		for(boolean lazy : new boolean[]{false, true}){
+			RGenericVector mappedList;
+
+			try(RExpParser parser = new RExpParser(path)){
+				parser.setLazy(lazy);
+
+				mappedList = (RGenericVector)parser.parse();
+			}
+
+			RDoubleVector realVec = mappedList.getDoubleElement("real");
+			RIntegerVector integerVec = mappedList.getIntegerElement("integer");
+
+			assertEquals(realValues.length, realVec.size());
+			assertEquals(integerValues.length, integerVec.size());
+
+			for(int i = 0; i < realValues.length; i++){
+				assertEquals((Double)realValues[i], realVec.getValue(i));
+				assertEquals(integerValues[i] != Integer.MIN_VALUE ? (Integer)integerValues[i] : null, integerVec.getValue(i));
+			}
+
+			assertEquals((list.getDoubleElement("real")).getValues(), realVec.getValues());
+			assertEquals((list.getIntegerElement("integer")).getValues(), integerVec.getValues());
+		}
+	}
+
+	@Test
+	public void rdsParallelFile(@TempDir Path tmpDir) throws IOException {
+		List<RExp> trees = new ArrayList<>();
+
+		for(int i = 0; i < 8; i++){
+			double[] splitValues = new double[4 * 1024];
+			List<String> labels = new ArrayList<>();
+
+			for(int j = 0; j < splitValues.length; j++){
+				splitValues[j] = (i * j);
+
+				labels.add((j % 2 == 0) ? ("label_" + (j % 7)) : null);
+			}
+
+			RGenericVector tree = new RGenericVector(Arrays.asList(new RDoubleVector(splitValues, null), new RStringVector(labels, null), new RIntegerVector(new int[]{i}, null)), null);
+			tree.addAttribute("names", new RStringVector(Arrays.asList("split", "label", "id"), null));
+			tree.addAttribute("class", new RStringVector("tree", null));
+
+			trees.add(tree);
+		}
+
+		RGenericVector forest = new RGenericVector(trees, null);
+
+		RGenericVector model = new RGenericVector(Arrays.asList(forest, new RStringVector("Classification", null)), null);
+		model.addAttribute("names", new RStringVector(Arrays.asList("forest", "type"), null));
+		model.addAttribute("class", new RStringVector("forest", null));
+
+		Path path = tmpDir.resolve("ParallelFile.rds");
+
+		try(OutputStream os = Files.newOutputStream(path)){
+			serialize(model, os, false);
+		}
+
+		RGenericVector sequentialModel;
+
+		try(RExpParser parser = new RExpParser(path)){
+			sequentialModel = (RGenericVector)parser.parse();
+		}
+
+		RGenericVector parallelModel;
+
+		try(RExpParser parser = new RExpParser(path)){
+			parser.setParallelism(4);
+
+			parallelModel = (RGenericVector)parser.parse();
+		}
+
+		RGenericVector parallelForest = parallelModel.getGenericElement("forest");
+
+		assertEquals(trees.size(), parallelForest.size());
+
+		for(int i = 0; i < trees.size(); i++){
+			RGenericVector tree = (RGenericVector)parallelForest.getValue(i);
+
+			assertEquals(Arrays.asList("tree"), (tree._class()).getValues());
+			assertEquals((Integer)i, (tree.getIntegerElement("id")).asScalar());
+		}
+
+		DirectByteArrayOutputStream sequentialBuffer = new DirectByteArrayOutputStream(1024 * 1024);
+		DirectByteArrayOutputStream parallelBuffer = new DirectByteArrayOutputStream(1024 * 1024);
+
+		serialize(sequentialModel, sequentialBuffer, false);
+		serialize(parallelModel, parallelBuffer, false);
+
+		try(InputStream sequentialIs = sequentialBuffer.getInputStream(); InputStream parallelIs = parallelBuffer.getInputStream()){
+			assertTrue(Arrays.equals(ByteStreams.toByteArray(sequentialIs), ByteStreams.toByteArray(parallelIs)));
+		}
+	}
+
+	@Test
+	public void rdsProjectedFile(@TempDir Path tmpDir) throws IOException {
+		RGenericVector forest = new RGenericVector(Arrays.asList(new RStringVector(Arrays.asList("no", "yes"), null), new RIntegerVector(new int[]{100}, null)), null);
+		forest.addAttribute("names", new RStringVector(Arrays.asList("levels", "num.trees"), null));
+
+		RGenericVector model = new RGenericVector(Arrays.asList(forest, new RDoubleVector(new double[10 * 1024], null), new RStringVector("Classification", null)), null);
+		model.addAttribute("names", new RStringVector(Arrays.asList("forest", "predictions", "treetype"), null));
+		model.addAttribute("class", new RStringVector("ranger", null));
+
+		Path path = tmpDir.resolve("ProjectedFile.rds");
+		Path compressedPath = tmpDir.resolve("ProjectedFile.rds.gz");
+
+		try(OutputStream os = Files.newOutputStream(path)){
+			serialize(model, os, false);
+		}
+
+		try(OutputStream os = new GZIPOutputStream(Files.newOutputStream(compressedPath))){
+			serialize(model, os, false);
+		}
+
+		for(Path projectedPath : Arrays.asList(path, compressedPath)){
+			RExp outline;
+
+			try(RExpParser parser = new RExpParser(projectedPath)){
+				outline = parser.parseOutline();
+			}
+
+			assertEquals(Arrays.asList("ranger"), (outline._class()).getValues());
+			assertEquals(Arrays.asList("forest", "predictions", "treetype"), (outline.names()).getValues());
+
+			RGenericVector projectedModel;
+
+			try(RExpParser parser = new RExpParser(projectedPath)){
+				projectedModel = (RGenericVector)parser.parse(outline, Arrays.asList("forest/levels", "treetype", "variable.levels"));
+			}
+
+			assertEquals(Arrays.asList("ranger"), (projectedModel._class()).getValues());
+			assertEquals(Arrays.asList("forest", "treetype"), (projectedModel.names()).getValues());
+
+			RGenericVector projectedForest = projectedModel.getGenericElement("forest");
+
+			assertEquals(Arrays.asList("levels"), (projectedForest.names()).getValues());
+			assertEquals(Arrays.asList("no", "yes"), (projectedForest.getStringElement("levels")).getValues());
+
+			assertEquals("Classification", (projectedModel.getStringElement("treetype")).asScalar());
+			assertFalse(projectedModel.hasElement("predictions"));
+		}
+	}
+
+	@Test
+	public void rdsEvents() throws IOException {
+		List<Integer> vectorTypes = new ArrayList<>();
+		List<Double> realValues = new ArrayList<>();
+		List<String> stringValues = new ArrayList<>();
+
+		RExpHandler handler = new RExpHandler(){
+
+			private int depth = 0;
+
+
+			@Override
+			public void startVector(int type, int length, int flags){
+
+				if(this.depth == 0){
+					vectorTypes.add(type);
+				}
+			}
+
+			@Override
+			public void onDoubles(double[] values, int offset, int length){
+
+				for(int i = 0; i < length; i++){
+					realValues.add(values[offset + i]);
+				}
+			}
+
+			@Override
+			public void onString(String value){
+
+				if(this.depth == 0){
+					stringValues.add(value);
+				}
+			}
+
+			@Override
+			public void startAttributes(){
+				this.depth++;
+			}
+
+			@Override
+			public void endAttributes(){
+				this.depth--;
+			}
+		};
+
+		try(InputStream is = SerializeTest.class.getResourceAsStream("/rds/DataFrame.rds")){
+
+			try(RExpParser parser = new RExpParser(is)){
+				parser.parse(handler);
+			}
+		}
+
+		assertEquals(Arrays.asList(SExpTypes.VECSXP, SExpTypes.REALSXP, SExpTypes.INTSXP, SExpTypes.LGLSXP, SExpTypes.STRSXP, SExpTypes.INTSXP), vectorTypes);
+		assertEquals(Arrays.asList(-1d, 0d, 1d), realValues);
+		assertEquals(Arrays.asList("alpha", "beta", "gamma"), stringValues);
+
+		double[] values = new double[20 * 1024];
+
+		for(int i = 0; i < values.length; i++){
+			values[i] = i;
+		}
+
+		DirectByteArrayOutputStream buffer = new DirectByteArrayOutputStream(200 * 1024);
+
+		try(OutputStream os = buffer){
+			serialize(new RDoubleVector(values, null), os, false);
+		}
+
+		List<Integer> chunkLengths = new ArrayList<>();
+
+		handler = new RExpHandler(){
+
+			@Override
+			public void onDoubles(double[] chunk, int offset, int length){
+
+				for(int i = 0; i < length; i++){
+					assertEquals(values[chunkLengths.size() * 8 * 1024 + i], chunk[offset + i]);
+				}
+
+				chunkLengths.add(length);
+			}
+		};
+
+		try(RExpParser parser = new RExpParser(buffer.getInputStream())){
+			parser.parse(handler);
+		}
+
+		assertEquals(Arrays.asList(8 * 1024, 8 * 1024, 4 * 1024), chunkLengths);
+	}
+
+	@Test
+	public void rdsAltrep() throws IOException {
+		RPair levels = new RPair(new RString("levels"), new RStringVector(Arrays.asList("alpha", "beta", "gamma"), null), null);
+		levels.setNext(new RPair(new RString("class"), new RStringVector("factor", null), null));
+
+		RGenericVector list = new RGenericVector(Arrays.asList(
+			new AltrepObject("compact_intseq", SExpTypes.INTSXP, new RDoubleVector(new double[]{10, 1, 1}, null), null),
+			new AltrepObject("compact_realseq", SExpTypes.REALSXP, new RDoubleVector(new double[]{3, 1.5, -1}, null), null),
+			new AltrepObject("wrap_integer", SExpTypes.INTSXP, new RPair(null, new RIntegerVector(new int[]{3, 1, 2}, null), null), levels),
+			new AltrepObject("deferred_string", SExpTypes.STRSXP, new RPair(null, new AltrepObject("compact_intseq", SExpTypes.INTSXP, new RDoubleVector(new double[]{3, 0, 1}, null), null), null), null),
+			new AltrepObject("deferred_string", SExpTypes.STRSXP, new RPair(null, new RDoubleVector(new double[]{0.5, 100000, 0.0001, 123456, SerializationUtil.NA_REAL, Double.NaN, Double.NEGATIVE_INFINITY}, null), null), null)
+		), null);
+		list.addAttribute("names", new RStringVector(Arrays.asList("intseq", "realseq", "wrapper", "intstring", "realstring"), null));
+
+		for(boolean ascii : new boolean[]{false, true}){
+			DirectByteArrayOutputStream buffer = new DirectByteArrayOutputStream(1024);
+
+			try(OutputStream os = buffer){
+				serialize(list, os, ascii);
+			}
+
+			RGenericVector parsedList;
+
+			try(InputStream is = buffer.getInputStream()){
+				parsedList = (RGenericVector)unserialize(is);
+			}
+
+			RIntegerVector intSeq = parsedList.getIntegerElement("intseq");
+
+			assertTrue(intSeq instanceof RIntegerSequence);
+			assertEquals(10, intSeq.size());
+			assertEquals(Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8, 9, 10), intSeq.getValues());
+			assertEquals(Arrays.asList(4, 5, 6), (intSeq.slice(3, 3)).getValues());
+			assertEquals(10, (intSeq.asIntBuffer()).remaining());
+
+			RDoubleVector realSeq = parsedList.getDoubleElement("realseq");
+
+			assertTrue(realSeq instanceof RDoubleSequence);
+			assertEquals(Arrays.asList(1.5d, 0.5d, -0.5d), realSeq.getValues());
+
+			RFactorVector wrapper = parsedList.getFactorElement("wrapper");
+
+			assertEquals(Arrays.asList("gamma", "alpha", "beta"), wrapper.getFactorValues());
+
+			assertEquals(Arrays.asList("0", "1", "2"), (parsedList.getStringElement("intstring")).getValues());
+			assertEquals(Arrays.asList("0.5", "1e+05", "1e-04", "123456", null, "NaN", "-Inf"), (parsedList.getStringElement("realstring")).getValues());
+
+			RGenericVector clonedList = rdsClone(parsedList, ascii);
+
+			assertEquals(intSeq.getValues(), (clonedList.getIntegerElement("intseq")).getValues());
+			assertEquals(realSeq.getValues(), (clonedList.getDoubleElement("realseq")).getValues());
+
+			RExp outline;
+
+			try(RExpParser parser = new RExpParser(buffer.getInputStream())){
+				outline = parser.parseOutline();
+			}
+
+			assertEquals((list.names()).getValues(), (outline.names()).getValues());
+		}
+	}
+
+	@Test
+	public void rdsOffHeap() throws IOException {
+		RGenericVector dataFrame = (RGenericVector)unserialize("DataFrame");
+
+		DirectByteArrayOutputStream buffer = new DirectByteArrayOutputStream(10 * 1024);
+
+		try(OutputStream os = new GZIPOutputStream(buffer)){
+			serialize(dataFrame, os, false);
+		}
+
+		RGenericVector offHeapDataFrame;
+
+		try(RExpParser parser = new RExpParser(buffer.getInputStream())){
+			parser.setOffHeapThreshold(3);
+
+			offHeapDataFrame = (RGenericVector)parser.parse();
+		}
+
+		checkDataFrame(offHeapDataFrame);
+
+		RDoubleVector realVec = offHeapDataFrame.getDoubleElement("real");
+
+		assertTrue(realVec instanceof RChunkedDoubleVector);
+		assertTrue((((RChunkedDoubleVector)realVec).getChunks()[0]).isDirect());
+
+		RIntegerVector integerVec = offHeapDataFrame.getIntegerElement("integer");
+
+		assertTrue(integerVec instanceof RChunkedIntegerVector);
+		assertEquals(Arrays.asList(-1, 0, 1), (rdsClone(integerVec)).getValues());
+	}
+
+	@Test
+	public void rdsLongVector() throws IOException {
+		DirectByteArrayOutputStream buffer = new DirectByteArrayOutputStream(1024);
+
+		try(RExpWriter writer = new RExpWriter(buffer)){
+			writer.write(new RExp(null){
+
+				@Override
+				public void write(RDataOutput output) throws IOException {
+					output.writeInt(SExpTypes.VECSXP);
+					output.writeInt(2);
+
+					// A short vector, with its length encoded the same way as the length of a long vector
+					output.writeInt(SExpTypes.REALSXP);
+					output.writeInt(-1);
+					output.writeInt(0);
+					output.writeInt(2);
+					output.writeDouble(1d);
+					output.writeDouble(2d);
+
+					output.writeInt(SExpTypes.RAWSXP);
+					output.writeInt(3);
+					output.writeByteArray(new byte[]{1, 2, 3});
+				}
+			});
+		}
+
+		RGenericVector list;
+
+		try(RExpParser parser = new RExpParser(buffer.getInputStream())){
+			list = (RGenericVector)parser.parse();
+		}
+
+		assertEquals(Arrays.asList(1d, 2d), ((RDoubleVector)list.getValue(0)).getValues());
+
+		RRaw raw = (RRaw)list.getValue(1);
+
+		assertEquals(3L, raw.longSize());
+		assertEquals(3, raw.getByte(2L));
+
+		try(InputStream is = raw.getInputStream()){
+			assertEquals(Arrays.asList((byte)1, (byte)2, (byte)3), Bytes.asList(ByteStreams.toByteArray(is)));
+		}
+
+		raw = new RRaw(new ByteBuffer[]{ByteBuffer.wrap(new byte[]{1, 2}), ByteBuffer.wrap(new byte[]{3})}, null);
+
+		assertEquals(3L, raw.longSize());
+
+		try(InputStream is = raw.getInputStream()){
+			assertEquals(Arrays.asList((byte)1, (byte)2, (byte)3), Bytes.asList(ByteStreams.toByteArray(is)));
+		}
+
+		assertEquals(Arrays.asList((byte)1, (byte)2, (byte)3), Bytes.asList(raw.getValue()));
+	}
+
+	@Test
+	public void rdsVersion3() throws IOException {
+		RFunctionCall formula = new RFunctionCall("~", Arrays.asList(new RString("y"), new RFunctionCall("+", Arrays.asList(new RString("x1"), new RString("x2")))));
+		formula.addAttribute("class", new RStringVector("formula", null));
+
+		RGenericVector nested = new RGenericVector(Arrays.asList(new RStringVector(Arrays.asList("caf\u00e9", null), null), null), null);
+		nested.addAttribute("names", new RStringVector(Arrays.asList("strings", "nothing"), null));
+
+		RGenericVector model = new RGenericVector(Arrays.asList(nested, formula), null);
+		model.addAttribute("names", new RStringVector(Arrays.asList("nested", "formula"), null));
+		model.addAttribute("class", new RStringVector(Arrays.asList("synthetic", "list"), null));
+
+		DirectByteArrayOutputStream buffer = new DirectByteArrayOutputStream(1024);
+
+		try(RExpWriter writer = new RExpWriter(buffer)){
+			writer.setVersion(3);
+
+			writer.write(model);
+		}
+
+		List<Object> header = new ArrayList<>();
+		List<Boolean> objectFlags = new ArrayList<>();
+
+		RExpHandler handler = new RExpHandler(){
+
+			@Override
+			public void startDocument(int version, String nativeEncoding){
+				header.add(version);
+				header.add(nativeEncoding);
+			}
+
+			@Override
+			public void startVector(int type, int length, int flags){
+
+				if(type == SExpTypes.VECSXP){
+					objectFlags.add(SerializationUtil.isObject(flags));
+				}
+			}
+		};
+
+		try(RExpParser parser = new RExpParser(buffer.getInputStream())){
+			parser.parse(handler);
+		}
+
+		assertEquals(Arrays.asList(3, "UTF-8"), header);
+		assertEquals(Arrays.asList(true, false), objectFlags.subList(0, 2));
+
+		RGenericVector parsedModel;
+
+		try(RExpParser parser = new RExpParser(buffer.getInputStream())){
+			parsedModel = (RGenericVector)parser.parse();
+		}
+
+		assertEquals(Arrays.asList("synthetic", "list"), (parsedModel._class()).getValues());
+
+		RGenericVector parsedNested = parsedModel.getGenericElement("nested");
+
+		assertEquals(Arrays.asList("caf\u00e9", null), (parsedNested.getStringElement("strings")).getValues());
+		assertNull(parsedNested.getElement("nothing"));
+
+		RFunctionCall parsedFormula = (RFunctionCall)parsedModel.getElement("formula");
+
+		assertTrue(parsedFormula.hasValue("~"));
+		assertEquals(Arrays.asList("formula"), (parsedFormula._class()).getValues());
+		assertEquals(formula.toTreeString(""), parsedFormula.toTreeString(""));
+	}
+
+	/**
+	 * <p>
+	 * An ALTREP object, as serialized by R.
+	 * </p>
+	 */
+	static
+	private class AltrepObject extends RExp {
+
+		private String className = null;
+
+		private int type = 0;
+
+		private RExp state = null;
+
+
+		private AltrepObject(String className, int type, RExp state, RPair attributes){
+			super(attributes);
+
+			this.className = className;
+			this.type = type;
+			this.state = state;
+		}
+
+		@Override
+		public void write(RDataOutput output) throws IOException {
+			RPair attributes = getAttributes();
+
+			output.writeInt(SerializationTypes.ALTREP_SXP);
+
+			RPair info = new RPair(null, new RString(this.className), null);
+
+			RPair infoNext = new RPair(null, new RString("base"), null);
+			infoNext.setNext(new RPair(null, new RIntegerVector(new int[]{this.type}, null), null));
+
+			info.setNext(infoNext);
+
+			info.write(output);
+
+			// The state of wrapper and deferred string objects is a dotted pair
+			if(this.state instanceof RPair){
+				RPair pair = (RPair)this.state;
+
+				output.writeInt(SExpTypes.LISTSXP);
+
+				(pair.getValue()).write(output);
+
+				// Metadata
+				(new RIntegerVector(new int[]{0, 0}, null)).write(output);
+			} else
+
+			{
+				(this.state).write(output);
+			} // End if
+
+			if(attributes != null){
+				attributes.write(output);
+			} else
+
+			{
+				output.writeInt(SerializationTypes.NILVALUESXP);
+			}
+		}
+	}
+
 	static
 	private void checkRealVector(RDoubleVector realVec){
 		assertNull(realVec.getAttributes());
 
 		assertEquals(5 - 1, realVec.size());
 		assertEquals(Arrays.asList(Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY, Double.NaN, Double.NaN), realVec.getValues());
+
+		assertTrue(SerializationUtil.isNA(realVec.getDouble(2)));
+		assertFalse(SerializationUtil.isNA(realVec.getDouble(3)));
 	}
 
 	static
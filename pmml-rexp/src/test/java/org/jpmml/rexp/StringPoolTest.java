@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-R
+ *
+ * JPMML-R is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-R is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-R.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.rexp;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class StringPoolTest {
+
+	@Test
+	public void decode(){
+		StringPool stringPool = new StringPool();
+
+		byte[] ascii = "setosa".getBytes(StandardCharsets.US_ASCII);
+
+		String first = stringPool.decode(ascii, ascii.length, StandardCharsets.UTF_8);
+		String second = stringPool.decode(ascii.clone(), ascii.length, StandardCharsets.ISO_8859_1);
+
+		assertEquals("setosa", first);
+		assertSame(first, second);
+
+		assertEquals("set", stringPool.decode(ascii, 3, StandardCharsets.UTF_8));
+
+		byte[] utf8 = "\u00e4\u00f6".getBytes(StandardCharsets.UTF_8);
+
+		first = stringPool.decode(utf8, utf8.length, StandardCharsets.UTF_8);
+		second = stringPool.decode(utf8, utf8.length, StandardCharsets.ISO_8859_1);
+
+		assertEquals("\u00e4\u00f6", first);
+		assertEquals(new String(utf8, StandardCharsets.ISO_8859_1), second);
+
+		assertSame(first, stringPool.decode(utf8.clone(), utf8.length, StandardCharsets.UTF_8));
+
+		assertEquals(4, stringPool.size());
+
+		for(int i = 0; i < 10000; i++){
+			byte[] bytes = String.valueOf(i).getBytes(StandardCharsets.US_ASCII);
+
+			assertEquals(String.valueOf(i), stringPool.decode(bytes, bytes.length, StandardCharsets.UTF_8));
+		}
+
+		assertEquals(4 + 10000, stringPool.size());
+
+		byte[] bytes = new byte[1024];
+
+		Arrays.fill(bytes, (byte)'x');
+
+		assertNotSame(stringPool.decode(bytes, bytes.length, StandardCharsets.UTF_8), stringPool.decode(bytes, bytes.length, StandardCharsets.UTF_8));
+	}
+}
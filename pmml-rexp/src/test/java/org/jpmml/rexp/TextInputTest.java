@@ -18,20 +18,226 @@
  */
 package org.jpmml.rexp;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 import org.junit.jupiter.api.Test;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class TextInputTest {
 
 	@Test
-	public void decode(){
-		assertEquals("\0", TextInput.decode("\\0"));
+	public void readInt() throws IOException {
+
+		try(TextInput input = createInput("0\n-1 +42\n\t2147483647\n-2147483648\nNA\n")){
+			assertEquals(0, input.readInt());
+			assertEquals(-1, input.readInt());
+			assertEquals(42, input.readInt());
+			assertEquals(Integer.MAX_VALUE, input.readInt());
+			assertEquals(Integer.MIN_VALUE, input.readInt());
+			assertEquals(Integer.MIN_VALUE, input.readInt());
+
+			assertThrows(EOFException.class, () -> input.readInt());
+		}
+
+		for(String string : new String[]{"2147483648", "-2147483649", "12345678901", "1.0", "-", "NaN"}){
+
+			try(TextInput input = createInput(string + "\n")){
+				assertThrows(NumberFormatException.class, () -> input.readInt());
+			}
+		}
+	}
+
+	@Test
+	public void readDouble() throws IOException {
+
+		try(TextInput input = createInput("0\n-0\n1.5\n1e+05\n1e-04\n-123.456\n0.1\n3.141592653589793\n1.7976931348623157E308\n4.9E-324\n0x1.8p1\n")){
+			assertEquals(0d, input.readDouble());
+			assertEquals(-0d, input.readDouble());
+			assertEquals(1.5d, input.readDouble());
+			assertEquals(1e5d, input.readDouble());
+			assertEquals(1e-4d, input.readDouble());
+			assertEquals(-123.456d, input.readDouble());
+			assertEquals(0.1d, input.readDouble());
+			assertEquals(Math.PI, input.readDouble());
+			assertEquals(Double.MAX_VALUE, input.readDouble());
+			assertEquals(Double.MIN_VALUE, input.readDouble());
+			assertEquals(3d, input.readDouble());
+		}
+
+		try(TextInput input = createInput("NA\nNaN\nInf\n-Inf\nInfinity\n-Infinity\n")){
+			double na = input.readDouble();
+
+			assertTrue(Double.isNaN(na));
+			assertEquals(0x7FF00000000007A2L, Double.doubleToRawLongBits(na));
+
+			assertTrue(Double.isNaN(input.readDouble()));
+			assertEquals(Double.POSITIVE_INFINITY, input.readDouble());
+			assertEquals(Double.NEGATIVE_INFINITY, input.readDouble());
+			assertEquals(Double.POSITIVE_INFINITY, input.readDouble());
+			assertEquals(Double.NEGATIVE_INFINITY, input.readDouble());
+		}
+
+		for(String string : new String[]{".", "e5", "1e", "1.5x", "-"}){
+
+			try(TextInput input = createInput(string + "\n")){
+				assertThrows(NumberFormatException.class, () -> input.readDouble());
+			}
+		}
+	}
+
+	@Test
+	public void readByteArray() throws IOException {
+
+		try(TextInput input = createInput("Hello\\040World!\n\\303\\251\n\\\\\\t\\\"\\0\n3\n")){
+			assertEquals("Hello World!", new String(input.readByteArray(12), StandardCharsets.US_ASCII));
+			assertEquals("\u00e9", new String(input.readByteArray(2), StandardCharsets.UTF_8));
+			assertArrayEquals(new byte[]{'\\', '\t', '"', 0}, input.readByteArray(4));
+			assertArrayEquals(new byte[0], input.readByteArray(0));
+
+			assertEquals(3, input.readInt());
+		}
+
+		try(TextInput input = createInput("\\0\n\\\\\n\\134\nHello\\40World!\n\\101\\1018\n")){
+			assertArrayEquals(new byte[]{0}, input.readByteArray(1));
+			assertArrayEquals(new byte[]{'\\'}, input.readByteArray(1));
+			assertArrayEquals(new byte[]{'\\'}, input.readByteArray(1));
+			assertEquals("Hello World!", new String(input.readByteArray(12), StandardCharsets.US_ASCII));
+
+			// The digit 8 is not part of an octal escape sequence
+			assertEquals("AA8", new String(input.readByteArray(3), StandardCharsets.US_ASCII));
+		}
+
+		try(TextInput input = createInput("Hello\\040World!\n")){
+			assertThrows(IOException.class, () -> input.readByteArray(11));
+		}
+
+		try(TextInput input = createInput("Hello\\040World!\n")){
+			assertThrows(IOException.class, () -> input.skipByteArray(5));
+		}
+	}
+
+	@Test
+	public void readBulk() throws IOException {
+		int length = 50000;
+
+		int[] intValues = new int[length];
+		double[] doubleValues = new double[length];
+
+		StringBuilder sb = new StringBuilder();
+
+		for(int i = 0; i < length; i++){
+			intValues[i] = (i % 2 == 0) ? (i * 7919) : -(i * 104729);
+
+			sb.append(intValues[i]).append('\n');
+		}
+
+		for(int i = 0; i < length; i++){
+			doubleValues[i] = (i % 3 == 0) ? (i / 7d) : -Math.scalb(i, -(i % 1100));
+
+			sb.append(doubleValues[i]).append('\n');
+		}
+
+		sb.append(Double.MAX_VALUE).append('\n');
+
+		try(TextInput input = createInput(sb.toString())){
+			int[] parsedIntValues = new int[length];
+
+			input.readInts(parsedIntValues, 0, length);
+
+			assertArrayEquals(intValues, parsedIntValues);
+
+			double[] parsedDoubleValues = new double[length - 1];
+
+			input.readDoubles(parsedDoubleValues, 0, length - 1);
+
+			assertArrayEquals(Arrays.copyOf(doubleValues, length - 1), parsedDoubleValues);
+
+			input.skipDoubles(1);
+
+			assertEquals(Double.MAX_VALUE, input.readDouble());
+		}
+	}
+
+	@Test
+	public void binaryParity() throws IOException {
+		int length = 20000;
+
+		int[] intValues = new int[length];
+		double[] doubleValues = new double[length];
+
+		List<String> stringValues = new ArrayList<>();
+
+		for(int i = 0; i < length; i++){
+			intValues[i] = (i * 2654435761L) % 3 == 0 ? Integer.MIN_VALUE : (int)(i * 2654435761L);
+			doubleValues[i] = Double.longBitsToDouble(i * 0x9E3779B97F4A7C15L);
+
+			// The ASCII format does not preserve NaN payloads (other than that of NA)
+			if(Double.isNaN(doubleValues[i])){
+				doubleValues[i] = Double.NaN;
+			}
+			stringValues.add((i % 5 == 0) ? null : ("value_" + i));
+		}
+
+		double[] specialValues = {0d, -0d, 1d, -1d, 0.1d, 1e22, 1e23, 1e-22, Math.PI, Double.MIN_VALUE, Double.MIN_NORMAL, Double.MAX_VALUE, SerializationUtil.NA_REAL, Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY};
+
+		System.arraycopy(specialValues, 0, doubleValues, 0, specialValues.length);
+
+		intValues[1] = Integer.MAX_VALUE;
+		intValues[2] = 0;
+
+		RGenericVector list = new RGenericVector(Arrays.asList(
+			new RIntegerVector(intValues, null),
+			new RDoubleVector(doubleValues, null),
+			new RStringVector(stringValues, null)
+		), null);
+
+		RExp binaryRexp = unserialize(serialize(list, false));
+		RExp asciiRexp = unserialize(serialize(list, true));
+
+		assertArrayEquals(serialize(binaryRexp, false), serialize(asciiRexp, false));
+	}
+
+	static
+	private TextInput createInput(String string) throws IOException {
+		InputStream is = new ByteArrayInputStream(("A\n" + string).getBytes(StandardCharsets.UTF_8));
+
+		return new TextInput(is){
+
+			@Override
+			public RExpParser getParser(){
+				return null;
+			}
+		};
+	}
+
+	static
+	private RExp unserialize(byte[] bytes) throws IOException {
+
+		try(RExpParser parser = new RExpParser(new ByteArrayInputStream(bytes))){
+			return parser.parse();
+		}
+	}
+
+	static
+	private byte[] serialize(RExp rexp, boolean ascii) throws IOException {
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
 
-		assertEquals("\\", TextInput.decode("\\\\"));
-		assertEquals("\\", TextInput.decode("\\134"));
+		try(RExpWriter writer = new RExpWriter(os, ascii)){
+			writer.write(rexp);
+		}
 
-		assertEquals("Hello World!", TextInput.decode("Hello\\40World!"));
-		assertEquals("Hello World!", TextInput.decode("Hello\\040World!"));
+		return os.toByteArray();
 	}
-}
\ No newline at end of file
+}
@@ -69,6 +69,14 @@ public class RandomForestConverterTest extends RExpEncoderBatchTest implements D
 		evaluate("RandomForest", AUDIT);
 	}
 
+	@Test
+	public void evaluateParallelAudit() throws Exception {
+
+		try(RExpEncoderBatch batch = createParallelBatch("RandomForest", AUDIT, 4)){
+			evaluate(batch);
+		}
+	}
+
 	@Test
 	public void evaluateCaretFormulaAudit() throws Exception {
 		evaluate("TrainRandomForestFormula", AUDIT);
@@ -124,6 +132,14 @@ public class RandomForestConverterTest extends RExpEncoderBatchTest implements D
 		evaluate("TrainRandomForest", IRIS);
 	}
 
+	@Test
+	public void evaluateParallelIris() throws Exception {
+
+		try(RExpEncoderBatch batch = createParallelBatch("RandomForest", IRIS, 4)){
+			evaluate(batch);
+		}
+	}
+
 	@Test
 	public void evaluateCaretFormulaIris() throws Exception {
 		evaluate("TrainRandomForestFormula", IRIS);
@@ -148,4 +164,5 @@ public class RandomForestConverterTest extends RExpEncoderBatchTest implements D
 	public void evaluateWineColor() throws Exception {
 		evaluate("RandomForest", WINE_COLOR);
 	}
+
 }
\ No newline at end of file
@@ -18,9 +18,22 @@
  */
 package org.jpmml.rexp.testing;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import jakarta.xml.bind.Marshaller;
+import org.dmg.pmml.Extension;
+import org.dmg.pmml.Header;
+import org.dmg.pmml.MiningSchema;
+import org.dmg.pmml.Model;
+import org.dmg.pmml.PMML;
+import org.jpmml.model.JAXBUtil;
 import org.jpmml.converter.testing.Datasets;
 import org.junit.jupiter.api.Test;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
 public class RangerConverterTest extends RExpEncoderBatchTest implements Datasets {
 
 	@Test
@@ -33,6 +46,23 @@ public class RangerConverterTest extends RExpEncoderBatchTest implements Dataset
 		evaluate("RangerProb", AUDIT);
 	}
 
+	@Test
+	public void evaluateParallelProbAudit() throws Exception {
+
+		try(RExpEncoderBatch batch = createParallelBatch("RangerProb", AUDIT, 4)){
+			evaluate(batch);
+		}
+	}
+
+	@Test
+	public void encodeParallelAudit() throws Exception {
+		String expectedString = encodeModels("Ranger", AUDIT, 1);
+
+		for(int parallelism : new int[]{2, 3, 8}){
+			assertEquals(expectedString, encodeModels("Ranger", AUDIT, parallelism));
+		}
+	}
+
 	@Test
 	public void evaluateAutoNA() throws Exception {
 		evaluate("Ranger", AUTO_NA);
@@ -47,4 +77,45 @@ public class RangerConverterTest extends RExpEncoderBatchTest implements Dataset
 	public void evaluateProbIris() throws Exception {
 		evaluate("RangerProb", IRIS);
 	}
+
+	/**
+	 * <p>
+	 * Compares marshalled PMML rather than the object graph.
+	 * Trees share predicate objects, and the tree that creates a shared predicate first depends on thread timing.
+	 * </p>
+	 *
+	 * <p>
+	 * Feature importances are left out, because JPMML-Converter orders them by feature hash codes,
+	 * which differ between any two conversions irrespective of parallelism.
+	 * </p>
+	 */
+	private String encodeModels(String algorithm, String dataset, int parallelism) throws Exception {
+		PMML pmml;
+
+		try(RExpEncoderBatch batch = createParallelBatch(algorithm, dataset, parallelism)){
+			pmml = batch.getPMML();
+		}
+
+		// The header contains a timestamp
+		Header header = pmml.requireHeader();
+		header.setTimestamp(null);
+
+		for(Model model : pmml.getModels()){
+			MiningSchema miningSchema = model.requireMiningSchema();
+
+			if(miningSchema.hasExtensions()){
+				List<Extension> extensions = miningSchema.getExtensions();
+
+				extensions.removeIf(extension -> ("X-FeatureImportances").equals(extension.getName()));
+			}
+		}
+
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+
+		Marshaller marshaller = (JAXBUtil.getContext()).createMarshaller();
+
+		marshaller.marshal(pmml, os);
+
+		return os.toString(StandardCharsets.UTF_8.name());
+	}
 }
\ No newline at end of file
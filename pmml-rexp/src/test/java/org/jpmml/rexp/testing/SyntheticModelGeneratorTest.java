@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-R
+ *
+ * JPMML-R is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-R is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-R.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.rexp.testing;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.dmg.pmml.PMML;
+import org.jpmml.rexp.Converter;
+import org.jpmml.rexp.ConverterFactory;
+import org.jpmml.rexp.RExp;
+import org.jpmml.rexp.RExpParser;
+import org.jpmml.rexp.RExpWriter;
+import org.jpmml.rexp.RGenericVector;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class SyntheticModelGeneratorTest {
+
+	@Test
+	public void generateGBM() throws Exception {
+
+		for(int classes : new int[]{0, 2, 3}){
+			checkAlgorithm("gbm", classes);
+		}
+	}
+
+	@Test
+	public void generateIForest() throws Exception {
+		checkAlgorithm("iForest", 0);
+	}
+
+	@Test
+	public void generateRandomForest() throws Exception {
+
+		for(int classes : new int[]{0, 2, 3}){
+			checkAlgorithm("randomForest", classes);
+		}
+	}
+
+	@Test
+	public void generateRanger() throws Exception {
+
+		for(int classes : new int[]{0, 3}){
+			checkAlgorithm("ranger", classes);
+		}
+	}
+
+	@Test
+	public void generateRPart() throws Exception {
+
+		for(int classes : new int[]{0, 3}){
+			checkAlgorithm("rpart", classes);
+		}
+	}
+
+	@Test
+	public void generateUnsupported(){
+		SyntheticModelGenerator generator = new SyntheticModelGenerator();
+
+		assertThrows(IllegalArgumentException.class, () -> generator.generate("svm"));
+		assertThrows(IllegalArgumentException.class, () -> generator.setCardinality(1));
+		assertThrows(IllegalArgumentException.class, () -> generator.setClasses(1));
+	}
+
+	static
+	private void checkAlgorithm(String algorithm, int classes) throws Exception {
+		SyntheticModelGenerator generator = new SyntheticModelGenerator();
+		generator.setTrees(3);
+		generator.setDepth(4);
+		generator.setFeatures(6);
+		generator.setCardinality(4);
+		generator.setClasses(classes);
+
+		RGenericVector model = generator.generate(algorithm);
+
+		assertEquals(Arrays.asList(algorithm), (model._class()).getValues());
+
+		// The generator is deterministic
+		assertArrayEquals(serialize(model, 2), serialize(generator.generate(algorithm), 2));
+
+		for(int version : new int[]{2, 3}){
+			byte[] bytes = serialize(model, version);
+
+			RExp parsedModel = unserialize(bytes);
+
+			assertArrayEquals(bytes, serialize(parsedModel, version));
+
+			ConverterFactory converterFactory = ConverterFactory.newInstance();
+
+			Converter<RExp> converter = converterFactory.newConverter(parsedModel);
+
+			PMML pmml = converter.encodePMML();
+
+			assertNotNull(pmml);
+		}
+	}
+
+	static
+	private byte[] serialize(RExp rexp, int version) throws IOException {
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+
+		try(RExpWriter writer = new RExpWriter(os)){
+			writer.setVersion(version);
+
+			writer.write(rexp);
+		}
+
+		return os.toByteArray();
+	}
+
+	static
+	private RExp unserialize(byte[] bytes) throws IOException {
+
+		try(RExpParser parser = new RExpParser(new ByteArrayInputStream(bytes))){
+			return parser.parse();
+		}
+	}
+}
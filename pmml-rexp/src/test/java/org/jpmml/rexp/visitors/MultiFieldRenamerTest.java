@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-R
+ *
+ * JPMML-R is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-R is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-R.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.rexp.visitors;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class MultiFieldRenamerTest {
+
+	@Test
+	public void compose(){
+		Map<String, String> renamings = new LinkedHashMap<>();
+		renamings.put("a", "b");
+		renamings.put("b", "c");
+		renamings.put("x", "y");
+
+		Map<String, String> expectedMappings = new LinkedHashMap<>();
+		expectedMappings.put("a", "c");
+		expectedMappings.put("b", "c");
+		expectedMappings.put("x", "y");
+
+		assertEquals(expectedMappings, MultiFieldRenamer.compose(renamings));
+
+		renamings.clear();
+		renamings.put("a", "b");
+		renamings.put("b", "a");
+
+		expectedMappings.clear();
+		expectedMappings.put("a", "a");
+		expectedMappings.put("b", "a");
+
+		assertEquals(expectedMappings, MultiFieldRenamer.compose(renamings));
+	}
+
+	@Test
+	public void filter(){
+		Map<String, String> renamings = new LinkedHashMap<>();
+		renamings.put("a", "b");
+		renamings.put("b", "c");
+
+		MultiFieldRenamer renamer = new MultiFieldRenamer(renamings);
+
+		assertEquals("c", renamer.filter("a"));
+		assertEquals("c", renamer.filter("b"));
+		assertEquals("c", renamer.filter("c"));
+		assertEquals("d", renamer.filter("d"));
+
+		assertNull(renamer.filter(null));
+	}
+}